@@ -0,0 +1,63 @@
+/*
+ * Copyright (C) 2016 Cognifide Limited
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.knotx.adapter.common.http;
+
+import io.knotx.proxy.Deadlines;
+import java.util.function.LongConsumer;
+
+/**
+ * Deadline of a service call shared by several callers, see {@link SingleFlight}. The call runs
+ * until the latest deadline among its callers, so none of them fails because of the time budget
+ * of another one.
+ */
+class CallDeadline {
+
+  private long deadline;
+
+  private LongConsumer extendHandler = latest -> {
+  };
+
+  CallDeadline(long deadline) {
+    this.deadline = deadline;
+  }
+
+  synchronized long get() {
+    return deadline;
+  }
+
+  /**
+   * Moves the deadline to the one of a caller joining the call when that one is later.
+   *
+   * @param callerDeadline deadline of the joining caller, {@link Deadlines#NONE} leaves the call
+   * unbounded
+   */
+  synchronized void extend(long callerDeadline) {
+    if (deadline == Deadlines.NONE) {
+      return;
+    }
+    if (callerDeadline == Deadlines.NONE || callerDeadline > deadline) {
+      deadline = callerDeadline;
+      extendHandler.accept(deadline);
+    }
+  }
+
+  /**
+   * @param handler called with the new deadline each time the deadline is extended
+   */
+  synchronized void extendHandler(LongConsumer handler) {
+    this.extendHandler = handler;
+  }
+}
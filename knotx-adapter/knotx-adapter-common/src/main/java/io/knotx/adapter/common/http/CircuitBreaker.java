@@ -0,0 +1,191 @@
+/*
+ * Copyright (C) 2016 Cognifide Limited
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.knotx.adapter.common.http;
+
+import io.vertx.core.json.JsonObject;
+import java.util.Arrays;
+import java.util.concurrent.TimeUnit;
+import java.util.function.LongSupplier;
+
+/**
+ * Circuit breaker of one service. Outcomes of the last {@code windowSize} calls are kept while the
+ * circuit is closed. Once at least {@code minimumCalls} were made and the percentage of failed
+ * calls reaches {@code failureRateThreshold}, or the percentage of calls lasting at least {@code
+ * slowCallDurationMs} reaches {@code slowCallRateThreshold}, the circuit opens and calls are
+ * rejected for {@code openDurationMs}. Then it is half open: {@code halfOpenCalls} calls are let
+ * through, the circuit closes when all of them succeed in time and opens again on the first one
+ * that fails or is slow.
+ */
+class CircuitBreaker {
+
+  enum State {
+    CLOSED, OPEN, HALF_OPEN
+  }
+
+  private static final int FAILED = 1;
+
+  private static final int SLOW = 2;
+
+  private final int failureRateThreshold;
+
+  private final int slowCallRateThreshold;
+
+  private final long slowCallDurationNanos;
+
+  private final int minimumCalls;
+
+  private final long openDurationNanos;
+
+  private final int halfOpenCalls;
+
+  private final LongSupplier nanoTime;
+
+  private final byte[] window;
+
+  private int windowIndex;
+
+  private int windowCalls;
+
+  private int windowFailures;
+
+  private int windowSlowCalls;
+
+  private State state = State.CLOSED;
+
+  private long openedAt;
+
+  private int halfOpenPermits;
+
+  private int halfOpenSuccesses;
+
+  private long rejectedCalls;
+
+  private long openings;
+
+  CircuitBreaker(JsonObject options) {
+    this(options, System::nanoTime);
+  }
+
+  CircuitBreaker(JsonObject options, LongSupplier nanoTime) {
+    this.failureRateThreshold = options.getInteger("failureRateThreshold", 50);
+    this.slowCallRateThreshold = options.getInteger("slowCallRateThreshold", 100);
+    this.slowCallDurationNanos = TimeUnit.MILLISECONDS
+        .toNanos(options.getLong("slowCallDurationMs", 0L));
+    this.window = new byte[options.getInteger("windowSize", 20)];
+    this.minimumCalls = Math.min(options.getInteger("minimumCalls", 10), window.length);
+    this.openDurationNanos = TimeUnit.MILLISECONDS
+        .toNanos(options.getLong("openDurationMs", 5000L));
+    this.halfOpenCalls = options.getInteger("halfOpenCalls", 3);
+    this.nanoTime = nanoTime;
+  }
+
+  /**
+   * @return true when the call may be made, its outcome has to be reported with {@link
+   * #onResult(long, boolean)} or {@link #onCancel()}
+   */
+  synchronized boolean tryAcquire() {
+    if (state == State.OPEN) {
+      if (nanoTime.getAsLong() - openedAt < openDurationNanos) {
+        rejectedCalls++;
+        return false;
+      }
+      state = State.HALF_OPEN;
+      halfOpenPermits = 0;
+      halfOpenSuccesses = 0;
+    }
+    if (state == State.HALF_OPEN) {
+      if (halfOpenPermits >= halfOpenCalls) {
+        rejectedCalls++;
+        return false;
+      }
+      halfOpenPermits++;
+    }
+    return true;
+  }
+
+  synchronized void onResult(long durationNanos, boolean failed) {
+    boolean slow = slowCallDurationNanos > 0 && durationNanos >= slowCallDurationNanos;
+    if (state == State.HALF_OPEN) {
+      if (failed || slow) {
+        open();
+      } else if (++halfOpenSuccesses >= halfOpenCalls) {
+        close();
+      }
+    } else if (state == State.CLOSED) {
+      record((failed ? FAILED : 0) | (slow ? SLOW : 0));
+      if (windowCalls >= minimumCalls && (rate(windowFailures) >= failureRateThreshold
+          || rate(windowSlowCalls) >= slowCallRateThreshold)) {
+        open();
+      }
+    }
+    // outcomes of calls started before the circuit opened are ignored
+  }
+
+  /**
+   * A call let through ended without an outcome, e.g. it was unsubscribed.
+   */
+  synchronized void onCancel() {
+    if (state == State.HALF_OPEN && halfOpenPermits > halfOpenSuccesses) {
+      halfOpenPermits--;
+    }
+  }
+
+  synchronized State getState() {
+    return state;
+  }
+
+  synchronized JsonObject toJson() {
+    return new JsonObject()
+        .put("state", state.name())
+        .put("failureRate", windowCalls == 0 ? 0.0 : rate(windowFailures))
+        .put("slowCallRate", windowCalls == 0 ? 0.0 : rate(windowSlowCalls))
+        .put("rejectedCalls", rejectedCalls)
+        .put("openings", openings);
+  }
+
+  private void record(int outcome) {
+    if (windowCalls == window.length) {
+      int oldest = window[windowIndex];
+      windowFailures -= oldest & FAILED;
+      windowSlowCalls -= (oldest & SLOW) >> 1;
+    } else {
+      windowCalls++;
+    }
+    window[windowIndex] = (byte) outcome;
+    windowFailures += outcome & FAILED;
+    windowSlowCalls += (outcome & SLOW) >> 1;
+    windowIndex = (windowIndex + 1) % window.length;
+  }
+
+  private double rate(int calls) {
+    return calls * 100.0 / windowCalls;
+  }
+
+  private void open() {
+    state = State.OPEN;
+    openedAt = nanoTime.getAsLong();
+    openings++;
+  }
+
+  private void close() {
+    state = State.CLOSED;
+    Arrays.fill(window, (byte) 0);
+    windowIndex = 0;
+    windowCalls = 0;
+    windowFailures = 0;
+    windowSlowCalls = 0;
+  }
+}
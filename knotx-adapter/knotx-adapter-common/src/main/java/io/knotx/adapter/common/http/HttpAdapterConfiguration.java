@@ -25,12 +25,15 @@ public class HttpAdapterConfiguration {
 
   private String address;
 
+  private String statsAddress;
+
   private List<ServiceMetadata> services;
 
   private JsonObject clientOptions;
 
   public HttpAdapterConfiguration(JsonObject config) {
     address = config.getString("address");
+    statsAddress = config.getString("statsAddress", address + ".stats");
     services = config.getJsonArray("services").stream()
         .map(item -> (JsonObject) item)
         .map(item -> {
@@ -43,6 +46,10 @@ public class HttpAdapterConfiguration {
               .map(object -> (String) object)
               .map(new StringToPatternFunction())
               .collect(Collectors.toList());
+          metadata.coalesceRequests = item.getBoolean("coalesceRequests", false);
+          metadata.clientOptions = item.getJsonObject("clientOptions", new JsonObject());
+          metadata.circuitBreaker = item.getJsonObject("circuitBreaker");
+          metadata.maxConcurrentCalls = item.getInteger("maxConcurrentCalls", 0);
           return metadata;
         }).collect(Collectors.toList());
     clientOptions = config.getJsonObject("clientOptions", new JsonObject());
@@ -59,4 +66,8 @@ public class HttpAdapterConfiguration {
   public String getAddress() {
     return address;
   }
+
+  public String getStatsAddress() {
+    return statsAddress;
+  }
 }
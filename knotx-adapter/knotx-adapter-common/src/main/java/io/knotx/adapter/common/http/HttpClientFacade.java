@@ -24,6 +24,7 @@ import io.knotx.dataobjects.ClientRequest;
 import io.knotx.dataobjects.ClientResponse;
 import io.knotx.http.AllowedHeadersFilter;
 import io.knotx.http.MultiMapCollector;
+import io.knotx.proxy.Deadlines;
 import io.netty.handler.codec.http.HttpResponseStatus;
 import io.vertx.core.http.HttpMethod;
 import io.vertx.core.json.JsonObject;
@@ -34,9 +35,13 @@ import io.vertx.rxjava.core.buffer.Buffer;
 import io.vertx.rxjava.core.http.HttpClient;
 import io.vertx.rxjava.core.http.HttpClientRequest;
 import io.vertx.rxjava.core.http.HttpClientResponse;
+import java.util.IdentityHashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 import java.util.regex.Pattern;
+import java.util.TreeMap;
+import java.util.function.LongConsumer;
 import org.apache.commons.lang3.tuple.Pair;
 import rx.Observable;
 
@@ -46,25 +51,54 @@ public class HttpClientFacade {
   private static final String PATH_PROPERTY_KEY = "path";
   private static final ClientResponse INTERNAL_SERVER_ERROR_RESPONSE = new ClientResponse()
       .setStatusCode(HttpResponseStatus.INTERNAL_SERVER_ERROR.code());
+  // the request timeout stops at the response headers, later waiters do not restart it
+  private static final LongConsumer NO_EXTENSION = latest -> {
+  };
 
   private final List<ServiceMetadata> services;
 
-  private final HttpClient httpClient;
+  private final ServiceHttpClients httpClients;
+
+  private final SingleFlight singleFlight = new SingleFlight();
+
+  private final Map<ServiceMetadata, ServiceGuard> guards = new IdentityHashMap<>();
 
   public HttpClientFacade(HttpClient httpClient, List<ServiceMetadata> services) {
-    this.httpClient = httpClient;
+    this(new ServiceHttpClients(httpClient), services);
+  }
+
+  public HttpClientFacade(ServiceHttpClients httpClients, List<ServiceMetadata> services) {
+    this.httpClients = httpClients;
     this.services = services;
+    services.stream()
+        .filter(ServiceGuard::isEnabled)
+        .forEach(service -> guards.put(service, new ServiceGuard(service)));
   }
 
   public Observable<ClientResponse> process(AdapterRequest message, HttpMethod method) {
     return Observable.just(message)
         .doOnNext(this::validateContract)
         .map(this::prepareRequestData)
-        .flatMap(serviceRequest -> callService(serviceRequest, method))
-        .flatMap(this::wrapResponse)
+        .flatMap(serviceRequest -> fetchResponse(serviceRequest, method, message.getDeadline()))
         .defaultIfEmpty(INTERNAL_SERVER_ERROR_RESPONSE);
   }
 
+  /**
+   * @return number of service calls served with the response of an identical call already in
+   * progress, see {@link ServiceMetadata#isCoalesceRequests()}, and connection pool usage of each
+   * service destination, see {@link ServiceHttpClients#stats()}, and the concurrent calls and
+   * circuit breaker state of each service path with {@code maxConcurrentCalls} or {@code
+   * circuitBreaker} set
+   */
+  public JsonObject stats() {
+    JsonObject guardStats = new JsonObject();
+    guards.forEach((service, guard) -> guardStats.put(service.getPath(), guard.toJson()));
+    return new JsonObject()
+        .put("collapsedCalls", singleFlight.getCollapsedCalls())
+        .put("destinations", httpClients.stats())
+        .put("services", guardStats);
+  }
+
   /**
    * Method to validate contract or params JsonObject for the AdapterProxy Service<br>
    * The contract checks if all required fields exists in the object.
@@ -124,27 +158,61 @@ public class HttpClientFacade {
     return services.stream().filter(metadata -> servicePath.matches(metadata.getPath())).findAny();
   }
 
+  private Observable<ClientResponse> fetchResponse(
+      Pair<ClientRequest, ServiceMetadata> serviceData, HttpMethod method, long deadline) {
+    final ClientRequest serviceRequest = serviceData.getLeft();
+    final ServiceMetadata serviceMetadata = serviceData.getRight();
+
+    if (serviceMetadata.isCoalesceRequests() && serviceRequest.getFormAttributes().isEmpty()) {
+      return singleFlight.execute(callKey(serviceRequest, serviceMetadata, method), deadline,
+          callDeadline -> guardedCall(serviceData, method, callDeadline));
+    }
+    return guardedCall(serviceData, method, new CallDeadline(deadline));
+  }
+
+  private Observable<ClientResponse> guardedCall(
+      Pair<ClientRequest, ServiceMetadata> serviceData, HttpMethod method, CallDeadline deadline) {
+    ServiceGuard guard = guards.get(serviceData.getRight());
+    if (guard == null) {
+      return callService(serviceData, method, deadline).flatMap(this::wrapResponse);
+    }
+    return guard.execute(
+        () -> callService(serviceData, method, deadline).flatMap(this::wrapResponse));
+  }
+
+  private String callKey(ClientRequest serviceRequest, ServiceMetadata serviceMetadata,
+      HttpMethod method) {
+    MultiMap filteredHeaders = getFilteredHeaders(serviceRequest.getHeaders(),
+        serviceMetadata.getAllowedRequestHeaderPatterns());
+    Map<String, List<String>> sortedHeaders = new TreeMap<>(String.CASE_INSENSITIVE_ORDER);
+    filteredHeaders.names().forEach(name -> sortedHeaders.put(name, filteredHeaders.getAll(name)));
+    return String.format("%s %s:%s%s %s", method, serviceMetadata.getDomain(),
+        serviceMetadata.getPort(), serviceRequest.getPath(), sortedHeaders);
+  }
+
   private Observable<HttpClientResponse> callService(
-      Pair<ClientRequest, ServiceMetadata> serviceData, HttpMethod method) {
+      Pair<ClientRequest, ServiceMetadata> serviceData, HttpMethod method, CallDeadline deadline) {
     final ClientRequest serviceRequest = serviceData.getLeft();
     final ServiceMetadata serviceMetadata = serviceData.getRight();
 
-    return Observable.create(subscriber -> {
-      HttpClientRequest httpRequest = httpClient
+    return Observable.defer(() -> {
+      HttpClientRequest httpRequest = httpClients.client(serviceMetadata)
           .request(method, serviceMetadata.getPort(), serviceMetadata.getDomain(),
               serviceRequest.getPath());
-      Observable<HttpClientResponse> resp = httpRequest.toObservable();
-      resp.subscribe(subscriber);
+      if (deadline.get() != Deadlines.NONE) {
+        httpRequest.setTimeout(Math.max(Deadlines.remaining(deadline.get()), 1L));
+        deadline.extendHandler(
+            latest -> httpRequest.setTimeout(Math.max(Deadlines.remaining(latest), 1L)));
+      }
 
       MultiMap filteredHeaders = getFilteredHeaders(serviceRequest.getHeaders(),
           serviceMetadata.getAllowedRequestHeaderPatterns());
       filteredHeaders.names().forEach(
           headerName -> httpRequest.putHeader(headerName, filteredHeaders.get(headerName)));
-      if (!serviceRequest.getFormAttributes().isEmpty()) {
-        httpRequest.end(UrlEncodedBodyBuilder.encodeBody(serviceRequest.getFormAttributes()));
-      } else {
-        httpRequest.end();
-      }
+      Buffer body = serviceRequest.getFormAttributes().isEmpty() ? null
+          : Buffer.buffer(UrlEncodedBodyBuilder.encodeBody(serviceRequest.getFormAttributes()));
+      return httpClients.metrics(serviceMetadata).send(httpRequest, body)
+          .doOnNext(response -> deadline.extendHandler(NO_EXTENSION));
     });
   }
 
@@ -0,0 +1,128 @@
+/*
+ * Copyright (C) 2016 Cognifide Limited
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.knotx.adapter.common.http;
+
+import io.knotx.adapter.common.exception.ServiceUnavailableException;
+import io.knotx.dataobjects.ClientResponse;
+import io.vertx.core.json.JsonObject;
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Supplier;
+import rx.Observable;
+
+/**
+ * Protects the adapter from a slow or failing service: a bulkhead limits the calls to the service
+ * in progress at the same time to {@link ServiceMetadata#getMaxConcurrentCalls()} and a {@link
+ * CircuitBreaker} stops calling it while it keeps failing. Rejected calls fail at once with
+ * {@link ServiceUnavailableException}. Calls that end with an error or a {@code 5xx} status code
+ * are failures.
+ */
+class ServiceGuard {
+
+  private final String service;
+
+  private final int maxConcurrentCalls;
+
+  private final AtomicInteger activeCalls = new AtomicInteger();
+
+  private final LongAdder rejectedCalls = new LongAdder();
+
+  private final Optional<CircuitBreaker> circuitBreaker;
+
+  ServiceGuard(ServiceMetadata metadata) {
+    this(metadata, Optional.ofNullable(metadata.getCircuitBreaker()).map(CircuitBreaker::new));
+  }
+
+  ServiceGuard(ServiceMetadata metadata, Optional<CircuitBreaker> circuitBreaker) {
+    this.service = metadata.getPath();
+    this.maxConcurrentCalls = metadata.getMaxConcurrentCalls();
+    this.circuitBreaker = circuitBreaker;
+  }
+
+  static boolean isEnabled(ServiceMetadata metadata) {
+    return metadata.getMaxConcurrentCalls() > 0 || metadata.getCircuitBreaker() != null;
+  }
+
+  Observable<ClientResponse> execute(Supplier<Observable<ClientResponse>> call) {
+    return Observable.defer(() -> {
+      if (!acquireCall()) {
+        rejectedCalls.increment();
+        return Observable.error(new ServiceUnavailableException(String.format(
+            "Service '%s' reached its limit of %d concurrent calls", service,
+            maxConcurrentCalls)));
+      }
+      if (circuitBreaker.isPresent() && !circuitBreaker.get().tryAcquire()) {
+        activeCalls.decrementAndGet();
+        return Observable.error(new ServiceUnavailableException(
+            String.format("Circuit of service '%s' is open", service)));
+      }
+
+      long start = System.nanoTime();
+      AtomicBoolean ended = new AtomicBoolean();
+      return call.get()
+          .doOnNext(response -> {
+            if (ended.compareAndSet(false, true)) {
+              end(start, response.getStatusCode() >= 500);
+            }
+          })
+          .doOnError(error -> {
+            if (ended.compareAndSet(false, true)) {
+              end(start, true);
+            }
+          })
+          .doOnUnsubscribe(() -> {
+            if (ended.compareAndSet(false, true)) {
+              activeCalls.decrementAndGet();
+              circuitBreaker.ifPresent(CircuitBreaker::onCancel);
+            }
+          });
+    });
+  }
+
+  /**
+   * @return calls in progress, calls rejected by the bulkhead and the circuit breaker state
+   */
+  JsonObject toJson() {
+    JsonObject json = new JsonObject()
+        .put("activeCalls", activeCalls.get())
+        .put("maxConcurrentCalls", maxConcurrentCalls)
+        .put("rejectedCalls", rejectedCalls.sum());
+    circuitBreaker.ifPresent(breaker -> json.put("circuitBreaker", breaker.toJson()));
+    return json;
+  }
+
+  private boolean acquireCall() {
+    if (maxConcurrentCalls <= 0) {
+      activeCalls.incrementAndGet();
+      return true;
+    }
+    int active;
+    do {
+      active = activeCalls.get();
+      if (active >= maxConcurrentCalls) {
+        return false;
+      }
+    } while (!activeCalls.compareAndSet(active, active + 1));
+    return true;
+  }
+
+  private void end(long start, boolean failed) {
+    activeCalls.decrementAndGet();
+    circuitBreaker.ifPresent(breaker -> breaker.onResult(System.nanoTime() - start, failed));
+  }
+}
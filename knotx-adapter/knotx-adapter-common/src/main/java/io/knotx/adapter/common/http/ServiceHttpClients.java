@@ -0,0 +1,105 @@
+/*
+ * Copyright (C) 2016 Cognifide Limited
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.knotx.adapter.common.http;
+
+import io.knotx.exceptions.ConfigurationException;
+import io.knotx.http.HttpClientMetrics;
+import io.vertx.core.http.HttpClientOptions;
+import io.vertx.core.http.HttpVersion;
+import io.vertx.core.json.JsonObject;
+import io.vertx.rxjava.core.Vertx;
+import io.vertx.rxjava.core.http.HttpClient;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * HTTP clients of the services, one per destination (domain and port), so the connection pool of
+ * each destination is configured and measured on its own. The {@code clientOptions} of a service
+ * are merged into the adapter {@code clientOptions}, services of one destination have to set the
+ * same options.
+ */
+public class ServiceHttpClients {
+
+  private final Map<String, HttpClient> clients = new ConcurrentHashMap<>();
+
+  private final Map<String, HttpClientOptions> options = new ConcurrentHashMap<>();
+
+  private final Map<String, HttpClientMetrics> metrics = new ConcurrentHashMap<>();
+
+  private final HttpClient sharedClient;
+
+  public ServiceHttpClients(Vertx vertx, JsonObject clientOptions,
+      List<ServiceMetadata> services) {
+    this.sharedClient = null;
+    Map<String, JsonObject> destinationOptions = new ConcurrentHashMap<>();
+    services.forEach(service -> {
+      JsonObject merged = clientOptions.copy().mergeIn(service.getClientOptions());
+      JsonObject previous = destinationOptions.putIfAbsent(destination(service), merged);
+      if (previous != null && !previous.equals(merged)) {
+        throw new ConfigurationException(
+            "Services of " + destination(service) + " set different clientOptions");
+      }
+    });
+    destinationOptions.forEach((destination, json) -> {
+      HttpClientOptions httpClientOptions = new HttpClientOptions(json);
+      options.put(destination, httpClientOptions);
+      clients.put(destination, vertx.createHttpClient(httpClientOptions));
+    });
+  }
+
+  /**
+   * All services share the client.
+   */
+  public ServiceHttpClients(HttpClient httpClient) {
+    this.sharedClient = httpClient;
+  }
+
+  HttpClient client(ServiceMetadata service) {
+    return sharedClient != null ? sharedClient : clients.get(destination(service));
+  }
+
+  HttpClientMetrics metrics(ServiceMetadata service) {
+    return metrics.computeIfAbsent(destination(service), destination -> new HttpClientMetrics());
+  }
+
+  /**
+   * @return pool usage of each destination, see {@link HttpClientMetrics#toJson()}, with the
+   * {@code maxPoolSize} connections of the destination and their {@code multiplexingLimit} of
+   * concurrent HTTP/2 streams ({@code -1} when unlimited)
+   */
+  public JsonObject stats() {
+    JsonObject stats = new JsonObject();
+    metrics.forEach((destination, destinationMetrics) -> {
+      JsonObject json = destinationMetrics.toJson();
+      Optional.ofNullable(options.get(destination)).ifPresent(clientOptions -> {
+        if (clientOptions.getProtocolVersion() == HttpVersion.HTTP_2) {
+          json.put("maxPoolSize", clientOptions.getHttp2MaxPoolSize())
+              .put("multiplexingLimit", clientOptions.getHttp2MultiplexingLimit());
+        } else {
+          json.put("maxPoolSize", clientOptions.getMaxPoolSize());
+        }
+      });
+      stats.put(destination, json);
+    });
+    return stats;
+  }
+
+  private static String destination(ServiceMetadata service) {
+    return service.getDomain() + ":" + service.getPort();
+  }
+}
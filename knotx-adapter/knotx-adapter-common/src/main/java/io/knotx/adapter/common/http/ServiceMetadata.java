@@ -15,6 +15,7 @@
  */
 package io.knotx.adapter.common.http;
 
+import io.vertx.core.json.JsonObject;
 import java.util.List;
 import java.util.regex.Pattern;
 import org.apache.commons.lang3.builder.EqualsBuilder;
@@ -26,6 +27,10 @@ public class ServiceMetadata {
   String domain;
   Integer port;
   List<Pattern> allowedRequestHeaderPatterns;
+  boolean coalesceRequests;
+  JsonObject clientOptions = new JsonObject();
+  JsonObject circuitBreaker;
+  int maxConcurrentCalls;
 
   @Override
   public boolean equals(Object obj) {
@@ -34,7 +39,11 @@ public class ServiceMetadata {
       return new EqualsBuilder()
           .append(path, other.getPath())
           .append(domain, other.getDomain())
-          .append(port, other.getPort()).isEquals();
+          .append(port, other.getPort())
+          .append(coalesceRequests, other.isCoalesceRequests())
+          .append(clientOptions, other.getClientOptions())
+          .append(circuitBreaker, other.getCircuitBreaker())
+          .append(maxConcurrentCalls, other.getMaxConcurrentCalls()).isEquals();
     } else {
       return false;
     }
@@ -46,6 +55,10 @@ public class ServiceMetadata {
         .append(path)
         .append(domain)
         .append(port)
+        .append(coalesceRequests)
+        .append(clientOptions)
+        .append(circuitBreaker)
+        .append(maxConcurrentCalls)
         .toHashCode();
   }
 
@@ -85,4 +98,55 @@ public class ServiceMetadata {
     this.allowedRequestHeaderPatterns = allowedRequestHeaderPatterns;
     return this;
   }
+
+  /**
+   * @return true when identical calls to the service made at the same time share one response
+   */
+  public boolean isCoalesceRequests() {
+    return coalesceRequests;
+  }
+
+  public ServiceMetadata setCoalesceRequests(boolean coalesceRequests) {
+    this.coalesceRequests = coalesceRequests;
+    return this;
+  }
+
+  /**
+   * @return HTTP client options of the service destination, merged into the adapter {@code
+   * clientOptions}
+   */
+  public JsonObject getClientOptions() {
+    return clientOptions;
+  }
+
+  public ServiceMetadata setClientOptions(JsonObject clientOptions) {
+    this.clientOptions = clientOptions;
+    return this;
+  }
+
+  /**
+   * @return circuit breaker options of the service, {@code null} when calls are never short
+   * circuited
+   */
+  public JsonObject getCircuitBreaker() {
+    return circuitBreaker;
+  }
+
+  public ServiceMetadata setCircuitBreaker(JsonObject circuitBreaker) {
+    this.circuitBreaker = circuitBreaker;
+    return this;
+  }
+
+  /**
+   * @return maximum number of calls to the service in progress at the same time, {@code 0} when
+   * not limited
+   */
+  public int getMaxConcurrentCalls() {
+    return maxConcurrentCalls;
+  }
+
+  public ServiceMetadata setMaxConcurrentCalls(int maxConcurrentCalls) {
+    this.maxConcurrentCalls = maxConcurrentCalls;
+    return this;
+  }
 }
@@ -0,0 +1,114 @@
+/*
+ * Copyright (C) 2016 Cognifide Limited
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.knotx.adapter.common.http;
+
+import io.knotx.dataobjects.ClientResponse;
+import io.knotx.proxy.Deadlines;
+import io.vertx.core.Context;
+import io.vertx.core.Vertx;
+import io.vertx.rx.java.RxHelper;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Function;
+import rx.Observable;
+import rx.Scheduler;
+import rx.schedulers.Schedulers;
+
+/**
+ * Merges identical service calls made at the same time into one call. The first caller starts the
+ * call, the ones coming before it completes wait for its response and each of them gets its own
+ * copy of it.
+ * <br>
+ * The call itself runs until the latest deadline among the waiting callers, see {@link
+ * CallDeadline}, and each caller stops waiting at its own deadline.
+ */
+class SingleFlight {
+
+  private final Map<String, Flight> inFlight = new ConcurrentHashMap<>();
+
+  private final LongAdder collapsedCalls = new LongAdder();
+
+  /**
+   * @param key identity of the call
+   * @param deadline deadline of the caller, see {@link Deadlines}
+   * @param call the call to run when none with the same key is in progress, bounded by the given
+   * shared deadline
+   */
+  Observable<ClientResponse> execute(String key, long deadline,
+      Function<CallDeadline, Observable<ClientResponse>> call) {
+    return Observable.defer(() -> {
+      boolean[] started = {false};
+      Flight flight = inFlight.computeIfAbsent(key, k -> {
+        started[0] = true;
+        CallDeadline callDeadline = new CallDeadline(deadline);
+        return new Flight(callDeadline, call.apply(callDeadline)
+            .doAfterTerminate(() -> inFlight.remove(k))
+            .cache());
+      });
+      if (!started[0]) {
+        collapsedCalls.increment();
+        flight.deadline.extend(deadline);
+      }
+      return withinDeadline(flight.response.map(SingleFlight::copy), deadline);
+    });
+  }
+
+  /**
+   * @return number of calls served with the response of an identical call already in progress
+   */
+  long getCollapsedCalls() {
+    return collapsedCalls.sum();
+  }
+
+  private static Observable<ClientResponse> withinDeadline(Observable<ClientResponse> response,
+      long deadline) {
+    if (deadline == Deadlines.NONE) {
+      return response;
+    }
+    long remaining = Deadlines.remaining(deadline);
+    if (remaining <= 0) {
+      return Observable.error(Deadlines.exceeded());
+    }
+    return response.timeout(remaining, TimeUnit.MILLISECONDS,
+        Observable.defer(() -> Observable.error(Deadlines.exceeded())), scheduler());
+  }
+
+  private static Scheduler scheduler() {
+    Context context = Vertx.currentContext();
+    return context != null ? RxHelper.scheduler(context) : Schedulers.computation();
+  }
+
+  private static ClientResponse copy(ClientResponse response) {
+    return new ClientResponse()
+        .setStatusCode(response.getStatusCode())
+        .setHeaders(response.getHeaders())
+        .setBody(response.getBody());
+  }
+
+  private static class Flight {
+
+    private final CallDeadline deadline;
+
+    private final Observable<ClientResponse> response;
+
+    private Flight(CallDeadline deadline, Observable<ClientResponse> response) {
+      this.deadline = deadline;
+      this.response = response;
+    }
+  }
+}
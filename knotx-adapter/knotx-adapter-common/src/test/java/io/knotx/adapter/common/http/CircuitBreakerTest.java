@@ -0,0 +1,134 @@
+/*
+ * Copyright (C) 2016 Cognifide Limited
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.knotx.adapter.common.http;
+
+import static org.hamcrest.CoreMatchers.equalTo;
+import static org.hamcrest.MatcherAssert.assertThat;
+
+import io.knotx.adapter.common.http.CircuitBreaker.State;
+import io.vertx.core.json.JsonObject;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.IntStream;
+import org.junit.Before;
+import org.junit.Test;
+
+public class CircuitBreakerTest {
+
+  private static final long FAST = TimeUnit.MILLISECONDS.toNanos(10);
+
+  private static final long SLOW = TimeUnit.MILLISECONDS.toNanos(500);
+
+  private long now;
+
+  private CircuitBreaker circuitBreaker;
+
+  @Before
+  public void setUp() {
+    circuitBreaker = new CircuitBreaker(new JsonObject()
+        .put("failureRateThreshold", 50)
+        .put("slowCallRateThreshold", 80)
+        .put("slowCallDurationMs", 200)
+        .put("windowSize", 10)
+        .put("minimumCalls", 4)
+        .put("openDurationMs", 1000)
+        .put("halfOpenCalls", 2), () -> now);
+  }
+
+  @Test
+  public void whenFailuresBelowMinimumCalls_expectClosedCircuit() {
+    calls(3, FAST, true);
+
+    assertThat(circuitBreaker.getState(), equalTo(State.CLOSED));
+  }
+
+  @Test
+  public void whenFailureRateReachesThreshold_expectOpenCircuitRejectingCalls() {
+    calls(2, FAST, false);
+    calls(2, FAST, true);
+
+    assertThat(circuitBreaker.getState(), equalTo(State.OPEN));
+    assertThat(circuitBreaker.tryAcquire(), equalTo(false));
+    assertThat(circuitBreaker.toJson().getLong("rejectedCalls"), equalTo(1L));
+  }
+
+  @Test
+  public void whenSlowCallRateReachesThreshold_expectOpenCircuit() {
+    calls(1, FAST, false);
+    calls(3, SLOW, false);
+    assertThat(circuitBreaker.getState(), equalTo(State.CLOSED));
+
+    calls(1, SLOW, false);
+    assertThat(circuitBreaker.getState(), equalTo(State.OPEN));
+  }
+
+  @Test
+  public void whenOldFailuresLeaveWindow_expectClosedCircuit() {
+    calls(1, FAST, true);
+    calls(9, FAST, false);
+    calls(4, FAST, true);
+
+    assertThat(circuitBreaker.getState(), equalTo(State.CLOSED));
+    assertThat(circuitBreaker.toJson().getDouble("failureRate"), equalTo(40.0));
+  }
+
+  @Test
+  public void whenOpenDurationPassedAndProbesSucceed_expectClosedCircuit() {
+    calls(4, FAST, true);
+    now += TimeUnit.MILLISECONDS.toNanos(1000);
+
+    assertThat(circuitBreaker.tryAcquire(), equalTo(true));
+    assertThat(circuitBreaker.tryAcquire(), equalTo(true));
+    assertThat(circuitBreaker.tryAcquire(), equalTo(false));
+    assertThat(circuitBreaker.getState(), equalTo(State.HALF_OPEN));
+
+    circuitBreaker.onResult(FAST, false);
+    circuitBreaker.onResult(FAST, false);
+    assertThat(circuitBreaker.getState(), equalTo(State.CLOSED));
+    assertThat(circuitBreaker.toJson().getDouble("failureRate"), equalTo(0.0));
+  }
+
+  @Test
+  public void whenProbeFails_expectCircuitOpenedAgain() {
+    calls(4, FAST, true);
+    now += TimeUnit.MILLISECONDS.toNanos(1000);
+
+    assertThat(circuitBreaker.tryAcquire(), equalTo(true));
+    circuitBreaker.onResult(FAST, true);
+
+    assertThat(circuitBreaker.getState(), equalTo(State.OPEN));
+    assertThat(circuitBreaker.tryAcquire(), equalTo(false));
+    assertThat(circuitBreaker.toJson().getLong("openings"), equalTo(2L));
+  }
+
+  @Test
+  public void whenProbeCancelled_expectPermitReleased() {
+    calls(4, FAST, true);
+    now += TimeUnit.MILLISECONDS.toNanos(1000);
+
+    assertThat(circuitBreaker.tryAcquire(), equalTo(true));
+    assertThat(circuitBreaker.tryAcquire(), equalTo(true));
+    circuitBreaker.onCancel();
+
+    assertThat(circuitBreaker.tryAcquire(), equalTo(true));
+  }
+
+  private void calls(int count, long duration, boolean failed) {
+    IntStream.range(0, count).forEach(i -> {
+      circuitBreaker.tryAcquire();
+      circuitBreaker.onResult(duration, failed);
+    });
+  }
+}
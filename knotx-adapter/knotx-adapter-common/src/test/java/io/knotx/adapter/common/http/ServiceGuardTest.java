@@ -0,0 +1,85 @@
+/*
+ * Copyright (C) 2016 Cognifide Limited
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.knotx.adapter.common.http;
+
+import static org.hamcrest.CoreMatchers.equalTo;
+import static org.hamcrest.CoreMatchers.instanceOf;
+import static org.hamcrest.MatcherAssert.assertThat;
+
+import io.knotx.adapter.common.exception.ServiceUnavailableException;
+import io.knotx.dataobjects.ClientResponse;
+import io.vertx.core.json.JsonObject;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.junit.Test;
+import rx.Observable;
+import rx.Subscription;
+import rx.observers.TestSubscriber;
+
+public class ServiceGuardTest {
+
+  @Test
+  public void whenMaxConcurrentCallsInProgress_expectCallRejected() {
+    ServiceGuard guard = new ServiceGuard(new ServiceMetadata()
+        .setPath("/service/.*")
+        .setMaxConcurrentCalls(1));
+
+    Subscription inProgress = guard.execute(Observable::never).subscribe();
+    TestSubscriber<ClientResponse> rejected = new TestSubscriber<>();
+    guard.execute(() -> Observable.just(response(200))).subscribe(rejected);
+
+    rejected.assertError(ServiceUnavailableException.class);
+    assertThat(guard.toJson().getLong("rejectedCalls"), equalTo(1L));
+
+    inProgress.unsubscribe();
+    TestSubscriber<ClientResponse> accepted = new TestSubscriber<>();
+    guard.execute(() -> Observable.just(response(200))).subscribe(accepted);
+
+    accepted.assertValueCount(1);
+    assertThat(guard.toJson().getInteger("activeCalls"), equalTo(0));
+  }
+
+  @Test
+  public void whenServiceKeepsFailing_expectFailFastWithoutCallingIt() {
+    ServiceGuard guard = new ServiceGuard(new ServiceMetadata()
+        .setPath("/service/.*")
+        .setCircuitBreaker(new JsonObject().put("minimumCalls", 2).put("windowSize", 2)));
+    AtomicInteger calls = new AtomicInteger();
+
+    guard.execute(() -> call(calls, Observable.just(response(503)))).subscribe();
+    guard.execute(() -> call(calls, Observable.error(new IllegalStateException())))
+        .subscribe(response -> {
+        }, error -> {
+        });
+    TestSubscriber<ClientResponse> rejected = new TestSubscriber<>();
+    guard.execute(() -> call(calls, Observable.just(response(200)))).subscribe(rejected);
+
+    assertThat(calls.get(), equalTo(2));
+    assertThat(rejected.getOnErrorEvents().get(0),
+        instanceOf(ServiceUnavailableException.class));
+    assertThat(guard.toJson().getJsonObject("circuitBreaker").getString("state"),
+        equalTo("OPEN"));
+  }
+
+  private Observable<ClientResponse> call(AtomicInteger calls,
+      Observable<ClientResponse> response) {
+    calls.incrementAndGet();
+    return response;
+  }
+
+  private ClientResponse response(int statusCode) {
+    return new ClientResponse().setStatusCode(statusCode);
+  }
+}
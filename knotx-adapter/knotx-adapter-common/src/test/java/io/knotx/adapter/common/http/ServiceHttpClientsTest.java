@@ -0,0 +1,91 @@
+/*
+ * Copyright (C) 2016 Cognifide Limited
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.knotx.adapter.common.http;
+
+import static org.hamcrest.CoreMatchers.equalTo;
+import static org.hamcrest.CoreMatchers.not;
+import static org.hamcrest.CoreMatchers.sameInstance;
+import static org.hamcrest.MatcherAssert.assertThat;
+
+import io.knotx.exceptions.ConfigurationException;
+import io.vertx.core.json.JsonObject;
+import io.vertx.rxjava.core.Vertx;
+import java.util.Arrays;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+public class ServiceHttpClientsTest {
+
+  private Vertx vertx;
+
+  @Before
+  public void setUp() {
+    vertx = Vertx.vertx();
+  }
+
+  @After
+  public void tearDown() {
+    vertx.close();
+  }
+
+  @Test
+  public void whenServicesOfOneDestination_expectSharedClientAndMetrics() {
+    ServiceMetadata first = service("/first/.*", "localhost", 3000, new JsonObject());
+    ServiceMetadata second = service("/second/.*", "localhost", 3000, new JsonObject());
+    ServiceMetadata other = service("/other/.*", "localhost", 4000, new JsonObject());
+
+    ServiceHttpClients clients = new ServiceHttpClients(vertx,
+        new JsonObject().put("maxPoolSize", 20), Arrays.asList(first, second, other));
+
+    assertThat(clients.client(first), sameInstance(clients.client(second)));
+    assertThat(clients.client(first), not(sameInstance(clients.client(other))));
+    assertThat(clients.metrics(first), sameInstance(clients.metrics(second)));
+    assertThat(clients.stats().getJsonObject("localhost:3000").getInteger("maxPoolSize"),
+        equalTo(20));
+  }
+
+  @Test
+  public void whenServiceSetsHttp2_expectMultiplexingLimitInStats() {
+    ServiceMetadata service = service("/http2/.*", "localhost", 3000, new JsonObject()
+        .put("protocolVersion", "HTTP_2")
+        .put("http2MaxPoolSize", 2)
+        .put("http2MultiplexingLimit", 100));
+
+    ServiceHttpClients clients = new ServiceHttpClients(vertx, new JsonObject(),
+        Arrays.asList(service));
+    clients.metrics(service);
+
+    JsonObject stats = clients.stats().getJsonObject("localhost:3000");
+    assertThat(stats.getInteger("maxPoolSize"), equalTo(2));
+    assertThat(stats.getInteger("multiplexingLimit"), equalTo(100));
+  }
+
+  @Test(expected = ConfigurationException.class)
+  public void whenServicesOfOneDestinationSetDifferentOptions_expectConfigurationException() {
+    new ServiceHttpClients(vertx, new JsonObject(), Arrays.asList(
+        service("/first/.*", "localhost", 3000, new JsonObject().put("maxPoolSize", 5)),
+        service("/second/.*", "localhost", 3000, new JsonObject().put("maxPoolSize", 10))));
+  }
+
+  private ServiceMetadata service(String path, String domain, int port, JsonObject clientOptions) {
+    return new ServiceMetadata()
+        .setPath(path)
+        .setDomain(domain)
+        .setPort(port)
+        .setClientOptions(clientOptions);
+  }
+}
@@ -18,7 +18,7 @@ package io.knotx.adapter.service.http;
 
 import io.knotx.adapter.common.http.HttpAdapterConfiguration;
 import io.knotx.adapter.service.http.impl.HttpServiceAdapterProxyImpl;
-import io.knotx.proxy.AdapterProxy;
+import io.knotx.proxy.KnotxProxyHelper;
 import io.vertx.core.AbstractVerticle;
 import io.vertx.core.Context;
 import io.vertx.core.Vertx;
@@ -26,7 +26,6 @@ import io.vertx.core.eventbus.MessageConsumer;
 import io.vertx.core.json.JsonObject;
 import io.vertx.core.logging.Logger;
 import io.vertx.core.logging.LoggerFactory;
-import io.vertx.serviceproxy.ProxyHelper;
 
 public class HttpServiceAdapterVerticle extends AbstractVerticle {
 
@@ -34,7 +33,9 @@ public class HttpServiceAdapterVerticle extends AbstractVerticle {
 
   private HttpAdapterConfiguration configuration;
 
-  private MessageConsumer<JsonObject> consumer;
+  private MessageConsumer<Object> consumer;
+
+  private MessageConsumer<JsonObject> statsConsumer;
 
   @Override
   public void init(Vertx vertx, Context context) {
@@ -46,15 +47,19 @@ public class HttpServiceAdapterVerticle extends AbstractVerticle {
   public void start() throws Exception {
     LOGGER.info("Starting <{}>", this.getClass().getSimpleName());
 
+    HttpServiceAdapterProxyImpl adapter =
+        new HttpServiceAdapterProxyImpl(new io.vertx.rxjava.core.Vertx(vertx), configuration);
+
     //register the service proxy on event bus
-    consumer = ProxyHelper
-        .registerService(AdapterProxy.class, vertx,
-            new HttpServiceAdapterProxyImpl(new io.vertx.rxjava.core.Vertx(vertx), configuration),
-            configuration.getAddress());
+    consumer = KnotxProxyHelper
+        .registerService(vertx, adapter, configuration.getAddress());
+    statsConsumer = vertx.eventBus().consumer(configuration.getStatsAddress(),
+        message -> message.reply(adapter.stats()));
   }
 
   @Override
   public void stop() throws Exception {
-    ProxyHelper.unregisterService(consumer);
+    KnotxProxyHelper.unregisterService(consumer);
+    statsConsumer.unregister();
   }
 }
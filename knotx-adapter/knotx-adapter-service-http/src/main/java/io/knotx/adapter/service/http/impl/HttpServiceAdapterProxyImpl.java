@@ -18,13 +18,12 @@ package io.knotx.adapter.service.http.impl;
 import io.knotx.adapter.AbstractAdapterProxy;
 import io.knotx.adapter.common.http.HttpAdapterConfiguration;
 import io.knotx.adapter.common.http.HttpClientFacade;
+import io.knotx.adapter.common.http.ServiceHttpClients;
 import io.knotx.dataobjects.AdapterRequest;
 import io.knotx.dataobjects.AdapterResponse;
-import io.vertx.core.http.HttpClientOptions;
 import io.vertx.core.http.HttpMethod;
 import io.vertx.core.json.JsonObject;
 import io.vertx.rxjava.core.Vertx;
-import io.vertx.rxjava.core.http.HttpClient;
 import rx.Observable;
 
 public class HttpServiceAdapterProxyImpl extends AbstractAdapterProxy {
@@ -32,19 +31,22 @@ public class HttpServiceAdapterProxyImpl extends AbstractAdapterProxy {
   private HttpClientFacade httpClientFacade;
 
   public HttpServiceAdapterProxyImpl(Vertx vertx, HttpAdapterConfiguration configuration) {
-    this.httpClientFacade = new HttpClientFacade(getHttpClient(vertx, configuration),
+    this.httpClientFacade = new HttpClientFacade(new ServiceHttpClients(vertx,
+        configuration.getClientOptions(), configuration.getServices()),
         configuration.getServices());
   }
 
+  /**
+   * @return number of service calls collapsed into identical calls already in progress
+   */
+  public JsonObject stats() {
+    return httpClientFacade.stats();
+  }
+
   @Override
   protected Observable<AdapterResponse> processRequest(AdapterRequest message) {
     return httpClientFacade.process(message, HttpMethod.GET)
         .map(new AdapterResponse()::setResponse);
   }
 
-  private HttpClient getHttpClient(Vertx vertx, HttpAdapterConfiguration configuration) {
-    JsonObject clientOptions = configuration.getClientOptions();
-    return clientOptions.isEmpty() ?
-        vertx.createHttpClient() : vertx.createHttpClient(new HttpClientOptions(clientOptions));
-  }
 }
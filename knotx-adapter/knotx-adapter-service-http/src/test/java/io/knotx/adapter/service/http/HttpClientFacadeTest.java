@@ -26,6 +26,7 @@ import io.knotx.junit.rule.KnotxConfiguration;
 import io.knotx.junit.rule.Logback;
 import io.knotx.junit.rule.TestVertxDeployer;
 import io.knotx.junit.util.FileReader;
+import io.knotx.proxy.Deadlines;
 import com.google.common.collect.Lists;
 import io.netty.handler.codec.http.HttpResponseStatus;
 import io.vertx.core.http.HttpMethod;
@@ -64,6 +65,8 @@ public class HttpClientFacadeTest {
 
   private static final String REQUEST_PATH = "/services/mock/first.json";
 
+  private static final String SLOW_REQUEST_PATH = "/services/mock/second.json";
+
   private static final List<Pattern> PATTERNS = Collections
       .singletonList(Pattern.compile("X-test*"));
 
@@ -188,6 +191,72 @@ public class HttpClientFacadeTest {
         async::complete);
   }
 
+  @Test
+  @KnotxConfiguration("knotx-service-adapter-http-test.json")
+  public void whenIdenticalRequestsInFlightAndCoalescingEnabled_expectOneServiceRequest(
+      TestContext context) throws Exception {
+    Async async = context.async();
+    // given
+    final HttpClient httpClient = PowerMockito.spy(httpClient());
+    HttpClientFacade clientFacade = new HttpClientFacade(httpClient,
+        Lists.newArrayList(getServiceConfigurations().get(0).setCoalesceRequests(true)));
+    final JsonObject expectedResponse = new JsonObject(FileReader.readText("first-response.json"));
+
+    // when
+    Observable<ClientResponse> first = clientFacade
+        .process(payloadMessage(REQUEST_PATH, new ClientRequest()), HttpMethod.GET);
+    Observable<ClientResponse> second = clientFacade
+        .process(payloadMessage(REQUEST_PATH, new ClientRequest()), HttpMethod.GET);
+
+    // then
+    Observable.merge(first, second).toList().subscribe(
+        responses -> {
+          responses.forEach(response -> {
+            context.assertEquals(HttpResponseStatus.OK.code(), response.getStatusCode());
+            context.assertEquals(expectedResponse, response.getBody().toJsonObject());
+          });
+          context.assertEquals(2, responses.size());
+          Mockito.verify(httpClient, Mockito.times(1))
+              .request(HttpMethod.GET, 3000, "localhost", REQUEST_PATH);
+          context.assertEquals(1L, clientFacade.stats().getLong("collapsedCalls"));
+        },
+        error -> context.fail(error.getMessage()),
+        async::complete);
+  }
+
+  @Test
+  @KnotxConfiguration("knotx-service-adapter-http-test.json")
+  public void whenIdenticalRequestsWithDifferentDeadlinesInFlight_expectEachBoundByItsOwnDeadline(
+      TestContext context) throws Exception {
+    Async async = context.async();
+    // given
+    final HttpClient httpClient = PowerMockito.spy(httpClient());
+    HttpClientFacade clientFacade = new HttpClientFacade(httpClient,
+        Lists.newArrayList(getServiceConfigurations().get(0).setCoalesceRequests(true)));
+
+    // when
+    Observable<String> first = clientFacade
+        .process(payloadMessage(SLOW_REQUEST_PATH, new ClientRequest())
+            .setDeadline(Deadlines.after(100)), HttpMethod.GET)
+        .map(response -> "response")
+        .onErrorReturn(error -> Deadlines.isTimeout(error) ? "timeout" : error.getMessage());
+    Observable<String> second = clientFacade
+        .process(payloadMessage(SLOW_REQUEST_PATH, new ClientRequest())
+            .setDeadline(Deadlines.after(5000)), HttpMethod.GET)
+        .map(response -> String.valueOf(response.getStatusCode()));
+
+    // then
+    Observable.merge(first, second).toList().subscribe(
+        results -> {
+          context.assertEquals(Lists.newArrayList("timeout", "200"), results);
+          Mockito.verify(httpClient, Mockito.times(1))
+              .request(HttpMethod.GET, 3000, "localhost", SLOW_REQUEST_PATH);
+          context.assertEquals(1L, clientFacade.stats().getLong("collapsedCalls"));
+        },
+        error -> context.fail(error),
+        async::complete);
+  }
+
   private HttpClient httpClient() {
     return Vertx.newInstance(vertx.vertx()).createHttpClient();
   }
@@ -0,0 +1,71 @@
+/*
+ * Copyright 2014 Red Hat, Inc.
+ *
+ * Red Hat licenses this file to you under the Apache License, version 2.0
+ * (the "License"); you may not use this file except in compliance with the
+ * License.  You may obtain a copy of the License at:
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.  See the
+ * License for the specific language governing permissions and limitations
+ * under the License.
+ */
+
+package io.knotx.dataobjects;
+
+import io.vertx.core.json.JsonObject;
+import io.vertx.core.json.JsonArray;
+
+/**
+ * Converter for {@link io.knotx.dataobjects.KnotContext}.
+ *
+ * NOTE: This class has been automatically generated from the {@link io.knotx.dataobjects.KnotContext} original class using Vert.x codegen.
+ */
+public class KnotContextConverter {
+
+  public static void fromJson(JsonObject json, KnotContext obj) {
+    if (json.getValue("clientRequest") instanceof JsonObject) {
+      obj.setClientRequest(new io.knotx.dataobjects.ClientRequest((JsonObject)json.getValue("clientRequest")));
+    }
+    if (json.getValue("clientResponse") instanceof JsonObject) {
+      obj.setClientResponse(new io.knotx.dataobjects.ClientResponse((JsonObject)json.getValue("clientResponse")));
+    }
+    if (json.getValue("deadline") instanceof Number) {
+      obj.setDeadline(((Number)json.getValue("deadline")).longValue());
+    }
+    if (json.getValue("fragments") instanceof JsonArray) {
+      java.util.ArrayList<io.knotx.dataobjects.Fragment> list = new java.util.ArrayList<>();
+      json.getJsonArray("fragments").forEach( item -> {
+        if (item instanceof JsonObject)
+          list.add(new io.knotx.dataobjects.Fragment((JsonObject)item));
+      });
+      obj.setFragments(list);
+    }
+    if (json.getValue("transition") instanceof String) {
+      obj.setTransition((String)json.getValue("transition"));
+    }
+  }
+
+  public static void toJson(KnotContext obj, JsonObject json) {
+    if (obj.getClientRequest() != null) {
+      json.put("clientRequest", obj.getClientRequest().toJson());
+    }
+    if (obj.getClientResponse() != null) {
+      json.put("clientResponse", obj.getClientResponse().toJson());
+    }
+    json.put("deadline", obj.getDeadline());
+    if (obj.getFragments() != null) {
+      json.put("fragments", new JsonArray(
+          obj.getFragments().
+              stream().
+              map(item -> item.toJson()).
+              collect(java.util.stream.Collectors.toList())));
+    }
+    if (obj.getTransition() != null) {
+      json.put("transition", obj.getTransition());
+    }
+  }
+}
\ No newline at end of file
@@ -20,6 +20,7 @@ import io.knotx.dataobjects.AdapterRequest;
 import io.knotx.dataobjects.AdapterResponse;
 import io.knotx.dataobjects.ClientResponse;
 import io.knotx.proxy.AdapterProxy;
+import io.knotx.proxy.Deadlines;
 import io.netty.handler.codec.http.HttpResponseStatus;
 import io.vertx.core.AsyncResult;
 import io.vertx.core.Future;
@@ -37,6 +38,13 @@ public abstract class AbstractAdapterProxy implements AdapterProxy {
 
   @Override
   public void process(AdapterRequest request, Handler<AsyncResult<AdapterResponse>> result) {
+    if (Deadlines.hasPassed(request.getDeadline())) {
+      LOGGER.warn("Request {} reached the Adapter after its deadline, skipping",
+          request.getRequest());
+      result.handle(Future.succeededFuture(new AdapterResponse().setResponse(
+          new ClientResponse().setStatusCode(HttpResponseStatus.GATEWAY_TIMEOUT.code()))));
+      return;
+    }
     processRequest(request)
         .subscribe(
             adapterResponse -> result.handle(Future.succeededFuture(adapterResponse)),
@@ -0,0 +1,70 @@
+/*
+ * Copyright (C) 2016 Cognifide Limited
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.knotx.codec;
+
+import io.vertx.core.buffer.Buffer;
+import io.vertx.core.eventbus.MessageCodec;
+
+/**
+ * Base of the binary event bus codecs for Knot.x data objects. Every message starts with a format
+ * version byte followed by the data object written with {@link BufferWriter}.
+ *
+ * @param <T> type of the data object
+ */
+public abstract class AbstractDataObjectCodec<T> implements MessageCodec<T, T> {
+
+  private static final byte FORMAT_VERSION = 3;
+
+  @Override
+  public void encodeToWire(Buffer buffer, T value) {
+    buffer.appendByte(FORMAT_VERSION);
+    write(new BufferWriter(buffer), value);
+  }
+
+  @Override
+  public T decodeFromWire(int pos, Buffer buffer) {
+    byte version = buffer.getByte(pos);
+    if (version != FORMAT_VERSION) {
+      throw new IllegalStateException(
+          "Unsupported format version <" + version + "> of <" + name() + "> message");
+    }
+    return read(new BufferReader(buffer, pos + 1));
+  }
+
+  /**
+   * Local delivery still hands out a copy, so sender and receiver never share mutable state.
+   */
+  @Override
+  public T transform(T value) {
+    Buffer buffer = Buffer.buffer();
+    write(new BufferWriter(buffer), value);
+    return read(new BufferReader(buffer, 0));
+  }
+
+  @Override
+  public String name() {
+    return getClass().getName();
+  }
+
+  @Override
+  public byte systemCodecID() {
+    return -1;
+  }
+
+  protected abstract void write(BufferWriter writer, T value);
+
+  protected abstract T read(BufferReader reader);
+}
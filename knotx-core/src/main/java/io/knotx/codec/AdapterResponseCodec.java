@@ -0,0 +1,31 @@
+/*
+ * Copyright (C) 2016 Cognifide Limited
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.knotx.codec;
+
+import io.knotx.dataobjects.AdapterResponse;
+
+public class AdapterResponseCodec extends AbstractDataObjectCodec<AdapterResponse> {
+
+  @Override
+  protected void write(BufferWriter writer, AdapterResponse value) {
+    value.writeTo(writer);
+  }
+
+  @Override
+  protected AdapterResponse read(BufferReader reader) {
+    return new AdapterResponse(reader);
+  }
+}
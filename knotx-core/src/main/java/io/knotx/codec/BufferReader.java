@@ -0,0 +1,123 @@
+/*
+ * Copyright (C) 2016 Cognifide Limited
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.knotx.codec;
+
+import io.vertx.core.buffer.Buffer;
+import io.vertx.core.json.JsonObject;
+import io.vertx.rxjava.core.MultiMap;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Reads values written by {@link BufferWriter}, moving forward from the given position.
+ */
+public class BufferReader {
+
+  private final Buffer buffer;
+
+  private int pos;
+
+  public BufferReader(Buffer buffer, int pos) {
+    this.buffer = buffer;
+    this.pos = pos;
+  }
+
+  public int position() {
+    return pos;
+  }
+
+  public int readInt() {
+    int value = buffer.getInt(pos);
+    pos += Integer.BYTES;
+    return value;
+  }
+
+  public long readLong() {
+    long value = buffer.getLong(pos);
+    pos += Long.BYTES;
+    return value;
+  }
+
+  public boolean readBoolean() {
+    return buffer.getByte(pos++) != 0;
+  }
+
+  public String readString() {
+    int length = readInt();
+    if (length == BufferWriter.NULL_LENGTH) {
+      return null;
+    }
+    String value = buffer.getString(pos, pos + length, "UTF-8");
+    pos += length;
+    return value;
+  }
+
+  public Buffer readBuffer() {
+    int length = readInt();
+    if (length == BufferWriter.NULL_LENGTH) {
+      return null;
+    }
+    Buffer value = buffer.getBuffer(pos, pos + length);
+    pos += length;
+    return value;
+  }
+
+  public List<String> readStringList() {
+    int size = readInt();
+    if (size == BufferWriter.NULL_LENGTH) {
+      return null;
+    }
+    List<String> values = new ArrayList<>(size);
+    for (int i = 0; i < size; i++) {
+      values.add(readString());
+    }
+    return values;
+  }
+
+  public MultiMap readMultiMap() {
+    int size = readInt();
+    if (size == BufferWriter.NULL_LENGTH) {
+      return null;
+    }
+    MultiMap values = MultiMap.caseInsensitiveMultiMap();
+    for (int i = 0; i < size; i++) {
+      values.add(readString(), readString());
+    }
+    return values;
+  }
+
+  /**
+   * @return map keeping the order the entries were written in
+   */
+  public Map<String, String> readStringMap() {
+    int size = readInt();
+    if (size == BufferWriter.NULL_LENGTH) {
+      return null;
+    }
+    Map<String, String> values = new LinkedHashMap<>();
+    for (int i = 0; i < size; i++) {
+      values.put(readString(), readString());
+    }
+    return values;
+  }
+
+  public JsonObject readJsonObject() {
+    String value = readString();
+    return value == null ? null : new JsonObject(value);
+  }
+}
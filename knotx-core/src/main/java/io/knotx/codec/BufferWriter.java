@@ -0,0 +1,115 @@
+/*
+ * Copyright (C) 2016 Cognifide Limited
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.knotx.codec;
+
+import io.vertx.core.buffer.Buffer;
+import io.vertx.core.json.JsonObject;
+import io.vertx.rxjava.core.MultiMap;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Appends values to a {@link Buffer} in the binary format read by {@link BufferReader}. Strings and
+ * buffers are length prefixed, {@code -1} length marks a null value.
+ */
+public class BufferWriter {
+
+  static final int NULL_LENGTH = -1;
+
+  private final Buffer buffer;
+
+  public BufferWriter(Buffer buffer) {
+    this.buffer = buffer;
+  }
+
+  public BufferWriter writeInt(int value) {
+    buffer.appendInt(value);
+    return this;
+  }
+
+  public BufferWriter writeLong(long value) {
+    buffer.appendLong(value);
+    return this;
+  }
+
+  public BufferWriter writeBoolean(boolean value) {
+    buffer.appendByte(value ? (byte) 1 : (byte) 0);
+    return this;
+  }
+
+  public BufferWriter writeString(String value) {
+    if (value == null) {
+      buffer.appendInt(NULL_LENGTH);
+    } else {
+      byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+      buffer.appendInt(bytes.length).appendBytes(bytes);
+    }
+    return this;
+  }
+
+  public BufferWriter writeBuffer(Buffer value) {
+    if (value == null) {
+      buffer.appendInt(NULL_LENGTH);
+    } else {
+      buffer.appendInt(value.length()).appendBuffer(value);
+    }
+    return this;
+  }
+
+  public BufferWriter writeStringList(List<String> values) {
+    if (values == null) {
+      buffer.appendInt(NULL_LENGTH);
+    } else {
+      buffer.appendInt(values.size());
+      values.forEach(this::writeString);
+    }
+    return this;
+  }
+
+  /**
+   * Writes all entries of the multimap as a table of name/value pairs, so repeated names are
+   * preserved.
+   */
+  public BufferWriter writeMultiMap(MultiMap values) {
+    if (values == null) {
+      buffer.appendInt(NULL_LENGTH);
+    } else {
+      List<Map.Entry<String, String>> entries =
+          ((io.vertx.core.MultiMap) values.getDelegate()).entries();
+      buffer.appendInt(entries.size());
+      entries.forEach(entry -> writeString(entry.getKey()).writeString(entry.getValue()));
+    }
+    return this;
+  }
+
+  /**
+   * Writes the entries of the map in its iteration order.
+   */
+  public BufferWriter writeStringMap(Map<String, String> values) {
+    if (values == null) {
+      buffer.appendInt(NULL_LENGTH);
+    } else {
+      buffer.appendInt(values.size());
+      values.forEach((key, value) -> writeString(key).writeString(value));
+    }
+    return this;
+  }
+
+  public BufferWriter writeJsonObject(JsonObject value) {
+    return writeString(value == null ? null : value.encode());
+  }
+}
@@ -0,0 +1,58 @@
+/*
+ * Copyright (C) 2016 Cognifide Limited
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.knotx.codec;
+
+import io.knotx.dataobjects.AdapterRequest;
+import io.knotx.dataobjects.AdapterResponse;
+import io.knotx.dataobjects.ClientRequest;
+import io.knotx.dataobjects.ClientResponse;
+import io.knotx.dataobjects.Fragment;
+import io.knotx.dataobjects.KnotContext;
+import io.vertx.core.eventbus.EventBus;
+
+public class DataObjectCodecs {
+
+  /**
+   * Registers binary codecs as the default codecs of Knot.x data objects, so they can be sent over
+   * the event bus without any delivery options. The {@link LocalDataObjectCodec} of each data
+   * object is registered as well, under the {@link LocalDataObjectCodec#name(Class)} name. Calling
+   * it more than once is harmless.
+   *
+   * @param eventBus - event bus to register codecs on
+   */
+  public static void registerDefaultCodecs(EventBus eventBus) {
+    register(eventBus, KnotContext.class, new KnotContextCodec());
+    register(eventBus, ClientRequest.class, new ClientRequestCodec());
+    register(eventBus, ClientResponse.class, new ClientResponseCodec());
+    register(eventBus, Fragment.class, new FragmentCodec());
+    register(eventBus, AdapterRequest.class, new AdapterRequestCodec());
+    register(eventBus, AdapterResponse.class, new AdapterResponseCodec());
+  }
+
+  private static <T> void register(EventBus eventBus, Class<T> type,
+      AbstractDataObjectCodec<T> codec) {
+    try {
+      eventBus.registerDefaultCodec(type, codec);
+    } catch (IllegalStateException ex) {
+      //already registered
+    }
+    try {
+      eventBus.registerCodec(new LocalDataObjectCodec<>(type, codec));
+    } catch (IllegalStateException ex) {
+      //already registered
+    }
+  }
+}
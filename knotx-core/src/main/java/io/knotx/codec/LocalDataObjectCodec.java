@@ -0,0 +1,71 @@
+/*
+ * Copyright (C) 2016 Cognifide Limited
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.knotx.codec;
+
+import io.vertx.core.buffer.Buffer;
+import io.vertx.core.eventbus.MessageCodec;
+
+/**
+ * Codec handing the sent data object itself over to a consumer in the same Vert.x instance. The
+ * sender gives up the ownership of the object and must not modify it once sent. Messages that
+ * still travel over the wire are encoded with the binary codec of the data object.
+ *
+ * @param <T> type of the data object
+ */
+public class LocalDataObjectCodec<T> implements MessageCodec<T, T> {
+
+  private final String name;
+
+  private final AbstractDataObjectCodec<T> wireCodec;
+
+  public LocalDataObjectCodec(Class<T> type, AbstractDataObjectCodec<T> wireCodec) {
+    this.name = name(type);
+    this.wireCodec = wireCodec;
+  }
+
+  /**
+   * @param type - type of the data object
+   * @return name of the local codec registered for the given data object type
+   */
+  public static String name(Class<?> type) {
+    return "local:" + type.getName();
+  }
+
+  @Override
+  public void encodeToWire(Buffer buffer, T value) {
+    wireCodec.encodeToWire(buffer, value);
+  }
+
+  @Override
+  public T decodeFromWire(int pos, Buffer buffer) {
+    return wireCodec.decodeFromWire(pos, buffer);
+  }
+
+  @Override
+  public T transform(T value) {
+    return value;
+  }
+
+  @Override
+  public String name() {
+    return name;
+  }
+
+  @Override
+  public byte systemCodecID() {
+    return -1;
+  }
+}
@@ -16,6 +16,8 @@
 package io.knotx.dataobjects;
 
 import com.google.common.base.Objects;
+import io.knotx.codec.BufferReader;
+import io.knotx.codec.BufferWriter;
 import io.vertx.codegen.annotations.DataObject;
 import io.vertx.core.json.JsonObject;
 import org.apache.commons.lang3.builder.ToStringBuilder;
@@ -27,6 +29,8 @@ public class AdapterRequest {
 
   private JsonObject params;
 
+  private long deadline;
+
   public AdapterRequest() {
     //Empty object
   }
@@ -35,12 +39,27 @@ public class AdapterRequest {
     AdapterRequestConverter.fromJson(json, this);
   }
 
+  public AdapterRequest(BufferReader reader) {
+    this.request = reader.readBoolean() ? new ClientRequest(reader) : null;
+    this.params = reader.readJsonObject();
+    this.deadline = reader.readLong();
+  }
+
   public JsonObject toJson() {
     JsonObject json = new JsonObject();
     AdapterRequestConverter.toJson(this, json);
     return json;
   }
 
+  public void writeTo(BufferWriter writer) {
+    writer.writeBoolean(request != null);
+    if (request != null) {
+      request.writeTo(writer);
+    }
+    writer.writeJsonObject(params);
+    writer.writeLong(deadline);
+  }
+
   /**
    * @return the client request object representing HTTP request
    */
@@ -77,6 +96,25 @@ public class AdapterRequest {
     return this;
   }
 
+  /**
+   * @return time in milliseconds since the epoch after which nobody waits for the Adapter
+   * response anymore, {@code 0} when the request has no deadline
+   */
+  public long getDeadline() {
+    return deadline;
+  }
+
+  /**
+   * Set the request deadline
+   *
+   * @param deadline - time in milliseconds since the epoch
+   * @return a reference to this, so the API can be used fluently
+   */
+  public AdapterRequest setDeadline(long deadline) {
+    this.deadline = deadline;
+    return this;
+  }
+
   @Override
   public boolean equals(Object o) {
     if (this == o) {
@@ -87,12 +125,13 @@ public class AdapterRequest {
     }
     AdapterRequest that = (AdapterRequest) o;
     return Objects.equal(params, that.params) &&
-        request.equals(that.request);
+        request.equals(that.request) &&
+        deadline == that.deadline;
   }
 
   @Override
   public int hashCode() {
-    return 31 * request.hashCode() + params.hashCode();
+    return 31 * (31 * request.hashCode() + params.hashCode()) + Long.hashCode(deadline);
   }
 
   @Override
@@ -100,6 +139,7 @@ public class AdapterRequest {
     return new ToStringBuilder(this)
         .append("request", request)
         .append("params", params)
+        .append("deadline", deadline)
         .toString();
   }
 }
@@ -16,6 +16,8 @@
 package io.knotx.dataobjects;
 
 import com.google.common.base.Objects;
+import io.knotx.codec.BufferReader;
+import io.knotx.codec.BufferWriter;
 import io.vertx.codegen.annotations.DataObject;
 import io.vertx.core.json.JsonObject;
 import org.apache.commons.lang3.builder.ToStringBuilder;
@@ -36,12 +38,25 @@ public class AdapterResponse {
     AdapterResponseConverter.fromJson(json, this);
   }
 
+  public AdapterResponse(BufferReader reader) {
+    this.response = reader.readBoolean() ? new ClientResponse(reader) : null;
+    this.signal = reader.readString();
+  }
+
   public JsonObject toJson() {
     JsonObject json = new JsonObject();
     AdapterResponseConverter.toJson(this, json);
     return json;
   }
 
+  public void writeTo(BufferWriter writer) {
+    writer.writeBoolean(response != null);
+    if (response != null) {
+      response.writeTo(writer);
+    }
+    writer.writeString(signal);
+  }
+
   public ClientResponse getResponse() {
     return response;
   }
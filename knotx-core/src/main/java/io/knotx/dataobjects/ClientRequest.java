@@ -16,6 +16,8 @@
 package io.knotx.dataobjects;
 
 
+import io.knotx.codec.BufferReader;
+import io.knotx.codec.BufferWriter;
 import io.knotx.http.UriHelper;
 import io.knotx.util.DataObjectsUtil;
 import io.knotx.util.MultimapConverter;
@@ -65,12 +67,29 @@ public class ClientRequest {
     this.formAttributes = MultiMap.caseInsensitiveMultiMap().setAll(serverRequest.formAttributes());
   }
 
+  public ClientRequest(BufferReader reader) {
+    this.path = reader.readString();
+    String methodName = reader.readString();
+    this.method = methodName == null ? null : HttpMethod.valueOf(methodName);
+    this.headers = reader.readMultiMap();
+    this.params = reader.readMultiMap();
+    this.formAttributes = reader.readMultiMap();
+  }
+
   public JsonObject toJson() {
     JsonObject json = new JsonObject();
     ClientRequestConverter.toJson(this, json);
     return json;
   }
 
+  public void writeTo(BufferWriter writer) {
+    writer.writeString(path)
+        .writeString(method == null ? null : method.name())
+        .writeMultiMap(headers)
+        .writeMultiMap(params)
+        .writeMultiMap(formAttributes);
+  }
+
   public String getPath() {
     return path;
   }
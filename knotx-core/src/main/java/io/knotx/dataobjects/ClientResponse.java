@@ -15,6 +15,8 @@
  */
 package io.knotx.dataobjects;
 
+import io.knotx.codec.BufferReader;
+import io.knotx.codec.BufferWriter;
 import io.knotx.util.DataObjectsUtil;
 import io.knotx.util.MultimapConverter;
 import com.google.common.base.MoreObjects;
@@ -42,12 +44,24 @@ public class ClientResponse {
     ClientResponseConverter.fromJson(json, this);
   }
 
+  public ClientResponse(BufferReader reader) {
+    this.statusCode = reader.readInt();
+    this.headers = reader.readMultiMap();
+    this.body = reader.readBuffer();
+  }
+
   public JsonObject toJson() {
     JsonObject json = new JsonObject();
     ClientResponseConverter.toJson(this, json);
     return json;
   }
 
+  public void writeTo(BufferWriter writer) {
+    writer.writeInt(statusCode)
+        .writeMultiMap(headers)
+        .writeBuffer(body);
+  }
+
   public ClientResponse clearBody() {
     this.body = Buffer.buffer();
     return this;
@@ -79,6 +93,19 @@ public class ClientResponse {
     return this;
   }
 
+  /**
+   * Sets the body without the defensive copy made by {@link #setBody(Buffer)}. The response takes
+   * ownership of the buffer, so the caller must not modify it afterwards.
+   *
+   * @param body - buffer owned by the response from now on
+   * @return - this response
+   */
+  @GenIgnore
+  public ClientResponse wrapBody(Buffer body) {
+    this.body = body;
+    return this;
+  }
+
   @GenIgnore
   public MultiMap getHeaders() {
     return MultiMap.caseInsensitiveMultiMap().addAll(headers);
@@ -16,12 +16,18 @@
 package io.knotx.dataobjects;
 
 import com.google.common.base.Objects;
+import io.knotx.codec.BufferReader;
+import io.knotx.codec.BufferWriter;
+import io.knotx.fragments.SnippetTag;
 import io.vertx.codegen.annotations.DataObject;
 import io.vertx.core.json.JsonArray;
 import io.vertx.core.json.JsonObject;
 import java.util.Collections;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.NoSuchElementException;
+import java.util.Optional;
 import java.util.stream.Collectors;
 import org.apache.commons.lang3.StringUtils;
 
@@ -36,15 +42,43 @@ public class Fragment {
 
   private static final String CONTEXT = "_CONTEXT";
 
+  private static final String SNIPPET_TAG = "_SNIPPET_TAG";
+
+  private static final String TAG_NAME = "name";
+
+  private static final String TAG_ATTRIBUTES = "attributes";
+
+  private static final String TAG_BODY_START = "bodyStart";
+
+  private static final String TAG_BODY_END = "bodyEnd";
+
   private final List<String> knots;
   private final JsonObject context;
   private String content;
+  private SnippetTag snippetTag;
 
   public Fragment(JsonObject fragment) {
     this.knots = fragment.getJsonArray(KNOTS).stream().map(String::valueOf)
         .collect(Collectors.toList());
     this.content = fragment.getString(CONTENT);
     this.context = fragment.getJsonObject(CONTEXT, new JsonObject());
+    this.snippetTag = Optional.ofNullable(fragment.getJsonObject(SNIPPET_TAG))
+        .map(tag -> SnippetTag.of(content, tag.getString(TAG_NAME),
+            tag.getJsonObject(TAG_ATTRIBUTES).stream()
+                .collect(Collectors.toMap(Map.Entry::getKey, entry -> (String) entry.getValue(),
+                    (first, second) -> second, LinkedHashMap::new)),
+            tag.getInteger(TAG_BODY_START), tag.getInteger(TAG_BODY_END)))
+        .orElse(null);
+  }
+
+  public Fragment(BufferReader reader) {
+    this.knots = reader.readStringList();
+    this.content = reader.readString();
+    this.context = reader.readJsonObject();
+    if (reader.readBoolean()) {
+      this.snippetTag = SnippetTag.of(content, reader.readString(), reader.readStringMap(),
+          reader.readInt(), reader.readInt());
+    }
   }
 
   private Fragment(List<String> knots, String data) {
@@ -64,9 +98,39 @@ public class Fragment {
     return new Fragment(knots, data);
   }
 
+  /**
+   * @param snippetTag opening tag and body of the snippet, already parsed from the data
+   */
+  public static Fragment snippet(List<String> knots, String data, SnippetTag snippetTag) {
+    Fragment fragment = new Fragment(knots, data);
+    fragment.snippetTag = snippetTag;
+    return fragment;
+  }
+
   public JsonObject toJson() {
-    return new JsonObject().put(KNOTS, new JsonArray(knots)).put(CONTENT, content)
+    JsonObject json = new JsonObject().put(KNOTS, new JsonArray(knots)).put(CONTENT, content)
         .put(CONTEXT, context);
+    if (snippetTag != null) {
+      json.put(SNIPPET_TAG, new JsonObject()
+          .put(TAG_NAME, snippetTag.getName())
+          .put(TAG_ATTRIBUTES, new JsonObject(new LinkedHashMap<>(snippetTag.getAttributes())))
+          .put(TAG_BODY_START, snippetTag.getBodyStart())
+          .put(TAG_BODY_END, snippetTag.getBodyEnd()));
+    }
+    return json;
+  }
+
+  public void writeTo(BufferWriter writer) {
+    writer.writeStringList(knots)
+        .writeString(content)
+        .writeJsonObject(context)
+        .writeBoolean(snippetTag != null);
+    if (snippetTag != null) {
+      writer.writeString(snippetTag.getName())
+          .writeStringMap(snippetTag.getAttributes())
+          .writeInt(snippetTag.getBodyStart())
+          .writeInt(snippetTag.getBodyEnd());
+    }
   }
 
   public List<String> knots() {
@@ -77,11 +141,27 @@ public class Fragment {
     return content;
   }
 
+  /**
+   * Replaces the content, the snippet tag of the previous content is dropped.
+   */
   public Fragment content(String content) {
     this.content = content;
+    this.snippetTag = null;
     return this;
   }
 
+  /**
+   * @return opening tag attributes and body range of the snippet, parsed by the Fragment Splitter
+   * or, when the content has changed since, on the first call
+   * @throws IllegalArgumentException when the content does not start with a tag
+   */
+  public SnippetTag snippetTag() {
+    if (snippetTag == null) {
+      snippetTag = SnippetTag.parse(content);
+    }
+    return snippetTag;
+  }
+
   public JsonObject context() {
     return context;
   }
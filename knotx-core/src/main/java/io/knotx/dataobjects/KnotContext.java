@@ -18,8 +18,11 @@ package io.knotx.dataobjects;
 import com.google.common.base.Objects;
 import com.google.common.cache.Cache;
 import com.google.common.cache.CacheBuilder;
+import io.knotx.codec.BufferReader;
+import io.knotx.codec.BufferWriter;
 import io.vertx.codegen.annotations.DataObject;
 import io.vertx.core.json.JsonObject;
+import java.util.ArrayList;
 import java.util.List;
 import rx.Observable;
 
@@ -34,6 +37,8 @@ public class KnotContext {
 
   private List<Fragment> fragments;
 
+  private long deadline;
+
   private volatile Cache<String, Observable<JsonObject>> cache = CacheBuilder.newBuilder().build();
 
   public KnotContext() {
@@ -44,12 +49,45 @@ public class KnotContext {
     KnotContextConverter.fromJson(json, this);
   }
 
+  public KnotContext(BufferReader reader) {
+    this.transition = reader.readString();
+    this.clientRequest = reader.readBoolean() ? new ClientRequest(reader) : null;
+    this.clientResponse = reader.readBoolean() ? new ClientResponse(reader) : null;
+    int size = reader.readInt();
+    if (size >= 0) {
+      this.fragments = new ArrayList<>(size);
+      for (int i = 0; i < size; i++) {
+        this.fragments.add(new Fragment(reader));
+      }
+    }
+    this.deadline = reader.readLong();
+  }
+
   public JsonObject toJson() {
     JsonObject json = new JsonObject();
     KnotContextConverter.toJson(this, json);
     return json;
   }
 
+  public void writeTo(BufferWriter writer) {
+    writer.writeString(transition);
+    writer.writeBoolean(clientRequest != null);
+    if (clientRequest != null) {
+      clientRequest.writeTo(writer);
+    }
+    writer.writeBoolean(clientResponse != null);
+    if (clientResponse != null) {
+      clientResponse.writeTo(writer);
+    }
+    if (fragments == null) {
+      writer.writeInt(-1);
+    } else {
+      writer.writeInt(fragments.size());
+      fragments.forEach(fragment -> fragment.writeTo(writer));
+    }
+    writer.writeLong(deadline);
+  }
+
   public KnotContext clearFragments() {
     this.fragments = null;
     return this;
@@ -91,6 +129,22 @@ public class KnotContext {
     return this;
   }
 
+  public long getDeadline() {
+    return deadline;
+  }
+
+  /**
+   * Set the time in milliseconds since the epoch after which nobody waits for the result of the
+   * request anymore, {@code 0} when the request has no deadline
+   *
+   * @param deadline - request deadline
+   * @return a reference to this, so the API can be used fluently
+   */
+  public KnotContext setDeadline(long deadline) {
+    this.deadline = deadline;
+    return this;
+  }
+
   public Cache<String, Observable<JsonObject>> getCache() {
     return cache;
   }
@@ -107,12 +161,13 @@ public class KnotContext {
     return Objects.equal(transition, that.transition) &&
         Objects.equal(clientRequest, that.clientRequest) &&
         Objects.equal(clientResponse, that.clientResponse) &&
-        Objects.equal(fragments, that.fragments);
+        Objects.equal(fragments, that.fragments) &&
+        deadline == that.deadline;
   }
 
   @Override
   public int hashCode() {
-    return Objects.hashCode(transition, clientRequest, clientResponse, fragments);
+    return Objects.hashCode(transition, clientRequest, clientResponse, fragments, deadline);
   }
 
 }
@@ -0,0 +1,306 @@
+/*
+ * Copyright (C) 2016 Cognifide Limited
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.knotx.fragments;
+
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.Locale;
+import java.util.Map;
+import org.jsoup.parser.Parser;
+
+/**
+ * Opening tag and body of a snippet, e.g. the {@code <script data-knotx-knots="...">} tag wrapping
+ * a snippet. It is read with a single scan of the opening tag instead of building a DOM: only
+ * offsets are kept, attribute names and values are created when asked for. Attribute names are
+ * lower cased and values are unescaped the same way Jsoup does, the last of repeated attributes
+ * wins. The body ends at the last closing tag of the same name, or at the end of the
+ * snippet when there is none; its content is not parsed.
+ */
+public final class SnippetTag {
+
+  private static final int[] NO_ATTRIBUTES = new int[0];
+
+  private final String snippet;
+
+  private final String name;
+
+  private final int bodyStart;
+
+  private final int bodyEnd;
+
+  // name start, name end, value start, value end of each attribute
+  private final int[] attributes;
+
+  // names and values of attributes known up front, null when they are read from the snippet
+  private final String[] decoded;
+
+  private final int size;
+
+  private SnippetTag(String snippet, String name, int[] attributes, String[] decoded, int size,
+      int bodyStart, int bodyEnd) {
+    this.snippet = snippet;
+    this.name = name;
+    this.attributes = attributes;
+    this.decoded = decoded;
+    this.size = size;
+    this.bodyStart = bodyStart;
+    this.bodyEnd = bodyEnd;
+  }
+
+  /**
+   * Restores a tag parsed before, e.g. received with a Fragment, without scanning the snippet.
+   *
+   * @param snippet markup the tag was parsed from
+   * @param name lower cased name of the tag
+   * @param attributes attributes of the opening tag, see {@link #getAttributes()}
+   * @param bodyStart offset of the first body character in the snippet
+   * @param bodyEnd offset of the closing tag in the snippet
+   */
+  public static SnippetTag of(String snippet, String name, Map<String, String> attributes,
+      int bodyStart, int bodyEnd) {
+    if (bodyStart < 0 || bodyEnd < bodyStart || bodyEnd > snippet.length()) {
+      throw new IllegalArgumentException("Body [" + bodyStart + ", " + bodyEnd
+          + "] is out of the snippet: " + abbreviate(snippet));
+    }
+    String[] decoded = new String[attributes.size() * 2];
+    int i = 0;
+    for (Map.Entry<String, String> attribute : attributes.entrySet()) {
+      decoded[i++] = attribute.getKey();
+      decoded[i++] = attribute.getValue();
+    }
+    return new SnippetTag(snippet, name, null, decoded, attributes.size(), bodyStart, bodyEnd);
+  }
+
+  /**
+   * @param snippet markup starting with the opening tag, leading whitespace is skipped
+   * @return opening tag and body offsets of the snippet
+   * @throws IllegalArgumentException when the snippet does not start with a complete opening tag
+   */
+  public static SnippetTag parse(String snippet) {
+    int pos = skipWhitespace(snippet, 0);
+    if (!isAt(snippet, pos, '<')) {
+      throw new IllegalArgumentException(
+          "Snippet does not start with a tag: " + abbreviate(snippet));
+    }
+    int nameStart = ++pos;
+    while (pos < snippet.length() && !isWhitespace(snippet.charAt(pos))
+        && snippet.charAt(pos) != '>' && snippet.charAt(pos) != '/') {
+      pos++;
+    }
+    int nameEnd = pos;
+    if (nameEnd == nameStart) {
+      throw new IllegalArgumentException(
+          "Snippet does not start with a tag: " + abbreviate(snippet));
+    }
+
+    int[] attributes = NO_ATTRIBUTES;
+    int size = 0;
+    while (true) {
+      pos = skipWhitespace(snippet, pos);
+      if (pos >= snippet.length()) {
+        throw new IllegalArgumentException("Unterminated opening tag: " + abbreviate(snippet));
+      }
+      char c = snippet.charAt(pos);
+      if (c == '>') {
+        pos++;
+        break;
+      }
+      if (c == '/') {
+        pos++;
+        continue;
+      }
+      int attributeNameStart = pos;
+      while (pos < snippet.length() && !isWhitespace(c = snippet.charAt(pos))
+          && c != '=' && c != '>' && c != '/') {
+        pos++;
+      }
+      int attributeNameEnd = pos;
+      int valueStart = pos;
+      int valueEnd = pos;
+      pos = skipWhitespace(snippet, pos);
+      if (isAt(snippet, pos, '=')) {
+        pos = skipWhitespace(snippet, pos + 1);
+        if (isAt(snippet, pos, '"') || isAt(snippet, pos, '\'')) {
+          char quote = snippet.charAt(pos);
+          valueStart = pos + 1;
+          valueEnd = snippet.indexOf(quote, valueStart);
+          if (valueEnd < 0) {
+            throw new IllegalArgumentException("Unterminated attribute value: "
+                + abbreviate(snippet));
+          }
+          pos = valueEnd + 1;
+        } else {
+          valueStart = pos;
+          while (pos < snippet.length() && !isWhitespace(c = snippet.charAt(pos)) && c != '>') {
+            pos++;
+          }
+          valueEnd = pos;
+        }
+      } else {
+        // attribute without a value, whitespace after its name is not part of the next one
+        valueStart = attributeNameEnd;
+        valueEnd = attributeNameEnd;
+      }
+      if (size * 4 == attributes.length) {
+        attributes = Arrays.copyOf(attributes, Math.max(16, attributes.length * 2));
+      }
+      attributes[size * 4] = attributeNameStart;
+      attributes[size * 4 + 1] = attributeNameEnd;
+      attributes[size * 4 + 2] = valueStart;
+      attributes[size * 4 + 3] = valueEnd;
+      size++;
+    }
+
+    int bodyEnd = closingTag(snippet, nameStart, nameEnd, pos);
+    String name = snippet.substring(nameStart, nameEnd).toLowerCase(Locale.ENGLISH);
+    return new SnippetTag(snippet, name, attributes, null, size, pos, bodyEnd);
+  }
+
+  /**
+   * @return lower cased name of the tag, e.g. {@code script}
+   */
+  public String getName() {
+    return name;
+  }
+
+  /**
+   * @return number of attributes of the opening tag, repeated ones included
+   */
+  public int size() {
+    return size;
+  }
+
+  public String getAttributeName(int index) {
+    checkIndex(index);
+    if (decoded != null) {
+      return decoded[index * 2];
+    }
+    return snippet.substring(attributes[index * 4], attributes[index * 4 + 1])
+        .toLowerCase(Locale.ENGLISH);
+  }
+
+  public String getAttributeValue(int index) {
+    checkIndex(index);
+    if (decoded != null) {
+      return decoded[index * 2 + 1];
+    }
+    String value = snippet.substring(attributes[index * 4 + 2], attributes[index * 4 + 3]);
+    return value.indexOf('&') < 0 ? value : Parser.unescapeEntities(value, true);
+  }
+
+  /**
+   * @return value of the attribute, an empty string for an attribute without a value and {@code
+   * null} when the opening tag has no such attribute
+   */
+  public String getAttribute(String name) {
+    int index = indexOf(name);
+    return index < 0 ? null : getAttributeValue(index);
+  }
+
+  public boolean hasAttribute(String name) {
+    return indexOf(name) >= 0;
+  }
+
+  /**
+   * @return attributes of the opening tag in the order they first appear, with names lower cased
+   */
+  public Map<String, String> getAttributes() {
+    Map<String, String> result = new LinkedHashMap<>();
+    for (int i = 0; i < size; i++) {
+      result.put(getAttributeName(i), getAttributeValue(i));
+    }
+    return result;
+  }
+
+  /**
+   * @return offset of the first body character in the snippet
+   */
+  public int getBodyStart() {
+    return bodyStart;
+  }
+
+  /**
+   * @return offset of the closing tag in the snippet, the snippet length when there is none
+   */
+  public int getBodyEnd() {
+    return bodyEnd;
+  }
+
+  /**
+   * @return markup between the opening and the closing tag, as written in the snippet
+   */
+  public String getBody() {
+    return snippet.substring(bodyStart, bodyEnd);
+  }
+
+  private int indexOf(String name) {
+    if (decoded != null) {
+      for (int i = size - 1; i >= 0; i--) {
+        if (decoded[i * 2].equalsIgnoreCase(name)) {
+          return i;
+        }
+      }
+      return -1;
+    }
+    for (int i = size - 1; i >= 0; i--) {
+      int start = attributes[i * 4];
+      int length = attributes[i * 4 + 1] - start;
+      if (length == name.length() && snippet.regionMatches(true, start, name, 0, length)) {
+        return i;
+      }
+    }
+    return -1;
+  }
+
+  private void checkIndex(int index) {
+    if (index < 0 || index >= size) {
+      throw new IndexOutOfBoundsException("Index: " + index + ", Size: " + size);
+    }
+  }
+
+  private static int closingTag(String snippet, int nameStart, int nameEnd, int bodyStart) {
+    int nameLength = nameEnd - nameStart;
+    for (int pos = snippet.lastIndexOf("</"); pos >= bodyStart;
+        pos = snippet.lastIndexOf("</", pos - 1)) {
+      int afterName = pos + 2 + nameLength;
+      if (snippet.regionMatches(true, pos + 2, snippet, nameStart, nameLength)
+          && (afterName == snippet.length() || snippet.charAt(afterName) == '>'
+          || isWhitespace(snippet.charAt(afterName)))) {
+        return pos;
+      }
+    }
+    return snippet.length();
+  }
+
+  private static int skipWhitespace(String snippet, int pos) {
+    while (pos < snippet.length() && isWhitespace(snippet.charAt(pos))) {
+      pos++;
+    }
+    return pos;
+  }
+
+  private static boolean isAt(String snippet, int pos, char expected) {
+    return pos < snippet.length() && snippet.charAt(pos) == expected;
+  }
+
+  private static boolean isWhitespace(char c) {
+    return c == ' ' || c == '\t' || c == '\n' || c == '\u000B' || c == '\f' || c == '\r';
+  }
+
+  private static String abbreviate(String snippet) {
+    return snippet.length() > 100 ? snippet.substring(0, 100) + "..." : snippet;
+  }
+}
@@ -0,0 +1,123 @@
+/*
+ * Copyright (C) 2016 Cognifide Limited
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.knotx.http;
+
+import io.vertx.core.json.JsonObject;
+import io.vertx.rxjava.core.buffer.Buffer;
+import io.vertx.rxjava.core.http.HttpClientRequest;
+import io.vertx.rxjava.core.http.HttpClientResponse;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import rx.Observable;
+
+/**
+ * Usage of the connection pool of one HTTP client destination: requests in flight, time spent
+ * waiting for a pooled connection and connections opened versus reused. Only requests sent with
+ * {@link #send(HttpClientRequest, Buffer)} are measured.
+ */
+public class HttpClientMetrics {
+
+  private final LongAdder requests = new LongAdder();
+
+  private final LongAdder failures = new LongAdder();
+
+  private final LongAdder openedConnections = new LongAdder();
+
+  private final AtomicLong inFlight = new AtomicLong();
+
+  private final AtomicLong maxInFlight = new AtomicLong();
+
+  private final LongAdder connectedRequests = new LongAdder();
+
+  private final LongAdder totalWaitNanos = new LongAdder();
+
+  private final AtomicLong maxWaitNanos = new AtomicLong();
+
+  /**
+   * Sends the request when subscribed. Its headers are written with {@code sendHead}, which
+   * completes once the request got a connection from the pool.
+   *
+   * @param request request with all headers set
+   * @param body body of the request, {@code null} when it has no body
+   * @return response of the request
+   */
+  public Observable<HttpClientResponse> send(HttpClientRequest request, Buffer body) {
+    return Observable.create(subscriber -> {
+      final long start = System.nanoTime();
+      final AtomicBoolean ended = new AtomicBoolean();
+      requests.increment();
+      maxInFlight.accumulateAndGet(inFlight.incrementAndGet(), Math::max);
+
+      request.toObservable()
+          .doOnNext(response -> end(ended))
+          .doOnError(error -> {
+            failures.increment();
+            end(ended);
+          })
+          .doOnUnsubscribe(() -> end(ended))
+          .subscribe(subscriber);
+
+      request.connectionHandler(connection -> openedConnections.increment());
+      if (body != null) {
+        request.putHeader("Content-Length", String.valueOf(body.length()));
+      }
+      request.sendHead(version -> connected(start));
+      if (body != null) {
+        request.end(body);
+      } else {
+        request.end();
+      }
+    });
+  }
+
+  /**
+   * @return {@code requests} and {@code failures} counts, {@code inFlight} requests and their
+   * {@code maxInFlight} peak, {@code connectionsOpened} and {@code connectionsReused} and the
+   * {@code averageWaitMs} and {@code maxWaitMs} time of waiting for a connection
+   */
+  public JsonObject toJson() {
+    long connected = connectedRequests.sum();
+    long opened = openedConnections.sum();
+    return new JsonObject()
+        .put("requests", requests.sum())
+        .put("failures", failures.sum())
+        .put("inFlight", inFlight.get())
+        .put("maxInFlight", maxInFlight.get())
+        .put("connectionsOpened", opened)
+        .put("connectionsReused", Math.max(0, connected - opened))
+        .put("averageWaitMs", connected == 0 ? 0.0 : toMillis(totalWaitNanos.sum() / connected))
+        .put("maxWaitMs", toMillis(maxWaitNanos.get()));
+  }
+
+  private void connected(long start) {
+    long wait = System.nanoTime() - start;
+    connectedRequests.increment();
+    totalWaitNanos.add(wait);
+    maxWaitNanos.accumulateAndGet(wait, Math::max);
+  }
+
+  private void end(AtomicBoolean ended) {
+    if (ended.compareAndSet(false, true)) {
+      inFlight.decrementAndGet();
+    }
+  }
+
+  private static double toMillis(long nanos) {
+    return (double) nanos / TimeUnit.MILLISECONDS.toNanos(1);
+  }
+}
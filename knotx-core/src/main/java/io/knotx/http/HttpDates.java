@@ -0,0 +1,60 @@
+/*
+ * Copyright (C) 2016 Cognifide Limited
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.knotx.http;
+
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.time.format.DateTimeFormatter;
+import java.time.format.DateTimeParseException;
+import java.util.Locale;
+import java.util.Optional;
+
+/**
+ * HTTP-date values (RFC 7231) of headers like {@code Last-Modified} or {@code If-Modified-Since}.
+ */
+public final class HttpDates {
+
+  private static final DateTimeFormatter FORMATTER = DateTimeFormatter
+      .ofPattern("EEE, dd MMM yyyy HH:mm:ss 'GMT'", Locale.US)
+      .withZone(ZoneOffset.UTC);
+
+  private HttpDates() {
+    // util class
+  }
+
+  /**
+   * @param epochMillis time in milliseconds since the epoch
+   * @return the time formatted as HTTP-date, e.g. {@code Sun, 06 Nov 1994 08:49:37 GMT}
+   */
+  public static String format(long epochMillis) {
+    return FORMATTER.format(Instant.ofEpochMilli(epochMillis));
+  }
+
+  /**
+   * @param value HTTP-date header value
+   * @return the time in milliseconds since the epoch, empty when the value is not a valid date
+   */
+  public static Optional<Long> parse(String value) {
+    if (value == null) {
+      return Optional.empty();
+    }
+    try {
+      return Optional.of(Instant.from(FORMATTER.parse(value.trim())).toEpochMilli());
+    } catch (DateTimeParseException e) {
+      return Optional.empty();
+    }
+  }
+}
@@ -15,9 +15,12 @@
  */
 package io.knotx.knot;
 
+import io.knotx.dataobjects.ClientResponse;
 import io.knotx.dataobjects.Fragment;
 import io.knotx.dataobjects.KnotContext;
+import io.knotx.proxy.Deadlines;
 import io.knotx.proxy.KnotProxy;
+import io.netty.handler.codec.http.HttpResponseStatus;
 import io.vertx.core.AsyncResult;
 import io.vertx.core.Future;
 import io.vertx.core.Handler;
@@ -42,7 +45,11 @@ public abstract class AbstractKnotProxy implements KnotProxy {
 
   @Override
   public void process(KnotContext knotContext, Handler<AsyncResult<KnotContext>> result) {
-    if (shouldProcess(knotContext)) {
+    if (Deadlines.hasPassed(knotContext.getDeadline())) {
+      LOGGER.warn("Request {} reached the Knot after its deadline, skipping",
+          knotContext.getClientRequest());
+      result.handle(Future.succeededFuture(deadlineExceeded(knotContext)));
+    } else if (shouldProcess(knotContext)) {
       processRequest(knotContext)
           .subscribe(
               ctx -> result.handle(Future.succeededFuture(ctx)),
@@ -60,6 +67,15 @@ public abstract class AbstractKnotProxy implements KnotProxy {
 
   protected abstract KnotContext processError(KnotContext knotContext, Throwable error);
 
+  /**
+   * @return the context with the {@code 504 Gateway Timeout} response and no fragments
+   */
+  protected KnotContext deadlineExceeded(KnotContext knotContext) {
+    return knotContext.clearFragments().setClientResponse(
+        Optional.ofNullable(knotContext.getClientResponse()).orElseGet(ClientResponse::new)
+            .setStatusCode(HttpResponseStatus.GATEWAY_TIMEOUT.code()));
+  }
+
   protected boolean shouldProcess(KnotContext context) {
     Set<String> knots = Optional.ofNullable(context.getFragments())
         .map(this::getKnotSet)
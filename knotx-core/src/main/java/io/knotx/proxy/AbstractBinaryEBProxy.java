@@ -0,0 +1,93 @@
+/*
+ * Copyright (C) 2016 Cognifide Limited
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.knotx.proxy;
+
+import io.knotx.codec.DataObjectCodecs;
+import io.knotx.codec.LocalDataObjectCodec;
+import io.vertx.core.AsyncResult;
+import io.vertx.core.Future;
+import io.vertx.core.Handler;
+import io.vertx.core.Vertx;
+import io.vertx.core.eventbus.DeliveryOptions;
+import io.vertx.serviceproxy.ServiceException;
+import io.vertx.serviceproxy.ServiceExceptionMessageCodec;
+
+/**
+ * Event bus client sending data objects with the binary codecs instead of the JSON messages used
+ * by the generated proxies. The service on the other side has to be registered with {@link
+ * KnotxProxyHelper}. Local proxies hand the request object itself over to the service, which
+ * replies the same way. The send timeout is cut down to the time left until the request deadline.
+ *
+ * @param <I> request type
+ * @param <O> response type
+ */
+abstract class AbstractBinaryEBProxy<I, O> {
+
+  static final String ACTION_HEADER = "action";
+
+  static final String PROCESS_ACTION = "process";
+
+  static final String DELIVERY_HEADER = "delivery";
+
+  static final String LOCAL_DELIVERY = "local";
+
+  private final Vertx vertx;
+
+  private final String address;
+
+  private final DeliveryOptions options;
+
+  private final boolean local;
+
+  AbstractBinaryEBProxy(Vertx vertx, String address, DeliveryOptions options, boolean local) {
+    this.vertx = vertx;
+    this.address = address;
+    this.options = options;
+    this.local = local;
+    DataObjectCodecs.registerDefaultCodecs(vertx.eventBus());
+    try {
+      vertx.eventBus()
+          .registerDefaultCodec(ServiceException.class, new ServiceExceptionMessageCodec());
+    } catch (IllegalStateException ex) {
+      //already registered
+    }
+  }
+
+  void send(I request, long deadline, Handler<AsyncResult<O>> result) {
+    long remaining = Deadlines.remaining(deadline);
+    if (remaining <= 0) {
+      result.handle(Future.failedFuture(Deadlines.exceeded()));
+      return;
+    }
+    DeliveryOptions deliveryOptions =
+        options != null ? new DeliveryOptions(options) : new DeliveryOptions();
+    if (remaining < deliveryOptions.getSendTimeout()) {
+      deliveryOptions.setSendTimeout(remaining);
+    }
+    deliveryOptions.addHeader(ACTION_HEADER, PROCESS_ACTION);
+    if (local && request != null) {
+      deliveryOptions.setCodecName(LocalDataObjectCodec.name(request.getClass()))
+          .addHeader(DELIVERY_HEADER, LOCAL_DELIVERY);
+    }
+    vertx.eventBus().<O>send(address, request, deliveryOptions, res -> {
+      if (res.failed()) {
+        result.handle(Future.failedFuture(res.cause()));
+      } else {
+        result.handle(Future.succeededFuture(res.result().body()));
+      }
+    });
+  }
+}
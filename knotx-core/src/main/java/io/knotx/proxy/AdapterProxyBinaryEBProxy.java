@@ -0,0 +1,44 @@
+/*
+ * Copyright (C) 2016 Cognifide Limited
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.knotx.proxy;
+
+import io.knotx.dataobjects.AdapterRequest;
+import io.knotx.dataobjects.AdapterResponse;
+import io.vertx.core.AsyncResult;
+import io.vertx.core.Handler;
+import io.vertx.core.Vertx;
+import io.vertx.core.eventbus.DeliveryOptions;
+
+public class AdapterProxyBinaryEBProxy extends
+    AbstractBinaryEBProxy<AdapterRequest, AdapterResponse> implements AdapterProxy {
+
+  public AdapterProxyBinaryEBProxy(Vertx vertx, String address) {
+    this(vertx, address, null);
+  }
+
+  public AdapterProxyBinaryEBProxy(Vertx vertx, String address, DeliveryOptions options) {
+    this(vertx, address, options, false);
+  }
+
+  AdapterProxyBinaryEBProxy(Vertx vertx, String address, DeliveryOptions options, boolean local) {
+    super(vertx, address, options, local);
+  }
+
+  @Override
+  public void process(AdapterRequest request, Handler<AsyncResult<AdapterResponse>> result) {
+    send(request, request == null ? Deadlines.NONE : request.getDeadline(), result);
+  }
+}
@@ -0,0 +1,80 @@
+/*
+ * Copyright (C) 2016 Cognifide Limited
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.knotx.proxy;
+
+import io.knotx.codec.LocalDataObjectCodec;
+import io.vertx.core.AsyncResult;
+import io.vertx.core.Handler;
+import io.vertx.core.eventbus.DeliveryOptions;
+import io.vertx.core.eventbus.Message;
+import io.vertx.core.json.JsonObject;
+import io.vertx.serviceproxy.ServiceException;
+import java.util.function.BiConsumer;
+
+/**
+ * Serves both kinds of clients on a single address: JSON messages are passed to the generated
+ * proxy handler, data objects decoded by the binary codecs are processed here and replied the
+ * same way. Results of local requests are handed back without copying.
+ */
+class BinaryProxyHandler<I, O> implements Handler<Message<Object>> {
+
+  private final Handler<Message<JsonObject>> jsonHandler;
+
+  private final BiConsumer<I, Handler<AsyncResult<O>>> service;
+
+  BinaryProxyHandler(Handler<Message<JsonObject>> jsonHandler,
+      BiConsumer<I, Handler<AsyncResult<O>>> service) {
+    this.jsonHandler = jsonHandler;
+    this.service = service;
+  }
+
+  @Override
+  @SuppressWarnings("unchecked")
+  public void handle(Message<Object> message) {
+    if (message.body() instanceof JsonObject) {
+      jsonHandler.handle((Message) message);
+      return;
+    }
+    try {
+      String action = message.headers().get(AbstractBinaryEBProxy.ACTION_HEADER);
+      if (!AbstractBinaryEBProxy.PROCESS_ACTION.equals(action)) {
+        throw new IllegalStateException("Invalid action: " + action);
+      }
+      service.accept((I) message.body(), res -> {
+        if (res.failed()) {
+          if (res.cause() instanceof ServiceException) {
+            message.reply(res.cause());
+          } else {
+            message.reply(new ServiceException(-1, res.cause().getMessage()));
+          }
+        } else if (isLocal(message) && res.result() != null) {
+          message.reply(res.result(), new DeliveryOptions()
+              .setCodecName(LocalDataObjectCodec.name(res.result().getClass())));
+        } else {
+          message.reply(res.result());
+        }
+      });
+    } catch (RuntimeException e) {
+      message.reply(new ServiceException(500, e.getMessage()));
+      throw e;
+    }
+  }
+
+  private static boolean isLocal(Message<Object> message) {
+    return AbstractBinaryEBProxy.LOCAL_DELIVERY
+        .equals(message.headers().get(AbstractBinaryEBProxy.DELIVERY_HEADER));
+  }
+}
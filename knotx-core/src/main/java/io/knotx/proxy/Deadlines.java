@@ -0,0 +1,67 @@
+/*
+ * Copyright (C) 2016 Cognifide Limited
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.knotx.proxy;
+
+import io.vertx.core.eventbus.ReplyException;
+import io.vertx.core.eventbus.ReplyFailure;
+
+/**
+ * End-to-end request deadlines set by the Server and carried in {@code KnotContext} and {@code
+ * AdapterRequest} as time in milliseconds since the epoch.
+ */
+public final class Deadlines {
+
+  /**
+   * Deadline of requests without a time budget.
+   */
+  public static final long NONE = 0L;
+
+  private Deadlines() {
+    //Utility class
+  }
+
+  /**
+   * @return deadline of a request starting now with the given time budget, {@link #NONE} when the
+   * budget is not positive
+   */
+  public static long after(long timeout) {
+    return timeout > 0 ? System.currentTimeMillis() + timeout : NONE;
+  }
+
+  /**
+   * @return milliseconds left until the deadline, {@link Long#MAX_VALUE} for {@link #NONE}
+   */
+  public static long remaining(long deadline) {
+    return deadline == NONE ? Long.MAX_VALUE : deadline - System.currentTimeMillis();
+  }
+
+  public static boolean hasPassed(long deadline) {
+    return remaining(deadline) <= 0;
+  }
+
+  /**
+   * @return the failure of calls that did not complete before the deadline, the same type as
+   * event bus reply timeouts
+   */
+  public static ReplyException exceeded() {
+    return new ReplyException(ReplyFailure.TIMEOUT, "Request deadline exceeded");
+  }
+
+  public static boolean isTimeout(Throwable error) {
+    return error instanceof ReplyException
+        && ((ReplyException) error).failureType() == ReplyFailure.TIMEOUT;
+  }
+}
@@ -0,0 +1,106 @@
+/*
+ * Copyright (C) 2016 Cognifide Limited
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.knotx.proxy;
+
+import io.vertx.core.Vertx;
+import io.vertx.core.eventbus.DeliveryOptions;
+
+/**
+ * Format of messages sent by service proxies. {@code BINARY} and {@code LOCAL} require services
+ * registered with {@link KnotxProxyHelper}, {@code JSON} works with any service proxy.
+ * {@code LOCAL} passes data objects by reference and falls back to {@code BINARY} when Vert.x runs
+ * in clustered mode.
+ */
+public enum DeliveryCodec {
+
+  JSON {
+    @Override
+    public KnotProxy knotProxy(Vertx vertx, String address, DeliveryOptions options) {
+      return new KnotProxyVertxEBProxy(vertx, address, options);
+    }
+
+    @Override
+    public AdapterProxy adapterProxy(Vertx vertx, String address, DeliveryOptions options) {
+      return new AdapterProxyVertxEBProxy(vertx, address, options);
+    }
+
+    @Override
+    public RepositoryConnectorProxy repositoryConnectorProxy(Vertx vertx, String address,
+        DeliveryOptions options) {
+      return new RepositoryConnectorProxyVertxEBProxy(vertx, address, options);
+    }
+  },
+
+  BINARY {
+    @Override
+    public KnotProxy knotProxy(Vertx vertx, String address, DeliveryOptions options) {
+      return new KnotProxyBinaryEBProxy(vertx, address, options);
+    }
+
+    @Override
+    public AdapterProxy adapterProxy(Vertx vertx, String address, DeliveryOptions options) {
+      return new AdapterProxyBinaryEBProxy(vertx, address, options);
+    }
+
+    @Override
+    public RepositoryConnectorProxy repositoryConnectorProxy(Vertx vertx, String address,
+        DeliveryOptions options) {
+      return new RepositoryConnectorProxyBinaryEBProxy(vertx, address, options);
+    }
+  },
+
+  LOCAL {
+    @Override
+    public KnotProxy knotProxy(Vertx vertx, String address, DeliveryOptions options) {
+      return new KnotProxyBinaryEBProxy(vertx, address, options, !vertx.isClustered());
+    }
+
+    @Override
+    public AdapterProxy adapterProxy(Vertx vertx, String address, DeliveryOptions options) {
+      return new AdapterProxyBinaryEBProxy(vertx, address, options, !vertx.isClustered());
+    }
+
+    @Override
+    public RepositoryConnectorProxy repositoryConnectorProxy(Vertx vertx, String address,
+        DeliveryOptions options) {
+      return new RepositoryConnectorProxyBinaryEBProxy(vertx, address, options,
+          !vertx.isClustered());
+    }
+  };
+
+  public abstract KnotProxy knotProxy(Vertx vertx, String address, DeliveryOptions options);
+
+  public abstract AdapterProxy adapterProxy(Vertx vertx, String address, DeliveryOptions options);
+
+  public abstract RepositoryConnectorProxy repositoryConnectorProxy(Vertx vertx, String address,
+      DeliveryOptions options);
+
+  public KnotProxy knotProxy(Vertx vertx, String address) {
+    return knotProxy(vertx, address, null);
+  }
+
+  public AdapterProxy adapterProxy(Vertx vertx, String address) {
+    return adapterProxy(vertx, address, null);
+  }
+
+  public RepositoryConnectorProxy repositoryConnectorProxy(Vertx vertx, String address) {
+    return repositoryConnectorProxy(vertx, address, null);
+  }
+
+  public static DeliveryCodec from(String name) {
+    return name == null ? JSON : valueOf(name.toUpperCase());
+  }
+}
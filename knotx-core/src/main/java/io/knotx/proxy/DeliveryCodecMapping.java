@@ -0,0 +1,85 @@
+/*
+ * Copyright (C) 2016 Cognifide Limited
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.knotx.proxy;
+
+import io.vertx.core.eventbus.DeliveryOptions;
+import io.vertx.core.json.JsonObject;
+import java.util.Map;
+import java.util.Optional;
+import java.util.stream.Collectors;
+
+/**
+ * Delivery codecs and options of the event bus addresses a module talks to. The {@code
+ * deliveryCodec} option applies to every address unless the address is listed in the {@code
+ * deliveryCodecs} object. {@code deliveryOptions} are Vert.x {@code DeliveryOptions} (e.g. {@code
+ * sendTimeout}, {@code headers}) sent with every message, merged with the options listed for the
+ * address under {@code addresses}, e.g.
+ * <pre>
+ * "deliveryCodec": "BINARY",
+ * "deliveryCodecs": {
+ *   "knotx.knot.handlebars": "LOCAL"
+ * },
+ * "deliveryOptions": {
+ *   "sendTimeout": 10000,
+ *   "addresses": {
+ *     "knotx.adapter.service.http": {
+ *       "sendTimeout": 3000
+ *     }
+ *   }
+ * }
+ * </pre>
+ */
+public class DeliveryCodecMapping {
+
+  private static final String ADDRESSES_KEY = "addresses";
+
+  private final DeliveryCodec defaultCodec;
+
+  private final Map<String, DeliveryCodec> codecs;
+
+  private final JsonObject defaultOptions;
+
+  private final JsonObject addressOptions;
+
+  public DeliveryCodecMapping(JsonObject config) {
+    defaultCodec = DeliveryCodec.from(config.getString("deliveryCodec"));
+    codecs = config.getJsonObject("deliveryCodecs", new JsonObject()).stream()
+        .collect(Collectors.toMap(Map.Entry::getKey,
+            entry -> DeliveryCodec.from((String) entry.getValue())));
+    defaultOptions = config.getJsonObject("deliveryOptions", new JsonObject()).copy();
+    addressOptions = Optional.ofNullable(defaultOptions.remove(ADDRESSES_KEY))
+        .map(JsonObject.class::cast)
+        .orElse(new JsonObject());
+  }
+
+  public DeliveryCodec forAddress(String address) {
+    return codecs.getOrDefault(address, defaultCodec);
+  }
+
+  /**
+   * @return options of the messages sent to the address, the codec name is set by the delivery
+   * codec. {@code sendTimeout} is read explicitly as the {@code DeliveryOptions} JSON constructor
+   * only knows it as {@code timeout}.
+   */
+  public DeliveryOptions optionsForAddress(String address) {
+    JsonObject options = defaultOptions.copy();
+    Optional.ofNullable(addressOptions.getJsonObject(address)).ifPresent(options::mergeIn);
+    options.remove("codecName");
+    DeliveryOptions deliveryOptions = new DeliveryOptions(options);
+    Optional.ofNullable(options.getLong("sendTimeout")).ifPresent(deliveryOptions::setSendTimeout);
+    return deliveryOptions;
+  }
+}
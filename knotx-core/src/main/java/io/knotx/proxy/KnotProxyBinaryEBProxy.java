@@ -0,0 +1,44 @@
+/*
+ * Copyright (C) 2016 Cognifide Limited
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.knotx.proxy;
+
+import io.knotx.dataobjects.KnotContext;
+import io.vertx.core.AsyncResult;
+import io.vertx.core.Handler;
+import io.vertx.core.Vertx;
+import io.vertx.core.eventbus.DeliveryOptions;
+
+public class KnotProxyBinaryEBProxy extends
+    AbstractBinaryEBProxy<KnotContext, KnotContext> implements KnotProxy {
+
+  public KnotProxyBinaryEBProxy(Vertx vertx, String address) {
+    this(vertx, address, null);
+  }
+
+  public KnotProxyBinaryEBProxy(Vertx vertx, String address, DeliveryOptions options) {
+    this(vertx, address, options, false);
+  }
+
+  KnotProxyBinaryEBProxy(Vertx vertx, String address, DeliveryOptions options, boolean local) {
+    super(vertx, address, options, local);
+  }
+
+  @Override
+  public void process(KnotContext knotContext, Handler<AsyncResult<KnotContext>> result) {
+    send(knotContext, knotContext == null ? Deadlines.NONE : knotContext.getDeadline(),
+        result);
+  }
+}
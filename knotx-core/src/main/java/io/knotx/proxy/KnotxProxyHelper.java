@@ -0,0 +1,61 @@
+/*
+ * Copyright (C) 2016 Cognifide Limited
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.knotx.proxy;
+
+import io.knotx.codec.DataObjectCodecs;
+import io.vertx.core.AsyncResult;
+import io.vertx.core.Handler;
+import io.vertx.core.Vertx;
+import io.vertx.core.eventbus.Message;
+import io.vertx.core.eventbus.MessageConsumer;
+import io.vertx.core.json.JsonObject;
+import java.util.function.BiConsumer;
+
+/**
+ * Counterpart of {@link io.vertx.serviceproxy.ProxyHelper} for Knot.x services. Registered
+ * services accept both JSON messages sent by the generated proxies and binary messages sent by
+ * {@link DeliveryCodec#BINARY} proxies.
+ */
+public class KnotxProxyHelper {
+
+  public static MessageConsumer<Object> registerService(Vertx vertx, KnotProxy service,
+      String address) {
+    return register(vertx, address, new KnotProxyVertxProxyHandler(vertx, service),
+        service::process);
+  }
+
+  public static MessageConsumer<Object> registerService(Vertx vertx, AdapterProxy service,
+      String address) {
+    return register(vertx, address, new AdapterProxyVertxProxyHandler(vertx, service),
+        service::process);
+  }
+
+  public static MessageConsumer<Object> registerService(Vertx vertx,
+      RepositoryConnectorProxy service, String address) {
+    return register(vertx, address, new RepositoryConnectorProxyVertxProxyHandler(vertx, service),
+        service::process);
+  }
+
+  public static void unregisterService(MessageConsumer<Object> consumer) {
+    consumer.unregister();
+  }
+
+  private static <I, O> MessageConsumer<Object> register(Vertx vertx, String address,
+      Handler<Message<JsonObject>> jsonHandler, BiConsumer<I, Handler<AsyncResult<O>>> service) {
+    DataObjectCodecs.registerDefaultCodecs(vertx.eventBus());
+    return vertx.eventBus().consumer(address, new BinaryProxyHandler<>(jsonHandler, service));
+  }
+}
@@ -0,0 +1,108 @@
+/*
+ * Copyright (C) 2016 Cognifide Limited
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.knotx.proxy;
+
+import io.knotx.repository.RepositoryStreams;
+import io.knotx.repository.StreamingRepositoryConnector;
+import io.vertx.core.Vertx;
+import io.vertx.rx.java.RxHelper;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import rx.Observable;
+
+/**
+ * Event bus proxies of a module, created once per address with the delivery codec and options
+ * configured for it in {@link DeliveryCodecMapping}. Proxies keep no per-request state, so one
+ * instance serves every request sent to its address.
+ */
+public class ProxyRegistry {
+
+  private final Vertx vertx;
+
+  private final DeliveryCodecMapping delivery;
+
+  private final Map<String, io.knotx.rxjava.proxy.KnotProxy> knots = new ConcurrentHashMap<>();
+
+  private final Map<String, io.knotx.rxjava.proxy.AdapterProxy> adapters =
+      new ConcurrentHashMap<>();
+
+  private final Map<String, io.knotx.rxjava.proxy.RepositoryConnectorProxy> repositories =
+      new ConcurrentHashMap<>();
+
+  private final Map<String, StreamingRepositoryConnector> streamingRepositories =
+      new ConcurrentHashMap<>();
+
+  public ProxyRegistry(io.vertx.rxjava.core.Vertx vertx, DeliveryCodecMapping delivery) {
+    this.vertx = vertx == null ? null : (Vertx) vertx.getDelegate();
+    this.delivery = delivery;
+  }
+
+  public io.knotx.rxjava.proxy.KnotProxy knotProxy(String address) {
+    return knots.computeIfAbsent(address, key -> io.knotx.rxjava.proxy.KnotProxy.newInstance(
+        delivery.forAddress(key).knotProxy(vertx, key, delivery.optionsForAddress(key))));
+  }
+
+  public io.knotx.rxjava.proxy.AdapterProxy adapterProxy(String address) {
+    return adapters.computeIfAbsent(address, key -> io.knotx.rxjava.proxy.AdapterProxy.newInstance(
+        delivery.forAddress(key).adapterProxy(vertx, key, delivery.optionsForAddress(key))));
+  }
+
+  public io.knotx.rxjava.proxy.RepositoryConnectorProxy repositoryConnectorProxy(
+      String address) {
+    return repositories.computeIfAbsent(address,
+        key -> io.knotx.rxjava.proxy.RepositoryConnectorProxy.newInstance(delivery.forAddress(key)
+            .repositoryConnectorProxy(vertx, key, delivery.optionsForAddress(key))));
+  }
+
+  /**
+   * @return streaming connector of the Repository Connector deployed at the address in this Vert.x
+   * instance, empty when the repository has to be called through the event bus
+   */
+  public Optional<StreamingRepositoryConnector> streamingRepositoryConnector(String address) {
+    StreamingRepositoryConnector connector = streamingRepositories.get(address);
+    if (connector == null) {
+      connector = RepositoryStreams.create(vertx, address).orElse(null);
+      if (connector != null) {
+        streamingRepositories.putIfAbsent(address, connector);
+      }
+    }
+    return Optional.ofNullable(connector);
+  }
+
+  /**
+   * Bounds a proxy call by the request deadline. The call fails with {@link Deadlines#exceeded()}
+   * without being made when the deadline has passed, or when no reply comes in the remaining time.
+   * The timer runs on the context of the caller.
+   *
+   * @param deadline request deadline, {@link Deadlines#NONE} leaves the call unbounded
+   */
+  public <T> Observable.Transformer<T, T> withinDeadline(long deadline) {
+    return call -> {
+      if (deadline == Deadlines.NONE) {
+        return call;
+      }
+      long remaining = Deadlines.remaining(deadline);
+      if (remaining <= 0) {
+        return Observable.error(Deadlines.exceeded());
+      }
+      return call.timeout(remaining, TimeUnit.MILLISECONDS,
+          Observable.defer(() -> Observable.error(Deadlines.exceeded())),
+          RxHelper.scheduler(vertx));
+    };
+  }
+}
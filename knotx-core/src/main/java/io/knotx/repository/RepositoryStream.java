@@ -0,0 +1,111 @@
+/*
+ * Copyright (C) 2016 Cognifide Limited
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.knotx.repository;
+
+import io.knotx.dataobjects.ClientResponse;
+import io.vertx.core.buffer.Buffer;
+import io.vertx.core.streams.ReadStream;
+
+/**
+ * Status and headers of a repository response with its paused body, or with the local file
+ * holding the body, which the server sends with {@code sendFile}. A paused body holds the
+ * connection it comes from until it is read to its end, {@link #discard() discarded} or {@link
+ * #close() closed}.
+ */
+public class RepositoryStream {
+
+  private final ClientResponse response;
+
+  private final ReadStream<Buffer> body;
+
+  private final String file;
+
+  private final Runnable close;
+
+  public RepositoryStream(ClientResponse response, ReadStream<Buffer> body) {
+    this(response, body, () -> {
+    });
+  }
+
+  /**
+   * @param close releases the source of the body without reading it, e.g. closes the connection
+   */
+  public RepositoryStream(ClientResponse response, ReadStream<Buffer> body, Runnable close) {
+    this(response, body, null, close);
+  }
+
+  private RepositoryStream(ClientResponse response, ReadStream<Buffer> body, String file,
+      Runnable close) {
+    this.response = response;
+    this.body = body;
+    this.file = file;
+    this.close = close;
+  }
+
+  /**
+   * @param response status code and headers of the response, its {@code Content-Length}, {@code
+   * Last-Modified} and {@code ETag} headers describe the file
+   * @param file path of the local file with the body of the response
+   */
+  public static RepositoryStream ofFile(ClientResponse response, String file) {
+    return new RepositoryStream(response, null, file, () -> {
+    });
+  }
+
+  /**
+   * @return status code and headers of the response
+   */
+  public ClientResponse getResponse() {
+    return response;
+  }
+
+  /**
+   * @return paused body of the response, {@code null} when the response has no body or the body
+   * is a file
+   */
+  public ReadStream<Buffer> getBody() {
+    return body;
+  }
+
+  /**
+   * @return path of the local file with the body of the response, {@code null} when the body is
+   * not a file
+   */
+  public String getFile() {
+    return file;
+  }
+
+  /**
+   * Reads the body to its end and drops it, so that the connection it comes from can be reused.
+   * Used for small bodies, e.g. of error responses, that are not sent to the client.
+   */
+  public void discard() {
+    if (body != null) {
+      body.handler(chunk -> {
+      }).exceptionHandler(error -> close()).endHandler(null);
+      body.resume();
+    }
+  }
+
+  /**
+   * Releases the source of the body without reading the rest of it, e.g. when the client has gone
+   * or the request has no time left. Must not be called once the body has ended, as its
+   * connection may serve another request by then.
+   */
+  public void close() {
+    close.run();
+  }
+}
@@ -0,0 +1,67 @@
+/*
+ * Copyright (C) 2016 Cognifide Limited
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.knotx.repository;
+
+import io.vertx.core.Vertx;
+import io.vertx.core.shareddata.LocalMap;
+import io.vertx.core.shareddata.Shareable;
+import java.util.Optional;
+import java.util.function.Function;
+
+/**
+ * Streaming Repository Connectors deployed in a Vert.x instance, by event bus address. Connector
+ * verticles register a factory instead of an instance, so each Server verticle creates its own
+ * connector and the body is read on the event loop of the response it is written to.
+ */
+public final class RepositoryStreams {
+
+  private static final String MAP_NAME = "knotx.repository.streams";
+
+  private RepositoryStreams() {
+    //Utility class
+  }
+
+  public static void register(Vertx vertx, String address,
+      Function<Vertx, StreamingRepositoryConnector> factory) {
+    streams(vertx).put(address, new Factory(factory));
+  }
+
+  public static void unregister(Vertx vertx, String address) {
+    streams(vertx).remove(address);
+  }
+
+  /**
+   * @return new connector for the address, empty when no streaming connector is registered at
+   * the address in this Vert.x instance
+   */
+  public static Optional<StreamingRepositoryConnector> create(Vertx vertx, String address) {
+    return Optional.ofNullable(streams(vertx).get(address))
+        .map(factory -> factory.create.apply(vertx));
+  }
+
+  private static LocalMap<String, Factory> streams(Vertx vertx) {
+    return vertx.sharedData().getLocalMap(MAP_NAME);
+  }
+
+  private static class Factory implements Shareable {
+
+    private final Function<Vertx, StreamingRepositoryConnector> create;
+
+    private Factory(Function<Vertx, StreamingRepositoryConnector> create) {
+      this.create = create;
+    }
+  }
+}
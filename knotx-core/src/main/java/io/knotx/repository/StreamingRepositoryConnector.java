@@ -0,0 +1,42 @@
+/*
+ * Copyright (C) 2016 Cognifide Limited
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.knotx.repository;
+
+import io.knotx.dataobjects.ClientRequest;
+import io.vertx.core.AsyncResult;
+import io.vertx.core.Handler;
+
+/**
+ * Repository Connector able to hand the response body over as a stream, so that responses not
+ * processed by Knots are sent to the client without being buffered as a whole.
+ */
+@FunctionalInterface
+public interface StreamingRepositoryConnector {
+
+  /**
+   * Requests the resource. The body of a successful response does not flow until the caller sets
+   * its handlers and resumes it. The caller reads, discards or closes the body of every stream it
+   * gets.
+   *
+   * @param request request to the repository
+   * @param deadline deadline of the request, see {@link io.knotx.proxy.Deadlines}
+   * @param result handler of the response, an error is reported as a response status code and a
+   * call that did not get the response before the deadline fails with {@link
+   * io.knotx.proxy.Deadlines#exceeded()}
+   */
+  void stream(ClientRequest request, long deadline,
+      Handler<AsyncResult<RepositoryStream>> result);
+}
@@ -0,0 +1,81 @@
+/*
+ * Copyright (C) 2016 Cognifide Limited
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.knotx.util;
+
+import io.netty.buffer.ByteBuf;
+import io.netty.buffer.ByteBufUtil;
+import io.netty.buffer.Unpooled;
+import io.vertx.core.buffer.Buffer;
+import java.util.List;
+
+/**
+ * Encodes character sequences as UTF-8 straight into {@link Buffer}s, without the intermediate
+ * {@code String} and {@code byte[]} copies made by {@link Buffer#buffer(String)}.
+ */
+public final class Utf8Buffers {
+
+  private Utf8Buffers() {
+    //Util class
+  }
+
+  /**
+   * Counts bytes of the UTF-8 form of a character sequence. Unpaired surrogates count as one byte,
+   * as they are encoded as {@code '?'}.
+   *
+   * @param value - character sequence to measure
+   * @return - number of bytes of the UTF-8 encoded value
+   */
+  public static int utf8Length(CharSequence value) {
+    int length = 0;
+    int size = value.length();
+    for (int i = 0; i < size; i++) {
+      char c = value.charAt(i);
+      if (c < 0x80) {
+        length++;
+      } else if (c < 0x800) {
+        length += 2;
+      } else if (Character.isHighSurrogate(c) && i + 1 < size
+          && Character.isLowSurrogate(value.charAt(i + 1))) {
+        length += 4;
+        i++;
+      } else if (Character.isSurrogate(c)) {
+        length++;
+      } else {
+        length += 3;
+      }
+    }
+    return length;
+  }
+
+  /**
+   * Encodes all parts, in order, into one buffer allocated up front with the total UTF-8 length of
+   * the parts.
+   *
+   * @param parts - character sequences to encode
+   * @return - buffer with the UTF-8 encoded parts
+   */
+  public static Buffer encode(List<? extends CharSequence> parts) {
+    int length = 0;
+    for (CharSequence part : parts) {
+      length += utf8Length(part);
+    }
+    ByteBuf byteBuf = Unpooled.buffer(length);
+    for (CharSequence part : parts) {
+      ByteBufUtil.writeUtf8(byteBuf, part);
+    }
+    return Buffer.buffer(byteBuf);
+  }
+}
@@ -0,0 +1,133 @@
+/*
+ * Copyright (C) 2016 Cognifide Limited
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.knotx.codec;
+
+import io.knotx.dataobjects.ClientRequest;
+import io.knotx.dataobjects.ClientResponse;
+import io.knotx.dataobjects.Fragment;
+import io.knotx.dataobjects.KnotContext;
+import io.vertx.core.buffer.Buffer;
+import io.vertx.core.http.HttpMethod;
+import io.vertx.core.json.JsonObject;
+import io.vertx.rxjava.core.MultiMap;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import org.apache.commons.lang3.StringUtils;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+/**
+ * Cost of sending a {@link KnotContext} through one event bus hop. The {@code wire} benchmarks
+ * encode and decode the message as in clustered mode, the {@code local} ones copy it the way local
+ * delivery does and {@code localHandOff} passes it with the {@link LocalDataObjectCodec}. Run the main method from the IDE or {@code org.openjdk.jmh.Main} with the module
+ * test classpath.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5)
+@Measurement(iterations = 10)
+@Fork(1)
+public class DataObjectCodecBenchmark {
+
+  @Param({"50", "300"})
+  private int bodySizeKb;
+
+  @Param({"20"})
+  private int snippets;
+
+  private final KnotContextCodec codec = new KnotContextCodec();
+
+  private final LocalDataObjectCodec<KnotContext> localCodec =
+      new LocalDataObjectCodec<>(KnotContext.class, codec);
+
+  private KnotContext knotContext;
+
+  @Setup
+  public void setUp() {
+    String body = StringUtils.repeat("<div class=\"row\">Lorem ipsum dolor sit amet</div>\n",
+        bodySizeKb * 1024 / 50);
+    List<Fragment> fragments = new ArrayList<>();
+    for (int i = 0; i < snippets; i++) {
+      fragments.add(Fragment.raw(body.substring(0, body.length() / snippets)));
+      Fragment snippet = Fragment.snippet(Arrays.asList("services", "handlebars"),
+          "<script data-knotx-knots=\"services,handlebars\"><h2>{{_result.message}}</h2></script>");
+      snippet.context().put("_result", new JsonObject().put("message", "snippet " + i));
+      fragments.add(snippet);
+    }
+    knotContext = new KnotContext()
+        .setClientRequest(new ClientRequest()
+            .setPath("/content/local/simple.html")
+            .setMethod(HttpMethod.GET)
+            .setHeaders(MultiMap.caseInsensitiveMultiMap()
+                .add("Accept", "text/html")
+                .add("User-Agent", "Mozilla/5.0 (X11; Linux x86_64)")
+                .add("Cookie", "session=" + StringUtils.repeat("a", 64))))
+        .setClientResponse(new ClientResponse()
+            .setStatusCode(200)
+            .setHeaders(MultiMap.caseInsensitiveMultiMap().add("Content-Type", "text/html"))
+            .setBody(Buffer.buffer(body)))
+        .setFragments(fragments);
+  }
+
+  @Benchmark
+  public KnotContext jsonWire() {
+    Buffer buffer = Buffer.buffer(knotContext.toJson().encode());
+    return new KnotContext(new JsonObject(buffer.toString()));
+  }
+
+  @Benchmark
+  public KnotContext binaryWire() {
+    Buffer buffer = Buffer.buffer();
+    codec.encodeToWire(buffer, knotContext);
+    return codec.decodeFromWire(0, buffer);
+  }
+
+  @Benchmark
+  public KnotContext jsonLocal() {
+    return new KnotContext(knotContext.toJson().copy());
+  }
+
+  @Benchmark
+  public KnotContext binaryLocal() {
+    return codec.transform(knotContext);
+  }
+
+  @Benchmark
+  public KnotContext localHandOff() {
+    return localCodec.transform(knotContext);
+  }
+
+  public static void main(String[] args) throws RunnerException {
+    new Runner(new OptionsBuilder()
+        .include(DataObjectCodecBenchmark.class.getSimpleName())
+        .build()).run();
+  }
+}
@@ -0,0 +1,190 @@
+/*
+ * Copyright (C) 2016 Cognifide Limited
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.knotx.codec;
+
+import static org.hamcrest.CoreMatchers.equalTo;
+import static org.hamcrest.CoreMatchers.not;
+import static org.hamcrest.CoreMatchers.nullValue;
+import static org.hamcrest.CoreMatchers.sameInstance;
+import static org.hamcrest.MatcherAssert.assertThat;
+
+import io.knotx.dataobjects.AdapterRequest;
+import io.knotx.dataobjects.AdapterResponse;
+import io.knotx.dataobjects.ClientRequest;
+import io.knotx.dataobjects.ClientResponse;
+import io.knotx.dataobjects.Fragment;
+import io.knotx.dataobjects.KnotContext;
+import io.knotx.fragments.SnippetTag;
+import io.vertx.core.buffer.Buffer;
+import io.vertx.core.eventbus.MessageCodec;
+import io.vertx.core.http.HttpMethod;
+import io.vertx.core.json.JsonObject;
+import io.vertx.rxjava.core.MultiMap;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import org.junit.Test;
+
+public class DataObjectCodecsTest {
+
+  @Test
+  public void whenKnotContextEncodedToWire_expectEqualKnotContextDecoded() {
+    KnotContext knotContext = knotContext().setDeadline(1484000000000L);
+
+    assertThat(wireRoundTrip(new KnotContextCodec(), knotContext), equalTo(knotContext));
+  }
+
+  @Test
+  public void whenKnotContextTransformed_expectEqualCopy() {
+    KnotContext knotContext = knotContext();
+
+    KnotContext copy = new KnotContextCodec().transform(knotContext);
+
+    assertThat(copy, equalTo(knotContext));
+    assertThat(copy.getFragments().get(0), not(sameInstance(knotContext.getFragments().get(0))));
+  }
+
+  @Test
+  public void whenEmptyKnotContextEncodedToWire_expectNullFieldsPreserved() {
+    KnotContext decoded = wireRoundTrip(new KnotContextCodec(), new KnotContext());
+
+    assertThat(decoded.getClientRequest(), nullValue());
+    assertThat(decoded.getClientResponse(), nullValue());
+    assertThat(decoded.getFragments(), nullValue());
+    assertThat(decoded.getTransition(), nullValue());
+  }
+
+  @Test
+  public void whenClientRequestWithRepeatedHeadersEncodedToWire_expectAllValuesDecoded() {
+    ClientRequest request = clientRequest();
+
+    ClientRequest decoded = wireRoundTrip(new ClientRequestCodec(), request);
+
+    assertThat(decoded, equalTo(request));
+    assertThat(decoded.getHeaders().getAll("Accept"), equalTo(Arrays.asList("text/html", "*/*")));
+  }
+
+  @Test
+  public void whenClientResponseEncodedToWire_expectEqualBodyAndHeaders() {
+    ClientResponse response = clientResponse();
+
+    assertThat(wireRoundTrip(new ClientResponseCodec(), response), equalTo(response));
+  }
+
+  @Test
+  public void whenFragmentWithEmptyContentEncodedToWire_expectEqualFragmentDecoded() {
+    Fragment fragment = Fragment.snippet(Arrays.asList("services", "handlebars"), "<p>a</p>")
+        .content("");
+    fragment.context().put("_result", new JsonObject().put("message", "zażółć"));
+
+    assertThat(wireRoundTrip(new FragmentCodec(), fragment), equalTo(fragment));
+  }
+
+  @Test
+  public void whenSnippetTagParsedBySplitter_expectItCarriedByWireAndJson() {
+    String content = "<script data-knotx-knots=\"services\" data-knotx-service=\"first\">"
+        + "{{message}}</script>";
+    Map<String, String> attributes = new LinkedHashMap<>();
+    attributes.put("data-knotx-knots", "services");
+    attributes.put("data-knotx-service", "from-splitter");
+    Fragment fragment = Fragment.snippet(Collections.singletonList("services"), content,
+        SnippetTag.of(content, "script", attributes, 63, 74));
+
+    for (Fragment decoded : Arrays.asList(wireRoundTrip(new FragmentCodec(), fragment),
+        new Fragment(new JsonObject(fragment.toJson().encode())))) {
+      assertThat(decoded.snippetTag().getName(), equalTo("script"));
+      assertThat(decoded.snippetTag().getAttributes(), equalTo(attributes));
+      assertThat(decoded.snippetTag().getBody(), equalTo("{{message}}"));
+    }
+  }
+
+  @Test
+  public void whenFragmentContentChanged_expectSnippetTagOfNewContent() {
+    Fragment fragment = Fragment.snippet(Collections.singletonList("services"),
+        "<script data-knotx-knots=\"services\">{{message}}</script>");
+    assertThat(fragment.snippetTag().getBody(), equalTo("{{message}}"));
+
+    fragment.content("<script data-knotx-knots=\"services\"><p>hello</p></script>");
+
+    assertThat(fragment.snippetTag().getBody(), equalTo("<p>hello</p>"));
+    assertThat(fragment.toJson().containsKey("_SNIPPET_TAG"), equalTo(true));
+  }
+
+  @Test
+  public void whenAdapterRequestAndResponseEncodedToWire_expectEqualObjectsDecoded() {
+    AdapterRequest request = new AdapterRequest().setRequest(clientRequest())
+        .setParams(new JsonObject().put("path", "/service/mock/first.json"))
+        .setDeadline(1484000000000L);
+    AdapterResponse response = new AdapterResponse().setResponse(clientResponse())
+        .setSignal("next");
+
+    assertThat(wireRoundTrip(new AdapterRequestCodec(), request), equalTo(request));
+    assertThat(wireRoundTrip(new AdapterResponseCodec(), response), equalTo(response));
+  }
+
+  @Test
+  public void whenMessageEncodedAtOffset_expectDecodedFromThatPosition() {
+    Buffer buffer = Buffer.buffer().appendString("header");
+    new ClientResponseCodec().encodeToWire(buffer, clientResponse());
+
+    assertThat(new ClientResponseCodec().decodeFromWire(6, buffer), equalTo(clientResponse()));
+  }
+
+  @Test(expected = IllegalStateException.class)
+  public void whenUnknownFormatVersion_expectIllegalStateException() {
+    Buffer buffer = Buffer.buffer();
+    new FragmentCodec().encodeToWire(buffer, Fragment.raw("<p>a</p>"));
+    buffer.setByte(0, (byte) 99);
+
+    new FragmentCodec().decodeFromWire(0, buffer);
+  }
+
+  private <T> T wireRoundTrip(MessageCodec<T, T> codec, T value) {
+    Buffer buffer = Buffer.buffer();
+    codec.encodeToWire(buffer, value);
+    return codec.decodeFromWire(0, buffer);
+  }
+
+  private KnotContext knotContext() {
+    Fragment snippet = Fragment.snippet(Arrays.asList("services", "handlebars"),
+        "<script data-knotx-knots=\"services,handlebars\">{{message}}</script>");
+    snippet.context().put("_result", new JsonObject().put("message", "hello"));
+    return new KnotContext()
+        .setTransition("next")
+        .setClientRequest(clientRequest())
+        .setClientResponse(clientResponse())
+        .setFragments(Arrays.asList(Fragment.raw("<html><body>"), snippet,
+            Fragment.raw("</body></html>")));
+  }
+
+  private ClientRequest clientRequest() {
+    return new ClientRequest()
+        .setPath("/content/local/simple.html")
+        .setMethod(HttpMethod.POST)
+        .setHeaders(MultiMap.caseInsensitiveMultiMap().add("Accept", "text/html")
+            .add("Accept", "*/*").add("Cookie", "session=1"))
+        .setParams(MultiMap.caseInsensitiveMultiMap().add("q", "knot.x"))
+        .setFormAttributes(MultiMap.caseInsensitiveMultiMap().add("name", "żółw"));
+  }
+
+  private ClientResponse clientResponse() {
+    return new ClientResponse()
+        .setStatusCode(200)
+        .setHeaders(MultiMap.caseInsensitiveMultiMap().add("Content-Type", "text/html"))
+        .setBody(Buffer.buffer("<html><body>zażółć gęślą jaźń</body></html>"));
+  }
+}
@@ -0,0 +1,93 @@
+/*
+ * Copyright (C) 2016 Cognifide Limited
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.knotx.fragments;
+
+import java.util.concurrent.TimeUnit;
+import org.apache.commons.lang3.StringUtils;
+import org.jsoup.Jsoup;
+import org.jsoup.nodes.Element;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+/**
+ * Cost of reading the attributes and the body of a snippet tag per fragment, the way the Service,
+ * Handlebars and Action Knots do it: with {@link SnippetTag} versus a Jsoup body fragment
+ * document. Run the main method from the IDE or {@code org.openjdk.jmh.Main} with the module test
+ * classpath.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5)
+@Measurement(iterations = 10)
+@Fork(1)
+public class SnippetTagBenchmark {
+
+  @Param({"10", "200"})
+  private int bodyLines;
+
+  private String snippet;
+
+  @Setup
+  public void setUp() {
+    snippet = "<script data-knotx-knots=\"services,handlebars\" "
+        + "data-knotx-service=\"first-service\" "
+        + "data-knotx-service-second=\"second-service\" "
+        + "data-knotx-params-second='{\"path\":\"/service/second.json\"}' "
+        + "type=\"text/knotx-snippet\">"
+        + StringUtils.repeat("<div class=\"row\"><h2>{{_result.message}}</h2></div>\n", bodyLines)
+        + "</script>";
+  }
+
+  @Benchmark
+  public void snippetTag(Blackhole blackhole) {
+    SnippetTag tag = SnippetTag.parse(snippet);
+    for (int i = 0; i < tag.size(); i++) {
+      blackhole.consume(tag.getAttributeName(i));
+      blackhole.consume(tag.getAttributeValue(i));
+    }
+    blackhole.consume(tag.getBody());
+  }
+
+  @Benchmark
+  public void jsoup(Blackhole blackhole) {
+    Element scriptTag = Jsoup.parseBodyFragment(snippet).body().child(0);
+    scriptTag.attributes().forEach(attribute -> {
+      blackhole.consume(attribute.getKey());
+      blackhole.consume(attribute.getValue());
+    });
+    blackhole.consume(scriptTag.unwrap().toString());
+  }
+
+  public static void main(String[] args) throws RunnerException {
+    new Runner(new OptionsBuilder()
+        .include(SnippetTagBenchmark.class.getSimpleName())
+        .build()).run();
+  }
+}
@@ -0,0 +1,95 @@
+/*
+ * Copyright (C) 2016 Cognifide Limited
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.knotx.fragments;
+
+import static org.hamcrest.CoreMatchers.equalTo;
+import static org.hamcrest.CoreMatchers.nullValue;
+import static org.hamcrest.MatcherAssert.assertThat;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import org.jsoup.Jsoup;
+import org.jsoup.nodes.Element;
+import org.junit.Test;
+
+public class SnippetTagTest {
+
+  private static final String SNIPPET = "<script data-knotx-knots=\"services,handlebars\"\n"
+      + "        data-knotx-service=\"first-service\"\n"
+      + "        data-knotx-params-second='{\"path\":\"/service/second.json\"}'\n"
+      + "        type=\"text/knotx-snippet\">\n"
+      + "  <h2>{{message}}</h2>\n"
+      + "  <div>{{body.a}}</div>\n"
+      + "</script>";
+
+  @Test
+  public void whenSnippetParsed_expectSameAttributesAndBodyAsJsoup() {
+    assertSameAsJsoup(SNIPPET);
+  }
+
+  @Test
+  public void whenAttributesUnquotedEscapedOrWithoutValue_expectSameAttributesAsJsoup() {
+    assertSameAsJsoup("<SCRIPT Data-Knotx-Knots=services async type=text/knotx-snippet "
+        + "data-knotx-params=\"{&quot;path&quot;:&quot;/a?b=1&amp;c=2&quot;}\" "
+        + "data-knotx-knots=\"ignored\"><p>{{a}}</p></SCRIPT>");
+  }
+
+  @Test
+  public void whenBodyContainsClosingTagName_expectBodyUpToLastClosingTag() {
+    SnippetTag tag = SnippetTag.parse(
+        "<script data-knotx-knots=\"x\"><p>a > b</p><script-like></script-like></script>");
+
+    assertThat(tag.getBody(), equalTo("<p>a > b</p><script-like></script-like>"));
+  }
+
+  @Test
+  public void whenAttributeValueContainsTagEnd_expectItInValue() {
+    SnippetTag tag = SnippetTag.parse("<script data-knotx-params='{\"a\":\"<b>\"}'>x</script>");
+
+    assertThat(tag.getAttribute("data-knotx-params"), equalTo("{\"a\":\"<b>\"}"));
+    assertThat(tag.getBody(), equalTo("x"));
+  }
+
+  @Test
+  public void whenNoClosingTag_expectBodyUpToSnippetEnd() {
+    SnippetTag tag = SnippetTag.parse("<script data-knotx-knots=\"x\"><p>body</p>");
+
+    assertThat(tag.getBodyEnd(), equalTo(tag.getBodyStart() + "<p>body</p>".length()));
+    assertThat(tag.getAttribute("missing"), nullValue());
+  }
+
+  @Test(expected = IllegalArgumentException.class)
+  public void whenSnippetDoesNotStartWithTag_expectIllegalArgumentException() {
+    SnippetTag.parse("text <script></script>");
+  }
+
+  @Test(expected = IllegalArgumentException.class)
+  public void whenOpeningTagUnterminated_expectIllegalArgumentException() {
+    SnippetTag.parse("<script data-knotx-knots=\"x\"");
+  }
+
+  private void assertSameAsJsoup(String snippet) {
+    Element element = Jsoup.parseBodyFragment(snippet).body().child(0);
+    Map<String, String> expected = new LinkedHashMap<>();
+    element.attributes().forEach(attribute -> expected.put(attribute.getKey(), attribute.getValue()));
+
+    SnippetTag tag = SnippetTag.parse(snippet);
+
+    assertThat(tag.getName(), equalTo(element.tagName()));
+    assertThat(tag.getAttributes(), equalTo(expected));
+    assertThat(tag.getBody(), equalTo(element.unwrap().toString()));
+  }
+}
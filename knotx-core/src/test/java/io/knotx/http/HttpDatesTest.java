@@ -0,0 +1,41 @@
+/*
+ * Copyright (C) 2016 Cognifide Limited
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.knotx.http;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+
+import java.util.Optional;
+import org.junit.Test;
+
+public class HttpDatesTest {
+
+  @Test
+  public void format_whenEpochMillis_expectHttpDateWithTwoDigitDay() {
+    assertEquals("Sun, 06 Nov 1994 08:49:37 GMT", HttpDates.format(784111777000L));
+  }
+
+  @Test
+  public void parse_whenHttpDate_expectEpochMillis() {
+    assertEquals(Optional.of(784111777000L), HttpDates.parse("Sun, 06 Nov 1994 08:49:37 GMT"));
+  }
+
+  @Test
+  public void parse_whenInvalidDate_expectEmpty() {
+    assertFalse(HttpDates.parse("yesterday").isPresent());
+    assertFalse(HttpDates.parse(null).isPresent());
+  }
+}
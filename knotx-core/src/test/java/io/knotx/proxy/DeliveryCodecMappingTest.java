@@ -0,0 +1,42 @@
+/*
+ * Copyright (C) 2016 Cognifide Limited
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.knotx.proxy;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.core.IsEqual.equalTo;
+
+import io.vertx.core.json.JsonObject;
+import org.junit.Test;
+
+public class DeliveryCodecMappingTest {
+
+  @Test
+  public void whenNoCodecConfigured_expectJson() {
+    DeliveryCodecMapping mapping = new DeliveryCodecMapping(new JsonObject());
+
+    assertThat(mapping.forAddress("knotx.knot.service"), equalTo(DeliveryCodec.JSON));
+  }
+
+  @Test
+  public void whenAddressOverridden_expectOverrideOnlyForThatAddress() {
+    DeliveryCodecMapping mapping = new DeliveryCodecMapping(new JsonObject()
+        .put("deliveryCodec", "binary")
+        .put("deliveryCodecs", new JsonObject().put("knotx.knot.handlebars", "LOCAL")));
+
+    assertThat(mapping.forAddress("knotx.knot.handlebars"), equalTo(DeliveryCodec.LOCAL));
+    assertThat(mapping.forAddress("knotx.knot.service"), equalTo(DeliveryCodec.BINARY));
+  }
+}
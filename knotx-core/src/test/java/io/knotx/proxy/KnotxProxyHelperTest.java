@@ -0,0 +1,104 @@
+/*
+ * Copyright (C) 2016 Cognifide Limited
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.knotx.proxy;
+
+import io.knotx.dataobjects.KnotContext;
+import io.vertx.core.Future;
+import io.vertx.ext.unit.Async;
+import io.vertx.ext.unit.TestContext;
+import io.vertx.ext.unit.junit.RunTestOnContext;
+import io.vertx.ext.unit.junit.VertxUnitRunner;
+import io.vertx.serviceproxy.ServiceException;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+
+@RunWith(VertxUnitRunner.class)
+public class KnotxProxyHelperTest {
+
+  private static final String ADDRESS = "knotx.test.knot";
+
+  @Rule
+  public RunTestOnContext vertx = new RunTestOnContext();
+
+  @Before
+  public void setUp() {
+    KnotProxy knot = (knotContext, result) -> {
+      if ("fail".equals(knotContext.getTransition())) {
+        result.handle(Future.failedFuture("Knot failed"));
+      } else {
+        result.handle(Future.succeededFuture(knotContext.setTransition("processed")));
+      }
+    };
+    KnotxProxyHelper.registerService(vertx.vertx(), knot, ADDRESS);
+  }
+
+  @Test
+  public void whenBinaryProxyCalled_expectProcessedKnotContext(TestContext context) {
+    callAndExpectProcessed(context, DeliveryCodec.BINARY);
+  }
+
+  @Test
+  public void whenJsonProxyCalled_expectProcessedKnotContext(TestContext context) {
+    callAndExpectProcessed(context, DeliveryCodec.JSON);
+  }
+
+  @Test
+  public void whenLocalProxyCalled_expectSameKnotContextHandedBack(TestContext context) {
+    Async async = context.async();
+    KnotContext knotContext = new KnotContext();
+    DeliveryCodec.LOCAL.knotProxy(vertx.vertx(), ADDRESS).process(knotContext, result -> {
+      context.assertTrue(result.succeeded());
+      context.assertTrue(knotContext == result.result());
+      context.assertEquals("processed", knotContext.getTransition());
+      async.complete();
+    });
+  }
+
+  @Test
+  public void whenBinaryProxyCalled_expectKnotContextCopy(TestContext context) {
+    Async async = context.async();
+    KnotContext knotContext = new KnotContext();
+    DeliveryCodec.BINARY.knotProxy(vertx.vertx(), ADDRESS).process(knotContext, result -> {
+      context.assertTrue(result.succeeded());
+      context.assertFalse(knotContext == result.result());
+      context.assertNull(knotContext.getTransition());
+      async.complete();
+    });
+  }
+
+  @Test
+  public void whenBinaryProxyCalledAndServiceFails_expectServiceException(TestContext context) {
+    Async async = context.async();
+    DeliveryCodec.BINARY.knotProxy(vertx.vertx(), ADDRESS)
+        .process(new KnotContext().setTransition("fail"), result -> {
+          context.assertTrue(result.failed());
+          context.assertTrue(result.cause() instanceof ServiceException);
+          context.assertEquals("Knot failed", result.cause().getMessage());
+          async.complete();
+        });
+  }
+
+  private void callAndExpectProcessed(TestContext context, DeliveryCodec codec) {
+    Async async = context.async();
+    codec.knotProxy(vertx.vertx(), ADDRESS).process(new KnotContext(), result -> {
+      context.assertTrue(result.succeeded());
+      context.assertEquals("processed", result.result().getTransition());
+      async.complete();
+    });
+  }
+}
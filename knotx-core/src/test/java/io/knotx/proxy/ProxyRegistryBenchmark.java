@@ -0,0 +1,103 @@
+/*
+ * Copyright (C) 2016 Cognifide Limited
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.knotx.proxy;
+
+import io.knotx.dataobjects.KnotContext;
+import io.vertx.core.Future;
+import io.vertx.core.Vertx;
+import io.vertx.core.json.JsonObject;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+/**
+ * Cost of one Knot call when the proxy is created for every request, the way the handlers did it
+ * before, compared to the proxy taken from the {@link ProxyRegistry}. Run with {@code -prof gc}
+ * to see the allocation per call.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5)
+@Measurement(iterations = 10)
+@Fork(1)
+public class ProxyRegistryBenchmark {
+
+  private static final String ADDRESS = "knotx.benchmark.knot";
+
+  @Param({"JSON", "BINARY"})
+  private String codec;
+
+  private Vertx vertx;
+
+  private DeliveryCodecMapping mapping;
+
+  private ProxyRegistry registry;
+
+  private KnotContext knotContext;
+
+  @Setup
+  public void setUp() {
+    vertx = Vertx.vertx();
+    KnotxProxyHelper.registerService(vertx,
+        (KnotProxy) (ctx, result) -> result.handle(Future.succeededFuture(ctx)), ADDRESS);
+    mapping = new DeliveryCodecMapping(new JsonObject().put("deliveryCodec", codec));
+    registry = new ProxyRegistry(io.vertx.rxjava.core.Vertx.newInstance(vertx), mapping);
+    knotContext = new KnotContext().setTransition("next");
+  }
+
+  @TearDown
+  public void tearDown() {
+    vertx.close();
+  }
+
+  @Benchmark
+  public KnotContext proxyPerCall() {
+    return call(io.knotx.rxjava.proxy.KnotProxy.newInstance(
+        mapping.forAddress(ADDRESS).knotProxy(vertx, ADDRESS)));
+  }
+
+  @Benchmark
+  public KnotContext registryProxy() {
+    return call(registry.knotProxy(ADDRESS));
+  }
+
+  private KnotContext call(io.knotx.rxjava.proxy.KnotProxy knot) {
+    CompletableFuture<KnotContext> result = new CompletableFuture<>();
+    knot.processObservable(knotContext).subscribe(result::complete, result::completeExceptionally);
+    return result.join();
+  }
+
+  public static void main(String[] args) throws RunnerException {
+    new Runner(new OptionsBuilder()
+        .include(ProxyRegistryBenchmark.class.getSimpleName())
+        .build()).run();
+  }
+}
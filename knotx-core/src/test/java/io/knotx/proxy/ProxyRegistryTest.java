@@ -0,0 +1,103 @@
+/*
+ * Copyright (C) 2016 Cognifide Limited
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.knotx.proxy;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.core.IsEqual.equalTo;
+import static org.hamcrest.core.IsNot.not;
+import static org.hamcrest.core.IsSame.sameInstance;
+
+import io.knotx.rxjava.proxy.KnotProxy;
+import io.vertx.core.json.JsonObject;
+import io.vertx.ext.unit.Async;
+import io.vertx.ext.unit.TestContext;
+import io.vertx.ext.unit.junit.RunTestOnContext;
+import io.vertx.ext.unit.junit.VertxUnitRunner;
+import io.vertx.rxjava.core.Vertx;
+import java.util.concurrent.atomic.AtomicBoolean;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import rx.Observable;
+
+@RunWith(VertxUnitRunner.class)
+public class ProxyRegistryTest {
+
+  @Rule
+  public RunTestOnContext vertx = new RunTestOnContext();
+
+  @Test
+  public void knotProxy_whenSameAddressRequested_expectSameProxy() {
+    ProxyRegistry registry = registry(new JsonObject());
+
+    KnotProxy first = registry.knotProxy("knotx.knot.service");
+
+    assertThat(registry.knotProxy("knotx.knot.service"), sameInstance(first));
+    assertThat(registry.knotProxy("knotx.knot.handlebars"), not(sameInstance(first)));
+  }
+
+  @Test
+  public void optionsForAddress_whenAddressOverridden_expectMergedOptions() {
+    DeliveryCodecMapping mapping = new DeliveryCodecMapping(new JsonObject()
+        .put("deliveryOptions", new JsonObject()
+            .put("sendTimeout", 10000)
+            .put("headers", new JsonObject().put("X-Knotx", "server"))
+            .put("addresses", new JsonObject()
+                .put("knotx.adapter.service.http", new JsonObject().put("sendTimeout", 3000)))));
+
+    assertThat(mapping.optionsForAddress("knotx.adapter.service.http").getSendTimeout(),
+        equalTo(3000L));
+    assertThat(mapping.optionsForAddress("knotx.adapter.service.http").getHeaders().get("X-Knotx"),
+        equalTo("server"));
+    assertThat(mapping.optionsForAddress("knotx.knot.service").getSendTimeout(), equalTo(10000L));
+  }
+
+  @Test
+  public void withinDeadline_whenDeadlinePassed_expectTimeoutWithoutCall(TestContext context) {
+    Async async = context.async();
+    ProxyRegistry registry = registry(new JsonObject());
+    AtomicBoolean called = new AtomicBoolean();
+
+    Observable.fromCallable(() -> called.getAndSet(true))
+        .compose(registry.withinDeadline(System.currentTimeMillis() - 1))
+        .subscribe(
+            result -> context.fail("Call made after the deadline"),
+            error -> {
+              context.assertTrue(Deadlines.isTimeout(error));
+              context.assertFalse(called.get());
+              async.complete();
+            });
+  }
+
+  @Test
+  public void withinDeadline_whenNoReplyInBudget_expectTimeout(TestContext context) {
+    Async async = context.async();
+    ProxyRegistry registry = registry(new JsonObject());
+
+    Observable.never()
+        .compose(registry.withinDeadline(Deadlines.after(50)))
+        .subscribe(
+            result -> context.fail("Unexpected reply"),
+            error -> {
+              context.assertTrue(Deadlines.isTimeout(error));
+              async.complete();
+            });
+  }
+
+  private ProxyRegistry registry(JsonObject config) {
+    return new ProxyRegistry(Vertx.newInstance(vertx.vertx()), new DeliveryCodecMapping(config));
+  }
+}
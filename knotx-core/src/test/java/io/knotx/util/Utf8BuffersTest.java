@@ -0,0 +1,52 @@
+/*
+ * Copyright (C) 2016 Cognifide Limited
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.knotx.util;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.core.IsEqual.equalTo;
+
+import io.vertx.core.buffer.Buffer;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import org.junit.Test;
+
+public class Utf8BuffersTest {
+
+  private static final String ASCII = "<p>Hello</p>";
+
+  private static final String NON_ASCII = "<p>Zażółć gęślą jaźń – €</p>";
+
+  private static final String SUPPLEMENTARY = "<p>😀 smile</p>";
+
+  private static final String UNPAIRED_SURROGATES = "a\uD83Db\uDE00c\uD83D";
+
+  @Test
+  public void whenTextMeasured_expectLengthOfJavaUtf8Encoding() {
+    for (String value : Arrays.asList("", ASCII, NON_ASCII, SUPPLEMENTARY, UNPAIRED_SURROGATES)) {
+      assertThat(value, Utf8Buffers.utf8Length(value),
+          equalTo(value.getBytes(StandardCharsets.UTF_8).length));
+    }
+  }
+
+  @Test
+  public void whenPartsEncoded_expectBytesOfJoinedText() {
+    Buffer buffer = Utf8Buffers.encode(Arrays.asList(ASCII, NON_ASCII, "", SUPPLEMENTARY));
+
+    String joined = ASCII + NON_ASCII + SUPPLEMENTARY;
+    assertThat(buffer.length(), equalTo(joined.getBytes(StandardCharsets.UTF_8).length));
+    assertThat(buffer.toString(StandardCharsets.UTF_8.name()), equalTo(joined));
+  }
+}
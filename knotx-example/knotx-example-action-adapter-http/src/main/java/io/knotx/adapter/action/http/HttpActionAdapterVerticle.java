@@ -18,15 +18,13 @@ package io.knotx.adapter.action.http;
 
 import io.knotx.adapter.action.http.impl.HttpActionAdapterProxyImpl;
 import io.knotx.adapter.common.http.HttpAdapterConfiguration;
-import io.knotx.proxy.AdapterProxy;
+import io.knotx.proxy.KnotxProxyHelper;
 import io.vertx.core.AbstractVerticle;
 import io.vertx.core.Context;
 import io.vertx.core.Vertx;
 import io.vertx.core.eventbus.MessageConsumer;
-import io.vertx.core.json.JsonObject;
 import io.vertx.core.logging.Logger;
 import io.vertx.core.logging.LoggerFactory;
-import io.vertx.serviceproxy.ProxyHelper;
 
 public class HttpActionAdapterVerticle extends AbstractVerticle {
 
@@ -34,7 +32,7 @@ public class HttpActionAdapterVerticle extends AbstractVerticle {
 
   private HttpAdapterConfiguration configuration;
 
-  private MessageConsumer<JsonObject> consumer;
+  private MessageConsumer<Object> consumer;
 
   @Override
   public void init(Vertx vertx, Context context) {
@@ -47,15 +45,15 @@ public class HttpActionAdapterVerticle extends AbstractVerticle {
     LOGGER.info("Starting <{}>", this.getClass().getSimpleName());
 
     //register the service proxy on event bus
-    consumer = ProxyHelper
-        .registerService(AdapterProxy.class, vertx,
+    consumer = KnotxProxyHelper
+        .registerService(vertx,
             new HttpActionAdapterProxyImpl(new io.vertx.rxjava.core.Vertx(vertx), configuration),
             configuration.getAddress());
   }
 
   @Override
   public void stop() throws Exception {
-    ProxyHelper.unregisterService(consumer);
+    KnotxProxyHelper.unregisterService(consumer);
   }
 
 }
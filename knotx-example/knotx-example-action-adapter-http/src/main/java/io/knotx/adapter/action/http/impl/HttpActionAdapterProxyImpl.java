@@ -18,16 +18,15 @@ package io.knotx.adapter.action.http.impl;
 import io.knotx.adapter.AbstractAdapterProxy;
 import io.knotx.adapter.common.http.HttpAdapterConfiguration;
 import io.knotx.adapter.common.http.HttpClientFacade;
+import io.knotx.adapter.common.http.ServiceHttpClients;
 import io.knotx.dataobjects.AdapterRequest;
 import io.knotx.dataobjects.AdapterResponse;
 import io.knotx.dataobjects.ClientResponse;
 import io.netty.handler.codec.http.HttpResponseStatus;
 import io.vertx.core.buffer.Buffer;
-import io.vertx.core.http.HttpClientOptions;
 import io.vertx.core.http.HttpMethod;
 import io.vertx.core.json.JsonObject;
 import io.vertx.rxjava.core.Vertx;
-import io.vertx.rxjava.core.http.HttpClient;
 import rx.Observable;
 
 public class HttpActionAdapterProxyImpl extends AbstractAdapterProxy {
@@ -35,7 +34,8 @@ public class HttpActionAdapterProxyImpl extends AbstractAdapterProxy {
   private HttpClientFacade httpClientFacade;
 
   public HttpActionAdapterProxyImpl(Vertx vertx, HttpAdapterConfiguration configuration) {
-    this.httpClientFacade = new HttpClientFacade(getHttpClient(vertx, configuration),
+    this.httpClientFacade = new HttpClientFacade(new ServiceHttpClients(vertx,
+        configuration.getClientOptions(), configuration.getServices()),
         configuration.getServices());
   }
 
@@ -44,12 +44,6 @@ public class HttpActionAdapterProxyImpl extends AbstractAdapterProxy {
     return httpClientFacade.process(request, HttpMethod.POST).map(this::prepareResponse);
   }
 
-  private HttpClient getHttpClient(Vertx vertx, HttpAdapterConfiguration configuration) {
-    JsonObject clientOptions = configuration.getClientOptions();
-    return clientOptions.isEmpty() ?
-        vertx.createHttpClient() : vertx.createHttpClient(new HttpClientOptions(clientOptions));
-  }
-
   private AdapterResponse prepareResponse(ClientResponse response) {
     AdapterResponse result = new AdapterResponse();
 
@@ -17,6 +17,7 @@ package io.knotx.knot.action;
 
 import io.knotx.http.StringToPatternFunction;
 import com.google.common.base.MoreObjects;
+import io.knotx.proxy.DeliveryCodecMapping;
 import io.vertx.core.json.JsonArray;
 import io.vertx.core.json.JsonObject;
 import java.util.List;
@@ -34,9 +35,12 @@ public class ActionKnotConfiguration {
 
   private final String formIdentifierName;
 
+  private final DeliveryCodecMapping deliveryCodecs;
+
   public ActionKnotConfiguration(JsonObject config) {
     this.address = config.getString("address");
     this.formIdentifierName = config.getString("formIdentifierName");
+    this.deliveryCodecs = new DeliveryCodecMapping(config);
     this.adapterMetadataList = config.getJsonArray("adapters").stream()
         .map(item -> (JsonObject) item)
         .map(item -> {
@@ -70,6 +74,10 @@ public class ActionKnotConfiguration {
     return address;
   }
 
+  public DeliveryCodecMapping deliveryCodecs() {
+    return deliveryCodecs;
+  }
+
   public static class AdapterMetadata {
 
     private String name;
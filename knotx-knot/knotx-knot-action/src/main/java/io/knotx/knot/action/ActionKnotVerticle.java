@@ -16,15 +16,13 @@
 package io.knotx.knot.action;
 
 import io.knotx.knot.action.impl.ActionKnotProxyImpl;
-import io.knotx.proxy.KnotProxy;
+import io.knotx.proxy.KnotxProxyHelper;
 import io.vertx.core.AbstractVerticle;
 import io.vertx.core.Context;
 import io.vertx.core.Vertx;
 import io.vertx.core.eventbus.MessageConsumer;
-import io.vertx.core.json.JsonObject;
 import io.vertx.core.logging.Logger;
 import io.vertx.core.logging.LoggerFactory;
-import io.vertx.serviceproxy.ProxyHelper;
 
 public class ActionKnotVerticle extends AbstractVerticle {
 
@@ -32,7 +30,7 @@ public class ActionKnotVerticle extends AbstractVerticle {
 
   private ActionKnotConfiguration configuration;
 
-  private MessageConsumer<JsonObject> consumer;
+  private MessageConsumer<Object> consumer;
 
   @Override
   public void init(Vertx vertx, Context context) {
@@ -45,15 +43,15 @@ public class ActionKnotVerticle extends AbstractVerticle {
     LOGGER.info("Starting <{}>", this.getClass().getSimpleName());
 
     //register the service proxy on event bus
-    consumer = ProxyHelper
-        .registerService(KnotProxy.class, vertx,
+    consumer = KnotxProxyHelper
+        .registerService(vertx,
             new ActionKnotProxyImpl(new io.vertx.rxjava.core.Vertx(vertx), configuration),
             configuration.address());
   }
 
   @Override
   public void stop() throws Exception {
-    ProxyHelper.unregisterService(consumer);
+    KnotxProxyHelper.unregisterService(consumer);
   }
 
 }
@@ -20,12 +20,15 @@ import io.knotx.dataobjects.ClientRequest;
 import io.knotx.dataobjects.ClientResponse;
 import io.knotx.dataobjects.Fragment;
 import io.knotx.dataobjects.KnotContext;
+import io.knotx.fragments.SnippetTag;
 import io.knotx.http.AllowedHeadersFilter;
 import io.knotx.http.MultiMapCollector;
 import io.knotx.knot.action.ActionKnotConfiguration;
 import io.knotx.knot.action.ActionKnotVerticle;
 import io.knotx.knot.action.FormConfigurationException;
+import io.knotx.proxy.Deadlines;
 import io.knotx.proxy.KnotProxy;
+import io.knotx.proxy.ProxyRegistry;
 import io.knotx.rxjava.proxy.AdapterProxy;
 import io.netty.handler.codec.http.HttpResponseStatus;
 import io.vertx.core.AsyncResult;
@@ -67,18 +70,24 @@ public class ActionKnotProxyImpl implements KnotProxy {
   private static final String ACTION_FORM_ATTRIBUTES_PATTERN = "data-knotx-.*";
   private static final String ACTION_FORM_ACTION_ATTRIBUTE = "data-knotx-action";
 
-  private final Vertx vertx;
   private final ActionKnotConfiguration configuration;
+  private final ProxyRegistry proxies;
 
   public ActionKnotProxyImpl(Vertx vertx, ActionKnotConfiguration configuration) {
-    this.vertx = vertx;
     this.configuration = configuration;
+    this.proxies = new ProxyRegistry(vertx, configuration.deliveryCodecs());
   }
 
   @Override
   public void process(KnotContext knotContext, Handler<AsyncResult<KnotContext>> result) {
     try {
-      if (HttpMethod.POST.equals(knotContext.getClientRequest().getMethod())) {
+      if (Deadlines.hasPassed(knotContext.getDeadline())) {
+        LOGGER.warn("Request {} reached the Knot after its deadline, skipping",
+            knotContext.getClientRequest());
+        knotContext.clearFragments().getClientResponse()
+            .setStatusCode(HttpResponseStatus.GATEWAY_TIMEOUT.code());
+        result.handle(Future.succeededFuture(knotContext));
+      } else if (HttpMethod.POST.equals(knotContext.getClientRequest().getMethod())) {
         handleFormAction(knotContext, result);
       } else {
         handleGetMethod(knotContext, result);
@@ -142,8 +151,9 @@ public class ActionKnotProxyImpl implements KnotProxy {
           return new NoSuchElementException("Action adapter not found!");
         });
 
-    AdapterProxy adapter = AdapterProxy.createProxy(vertx, adapterMetadata.getAddress());
+    AdapterProxy adapter = proxies.adapterProxy(adapterMetadata.getAddress());
     adapter.processObservable(prepareRequest(knotContext, adapterMetadata))
+        .compose(proxies.withinDeadline(knotContext.getDeadline()))
         .subscribe(
             adapterResp -> {
               final ClientResponse clientResponse = adapterResp.getResponse();
@@ -225,7 +235,8 @@ public class ActionKnotProxyImpl implements KnotProxy {
         .setHeaders(getFilteredHeaders(knotContext.getClientRequest().getHeaders(),
             metadata.getAllowedRequestHeaders()));
 
-    return new AdapterRequest().setRequest(request).setParams(new JsonObject(metadata.getParams()));
+    return new AdapterRequest().setRequest(request).setParams(new JsonObject(metadata.getParams()))
+        .setDeadline(knotContext.getDeadline());
   }
 
   private boolean shouldRedirect(String signal) {
@@ -288,16 +299,18 @@ public class ActionKnotProxyImpl implements KnotProxy {
   }
 
   private String getFragmentContent(Fragment fragment, Document scriptContentDocument) {
-    Document resultDocument = Jsoup.parse(fragment.content(), "UTF-8", Parser.xmlParser());
-    Element scriptTag = resultDocument.child(0).empty();
+    SnippetTag snippetTag = fragment.snippetTag();
+    Document resultDocument = new Document("");
+    resultDocument.outputSettings().syntax(Document.OutputSettings.Syntax.xml);
+    Element scriptTag = resultDocument.appendElement(snippetTag.getName());
+    snippetTag.getAttributes().forEach(scriptTag::attr);
     scriptContentDocument.childNodesCopy().forEach(scriptTag::appendChild);
 
     return resultDocument.html();
   }
 
   private Document getScriptContentDocument(Fragment fragment) {
-    Element scriptTag = Jsoup.parseBodyFragment(fragment.content()).body().child(0);
-    return Jsoup.parse(scriptTag.unwrap().toString(), "UTF-8", Parser.xmlParser());
+    return Jsoup.parse(fragment.snippetTag().getBody(), "UTF-8", Parser.xmlParser());
   }
 
   private void clearFromActionAttributes(Element item) {
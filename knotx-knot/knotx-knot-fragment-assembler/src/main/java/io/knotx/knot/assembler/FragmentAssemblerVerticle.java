@@ -17,14 +17,13 @@ package io.knotx.knot.assembler;
 
 import io.knotx.knot.assembler.impl.FragmentAssemblerKnotProxyImpl;
 import io.knotx.proxy.KnotProxy;
+import io.knotx.proxy.KnotxProxyHelper;
 import io.vertx.core.AbstractVerticle;
 import io.vertx.core.Context;
 import io.vertx.core.Vertx;
 import io.vertx.core.eventbus.MessageConsumer;
-import io.vertx.core.json.JsonObject;
 import io.vertx.core.logging.Logger;
 import io.vertx.core.logging.LoggerFactory;
-import io.vertx.serviceproxy.ProxyHelper;
 import java.io.IOException;
 import java.net.URISyntaxException;
 
@@ -32,7 +31,7 @@ public class FragmentAssemblerVerticle extends AbstractVerticle {
 
   private static final Logger LOGGER = LoggerFactory.getLogger(FragmentAssemblerVerticle.class);
 
-  private MessageConsumer<JsonObject> consumer;
+  private MessageConsumer<Object> consumer;
 
   private FragmentAssemblerConfiguration configuration;
 
@@ -49,13 +48,13 @@ public class FragmentAssemblerVerticle extends AbstractVerticle {
     KnotProxy assemblerModule = new FragmentAssemblerKnotProxyImpl(config());
 
     //register the service proxy on event bus
-    consumer = ProxyHelper
-        .registerService(KnotProxy.class, vertx, assemblerModule, configuration.address());
+    consumer = KnotxProxyHelper
+        .registerService(vertx, assemblerModule, configuration.address());
   }
 
   @Override
   public void stop() throws Exception {
-    ProxyHelper.unregisterService(consumer);
+    KnotxProxyHelper.unregisterService(consumer);
   }
 
 }
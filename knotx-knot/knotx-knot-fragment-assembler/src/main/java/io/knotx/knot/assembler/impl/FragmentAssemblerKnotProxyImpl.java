@@ -16,9 +16,11 @@
 package io.knotx.knot.assembler.impl;
 
 import io.knotx.dataobjects.ClientResponse;
+import io.knotx.dataobjects.Fragment;
 import io.knotx.dataobjects.KnotContext;
 import io.knotx.knot.AbstractKnotProxy;
 import io.knotx.knot.assembler.FragmentAssemblerConfiguration;
+import io.knotx.util.Utf8Buffers;
 import io.netty.handler.codec.http.HttpResponseStatus;
 import io.vertx.core.buffer.Buffer;
 import io.vertx.core.http.HttpHeaders;
@@ -26,9 +28,9 @@ import io.vertx.core.json.JsonObject;
 import io.vertx.core.logging.Logger;
 import io.vertx.core.logging.LoggerFactory;
 import io.vertx.rxjava.core.MultiMap;
+import java.util.List;
 import java.util.Set;
 import java.util.stream.Collectors;
-import org.apache.commons.lang3.StringUtils;
 import rx.Observable;
 
 public class FragmentAssemblerKnotProxyImpl extends AbstractKnotProxy {
@@ -46,11 +48,8 @@ public class FragmentAssemblerKnotProxyImpl extends AbstractKnotProxy {
   protected Observable<KnotContext> processRequest(KnotContext knotContext) {
     if (hasFragments(knotContext)) {
       try {
-        String joinedFragments = knotContext.getFragments().stream()
-            .map(configuration.unprocessedFragmentStrategy()::get)
-            .collect(Collectors.joining());
-
-        return Observable.just(createSuccessResponse(knotContext, joinedFragments));
+        return Observable
+            .just(createSuccessResponse(knotContext, assemble(knotContext.getFragments())));
       } catch (Exception ex) {
         LOGGER.error("Exception happened during Fragment assembly.", ex);
         return Observable.just(processError(knotContext, ex));
@@ -61,6 +60,25 @@ public class FragmentAssemblerKnotProxyImpl extends AbstractKnotProxy {
     }
   }
 
+  /**
+   * Encodes fragments straight into one response body buffer, sized up front with the total UTF-8
+   * length of the fragments, instead of joining them into an intermediate String first.
+   */
+  private Buffer assemble(List<Fragment> fragments) {
+    return Utf8Buffers.encode(fragments.stream()
+        .map(configuration.unprocessedFragmentStrategy()::get)
+        .collect(Collectors.toList()));
+  }
+
+  private boolean isBlank(Buffer body) {
+    for (int i = 0; i < body.length(); i++) {
+      if (!Character.isWhitespace(body.getByte(i))) {
+        return false;
+      }
+    }
+    return true;
+  }
+
   private boolean hasFragments(KnotContext knotContext) {
     return knotContext.getFragments() != null && !knotContext.getFragments().isEmpty();
   }
@@ -80,16 +98,16 @@ public class FragmentAssemblerKnotProxyImpl extends AbstractKnotProxy {
         .setClientResponse(errorResponse);
   }
 
-  private KnotContext createSuccessResponse(KnotContext inputContext, String renderedContent) {
+  private KnotContext createSuccessResponse(KnotContext inputContext, Buffer renderedContent) {
     ClientResponse clientResponse = inputContext.getClientResponse();
-    if (StringUtils.isBlank(renderedContent)) {
+    if (isBlank(renderedContent)) {
       clientResponse.setStatusCode(HttpResponseStatus.NO_CONTENT.code());
     } else {
       MultiMap headers = clientResponse.getHeaders();
       headers.add(HttpHeaders.CONTENT_LENGTH.toString().toLowerCase(),
           Integer.toString(renderedContent.length()));
 
-      clientResponse.setBody(Buffer.buffer(renderedContent)).setHeaders(headers);
+      clientResponse.wrapBody(renderedContent).setHeaders(headers);
       clientResponse.setStatusCode(HttpResponseStatus.OK.code());
     }
 
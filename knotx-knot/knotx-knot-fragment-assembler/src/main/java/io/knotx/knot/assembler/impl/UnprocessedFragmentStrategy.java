@@ -17,9 +17,6 @@ package io.knotx.knot.assembler.impl;
 
 import io.knotx.dataobjects.Fragment;
 import io.knotx.fragments.FragmentConstants;
-import org.jsoup.Jsoup;
-import org.jsoup.nodes.Document;
-import org.jsoup.nodes.Element;
 
 public enum UnprocessedFragmentStrategy {
 
@@ -34,9 +31,7 @@ public enum UnprocessedFragmentStrategy {
     @Override
     protected String get(Fragment fragment) {
       if (fragment.content().matches(FragmentConstants.ANY_SNIPPET_PATTERN)) {
-        Document document = Jsoup.parseBodyFragment(fragment.content());
-        Element scriptTag = document.body().child(0);
-        return "<!-- SNIPPET UNWRAPED START -->" + scriptTag.unwrap().toString()
+        return "<!-- SNIPPET UNWRAPED START -->" + fragment.snippetTag().getBody()
             + "<!-- SNIPPET UNWRAPED STOP -->";
       } else {
         return fragment.content();
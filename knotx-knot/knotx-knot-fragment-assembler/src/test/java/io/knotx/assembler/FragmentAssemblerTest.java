@@ -123,6 +123,22 @@ public class FragmentAssemblerTest {
         });
   }
 
+  @Test
+  @KnotxConfiguration("test.asIs.io.knotx.FragmentAssembler.json")
+  public void callAssemblerWithNonAsciiSnippet_expectContentLengthInBytes(TestContext context)
+      throws Exception {
+    callAssemblerWithAssertions(context, Collections.singletonList("<p>Zażółć gęślą jaźń</p>"),
+        knotContext -> {
+          context.assertEquals(HttpResponseStatus.OK.code(),
+              knotContext.getClientResponse().getStatusCode());
+          context.assertEquals(
+              Integer.toString(knotContext.getClientResponse().getBody().length()),
+              knotContext.getClientResponse().getHeaders().get("content-length"));
+          context.assertEquals("<p>Zażółć gęślą jaźń</p>",
+              knotContext.getClientResponse().getBody().toString());
+        });
+  }
+
   private void callAssemblerWithAssertions(TestContext context, List<String> fragments,
       Action1<KnotContext> testFunction) {
     Async async = context.async();
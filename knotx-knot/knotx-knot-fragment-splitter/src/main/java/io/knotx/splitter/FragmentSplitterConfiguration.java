@@ -15,17 +15,50 @@
  */
 package io.knotx.splitter;
 
+import io.knotx.splitter.impl.SplitStrategy;
 import io.vertx.core.json.JsonObject;
 
 public class FragmentSplitterConfiguration {
 
+  private static final long DEFAULT_CACHE_MAXIMUM_WEIGHT = 16L * 1024 * 1024;
+
   private final String address;
 
+  private final String statsAddress;
+
+  private final SplitStrategy splitStrategy;
+
+  private final long cacheMaximumWeight;
+
+  private final boolean cacheKeyFromValidators;
+
   public FragmentSplitterConfiguration(JsonObject config) {
     address = config.getString("address");
+    statsAddress = config.getString("statsAddress", address + ".stats");
+    splitStrategy = SplitStrategy
+        .valueOf(config.getString("splitStrategy", SplitStrategy.STREAMING.name()).toUpperCase());
+    JsonObject cache = config.getJsonObject("cache", new JsonObject());
+    cacheMaximumWeight = cache.getLong("maximumWeight", DEFAULT_CACHE_MAXIMUM_WEIGHT);
+    cacheKeyFromValidators = cache.getBoolean("keyFromValidators", false);
   }
 
   public String getAddress() {
     return address;
   }
+
+  public String getStatsAddress() {
+    return statsAddress;
+  }
+
+  public SplitStrategy getSplitStrategy() {
+    return splitStrategy;
+  }
+
+  public long getCacheMaximumWeight() {
+    return cacheMaximumWeight;
+  }
+
+  public boolean isCacheKeyFromValidators() {
+    return cacheKeyFromValidators;
+  }
 }
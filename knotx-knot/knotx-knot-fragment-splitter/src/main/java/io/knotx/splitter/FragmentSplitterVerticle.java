@@ -15,7 +15,7 @@
  */
 package io.knotx.splitter;
 
-import io.knotx.proxy.KnotProxy;
+import io.knotx.proxy.KnotxProxyHelper;
 import io.knotx.splitter.impl.FragmentSplitterKnotProxyImpl;
 import io.vertx.core.AbstractVerticle;
 import io.vertx.core.Context;
@@ -24,7 +24,6 @@ import io.vertx.core.eventbus.MessageConsumer;
 import io.vertx.core.json.JsonObject;
 import io.vertx.core.logging.Logger;
 import io.vertx.core.logging.LoggerFactory;
-import io.vertx.serviceproxy.ProxyHelper;
 
 public class FragmentSplitterVerticle extends AbstractVerticle {
 
@@ -32,7 +31,9 @@ public class FragmentSplitterVerticle extends AbstractVerticle {
 
   private FragmentSplitterConfiguration configuration;
 
-  private MessageConsumer<JsonObject> consumer;
+  private MessageConsumer<Object> consumer;
+
+  private MessageConsumer<JsonObject> statsConsumer;
 
   @Override
   public void init(Vertx vertx, Context context) {
@@ -44,14 +45,18 @@ public class FragmentSplitterVerticle extends AbstractVerticle {
   public void start() throws Exception {
     LOGGER.info("Starting <{}>", this.getClass().getSimpleName());
 
+    FragmentSplitterKnotProxyImpl splitter = new FragmentSplitterKnotProxyImpl(configuration);
+
     //register the service proxy on event bus
-    consumer = ProxyHelper
-        .registerService(KnotProxy.class, vertx, new FragmentSplitterKnotProxyImpl(),
-            configuration.getAddress());
+    consumer = KnotxProxyHelper
+        .registerService(vertx, splitter, configuration.getAddress());
+    statsConsumer = vertx.eventBus().consumer(configuration.getStatsAddress(),
+        message -> message.reply(splitter.cacheStats()));
   }
 
   @Override
   public void stop() throws Exception {
-    ProxyHelper.unregisterService(consumer);
+    KnotxProxyHelper.unregisterService(consumer);
+    statsConsumer.unregister();
   }
 }
@@ -0,0 +1,69 @@
+/*
+ * Copyright (C) 2016 Cognifide Limited
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.knotx.splitter.impl;
+
+import io.knotx.dataobjects.Fragment;
+import io.knotx.fragments.SnippetTag;
+import java.util.List;
+
+/**
+ * Offset range of a single fragment within the template it was found in. Raw ranges carry no knot
+ * identifiers.
+ */
+final class FragmentBoundary {
+
+  private final List<String> knots;
+
+  private final int start;
+
+  private final int end;
+
+  private FragmentBoundary(List<String> knots, int start, int end) {
+    this.knots = knots;
+    this.start = start;
+    this.end = end;
+  }
+
+  static FragmentBoundary raw(int start, int end) {
+    return new FragmentBoundary(null, start, end);
+  }
+
+  static FragmentBoundary snippet(List<String> knots, int start, int end) {
+    return new FragmentBoundary(knots, start, end);
+  }
+
+  boolean isRaw() {
+    return knots == null;
+  }
+
+  List<String> knots() {
+    return knots;
+  }
+
+  int start() {
+    return start;
+  }
+
+  int end() {
+    return end;
+  }
+
+  Fragment toFragment(String template) {
+    String content = template.substring(start, end);
+    return isRaw() ? Fragment.raw(content)
+        : Fragment.snippet(knots, content, SnippetTag.parse(content));
+  }
+}
@@ -17,7 +17,9 @@ package io.knotx.splitter.impl;
 
 import io.knotx.dataobjects.KnotContext;
 import io.knotx.knot.AbstractKnotProxy;
+import io.knotx.splitter.FragmentSplitterConfiguration;
 import io.netty.handler.codec.http.HttpResponseStatus;
+import io.vertx.core.json.JsonObject;
 import io.vertx.core.logging.Logger;
 import io.vertx.core.logging.LoggerFactory;
 import java.util.NoSuchElementException;
@@ -28,13 +30,21 @@ public class FragmentSplitterKnotProxyImpl extends AbstractKnotProxy {
 
   private static final Logger LOGGER = LoggerFactory.getLogger(FragmentSplitterKnotProxyImpl.class);
 
-  private final FragmentSplitter splitter = new HtmlFragmentSplitter();
+  private final FragmentSplitter splitter;
+
+  private final SplitTemplateCache cache;
+
+  public FragmentSplitterKnotProxyImpl(FragmentSplitterConfiguration configuration) {
+    this.splitter = configuration.getSplitStrategy().create();
+    this.cache = configuration.getCacheMaximumWeight() > 0
+        ? new SplitTemplateCache(splitter, configuration) : null;
+  }
 
   @Override
   protected Observable<KnotContext> processRequest(KnotContext knotContext) {
     try {
-      knotContext
-          .setFragments(splitter.split(knotContext.getClientResponse().getBody().toString()));
+      knotContext.setFragments(cache != null ? cache.split(knotContext)
+          : splitter.split(knotContext.getClientResponse().getBody().toString()));
       knotContext.getClientResponse().setStatusCode(HttpResponseStatus.OK.code()).clearBody();
 
       return Observable.just(knotContext);
@@ -44,6 +54,10 @@ public class FragmentSplitterKnotProxyImpl extends AbstractKnotProxy {
     }
   }
 
+  public JsonObject cacheStats() {
+    return cache != null ? cache.stats() : new JsonObject();
+  }
+
   @Override
   protected boolean shouldProcess(Set<String> knots) {
     return true;
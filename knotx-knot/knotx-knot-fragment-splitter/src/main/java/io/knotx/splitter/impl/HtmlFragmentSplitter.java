@@ -17,6 +17,7 @@ package io.knotx.splitter.impl;
 
 import io.knotx.dataobjects.Fragment;
 import io.knotx.fragments.FragmentConstants;
+import io.knotx.fragments.SnippetTag;
 import com.google.common.collect.Lists;
 import java.util.Arrays;
 import java.util.List;
@@ -56,6 +57,7 @@ class HtmlFragmentSplitter implements FragmentSplitter {
   }
 
   private Fragment toSnippet(String[] ids, String html, int startIdx, int endIdx) {
-    return Fragment.snippet(Arrays.asList(ids), html.substring(startIdx, endIdx));
+    String content = html.substring(startIdx, endIdx);
+    return Fragment.snippet(Arrays.asList(ids), content, SnippetTag.parse(content));
   }
 }
@@ -0,0 +1,74 @@
+/*
+ * Copyright (C) 2016 Cognifide Limited
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.knotx.splitter.impl;
+
+import io.knotx.dataobjects.Fragment;
+import io.knotx.fragments.SnippetTag;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Immutable result of splitting a template. Every call to {@link #fragments()} returns new
+ * Fragment instances sharing the same knot lists, contents and snippet tags, so Knots can freely
+ * modify them.
+ */
+final class SplitTemplate {
+
+  private final List<List<String>> knots;
+
+  private final List<String> contents;
+
+  private final List<SnippetTag> snippetTags;
+
+  private final int weight;
+
+  private SplitTemplate(List<List<String>> knots, List<String> contents,
+      List<SnippetTag> snippetTags, int weight) {
+    this.knots = knots;
+    this.contents = contents;
+    this.snippetTags = snippetTags;
+    this.weight = weight;
+  }
+
+  static SplitTemplate of(List<Fragment> fragments) {
+    List<List<String>> knots = new ArrayList<>(fragments.size());
+    List<String> contents = new ArrayList<>(fragments.size());
+    List<SnippetTag> snippetTags = new ArrayList<>(fragments.size());
+    int weight = 0;
+    for (Fragment fragment : fragments) {
+      knots.add(Collections.unmodifiableList(new ArrayList<>(fragment.knots())));
+      contents.add(fragment.content());
+      snippetTags.add(fragment.isRaw() ? null : fragment.snippetTag());
+      weight += fragment.content().length();
+    }
+    return new SplitTemplate(knots, contents, snippetTags, weight);
+  }
+
+  List<Fragment> fragments() {
+    List<Fragment> fragments = new ArrayList<>(contents.size());
+    for (int i = 0; i < contents.size(); i++) {
+      SnippetTag snippetTag = snippetTags.get(i);
+      fragments.add(snippetTag == null ? Fragment.snippet(knots.get(i), contents.get(i))
+          : Fragment.snippet(knots.get(i), contents.get(i), snippetTag));
+    }
+    return fragments;
+  }
+
+  int weight() {
+    return weight;
+  }
+}
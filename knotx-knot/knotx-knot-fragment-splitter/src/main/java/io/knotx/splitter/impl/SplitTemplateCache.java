@@ -0,0 +1,127 @@
+/*
+ * Copyright (C) 2016 Cognifide Limited
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.knotx.splitter.impl;
+
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import com.google.common.cache.CacheStats;
+import com.google.common.hash.Hasher;
+import com.google.common.hash.Hashing;
+import io.knotx.dataobjects.ClientResponse;
+import io.knotx.dataobjects.Fragment;
+import io.knotx.dataobjects.KnotContext;
+import io.knotx.splitter.FragmentSplitterConfiguration;
+import io.netty.buffer.ByteBuf;
+import io.vertx.core.buffer.Buffer;
+import io.vertx.core.json.JsonObject;
+import io.vertx.rxjava.core.MultiMap;
+import java.util.List;
+import org.apache.commons.lang3.StringUtils;
+
+/**
+ * Keeps split templates between requests. Entries are weighted by the template length, so the
+ * configured maximum weight bounds the number of cached characters rather than templates.
+ */
+class SplitTemplateCache {
+
+  private static final String ETAG = "ETag";
+
+  private static final String LAST_MODIFIED = "Last-Modified";
+
+  private static final int HASH_CHUNK_SIZE = 8192;
+
+  private final FragmentSplitter splitter;
+
+  private final Cache<String, SplitTemplate> cache;
+
+  private final boolean keyFromValidators;
+
+  SplitTemplateCache(FragmentSplitter splitter, FragmentSplitterConfiguration configuration) {
+    this.splitter = splitter;
+    this.keyFromValidators = configuration.isCacheKeyFromValidators();
+    this.cache = CacheBuilder.newBuilder()
+        .maximumWeight(configuration.getCacheMaximumWeight())
+        .weigher((String key, SplitTemplate template) -> template.weight())
+        .recordStats()
+        .build();
+  }
+
+  List<Fragment> split(KnotContext knotContext) {
+    String key = key(knotContext);
+    SplitTemplate template = cache.getIfPresent(key);
+    if (template == null) {
+      template = SplitTemplate
+          .of(splitter.split(knotContext.getClientResponse().getBody().toString()));
+      cache.put(key, template);
+    }
+    return template.fragments();
+  }
+
+  JsonObject stats() {
+    CacheStats stats = cache.stats();
+    return new JsonObject()
+        .put("hitCount", stats.hitCount())
+        .put("missCount", stats.missCount())
+        .put("evictionCount", stats.evictionCount())
+        .put("hitRate", stats.hitRate())
+        .put("size", cache.size());
+  }
+
+  private String key(KnotContext knotContext) {
+    if (keyFromValidators) {
+      String validator = validator(knotContext.getClientResponse());
+      if (validator != null) {
+        return knotContext.getClientRequest().getPath() + '|' + validator;
+      }
+    }
+    return contentHash(knotContext.getClientResponse().getBody());
+  }
+
+  /**
+   * Hashes the body in place, a heap buffer through its backing array and a direct one through a
+   * small chunk, so the template is never copied as a whole.
+   */
+  private static String contentHash(Buffer body) {
+    ByteBuf bytes = body.getByteBuf();
+    Hasher hasher = Hashing.murmur3_128().newHasher();
+    if (bytes.hasArray()) {
+      hasher.putBytes(bytes.array(), bytes.arrayOffset() + bytes.readerIndex(),
+          bytes.readableBytes());
+    } else {
+      byte[] chunk = new byte[Math.min(HASH_CHUNK_SIZE, bytes.readableBytes())];
+      for (int index = bytes.readerIndex(); index < bytes.writerIndex(); index += chunk.length) {
+        int length = Math.min(chunk.length, bytes.writerIndex() - index);
+        bytes.getBytes(index, chunk, 0, length);
+        hasher.putBytes(chunk, 0, length);
+      }
+    }
+    return hasher.hash().toString();
+  }
+
+  private String validator(ClientResponse response) {
+    MultiMap headers = response.getHeaders();
+    String etag = headers.get(ETAG);
+    if (StringUtils.isNotEmpty(etag) && !etag.startsWith("W/")) {
+      return etag;
+    }
+    String lastModified = headers.get(LAST_MODIFIED);
+    if (StringUtils.isNotEmpty(lastModified)) {
+      // Last-Modified has one second precision, the length catches most quick republishes
+      return lastModified + '|' + response.getBody().length();
+    }
+    return null;
+  }
+}
@@ -0,0 +1,125 @@
+/*
+ * Copyright (C) 2016 Cognifide Limited
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.knotx.splitter.impl;
+
+import io.knotx.dataobjects.Fragment;
+import io.knotx.fragments.FragmentConstants;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Single pass tokenizer that finds snippet boundaries without regular expressions. It accepts
+ * exactly the same input as {@link FragmentConstants#SNIPPET_PATTERN}, so both splitters produce
+ * identical fragments for the same template.
+ */
+class StreamingFragmentSplitter implements FragmentSplitter {
+
+  private static final String SCRIPT_START = "<script";
+
+  private static final String SCRIPT_END = "</script>";
+
+  private static final String KNOTS_ATTRIBUTE = FragmentConstants.SNIPPET_IDENTIFIER_NAME;
+
+  @Override
+  public List<Fragment> split(String html) {
+    List<FragmentBoundary> boundaries = tokenize(html);
+    List<Fragment> fragments = new ArrayList<>(boundaries.size());
+    for (FragmentBoundary boundary : boundaries) {
+      fragments.add(boundary.toFragment(html));
+    }
+    return fragments;
+  }
+
+  List<FragmentBoundary> tokenize(String html) {
+    List<FragmentBoundary> boundaries = new ArrayList<>();
+    int idx = 0;
+    int from = 0;
+    int candidate;
+    while ((candidate = html.indexOf(SCRIPT_START, from)) >= 0) {
+      int pos = candidate + SCRIPT_START.length();
+      int afterWhitespace = skipWhitespace(html, pos);
+      if (afterWhitespace == pos || !html.startsWith(KNOTS_ATTRIBUTE, afterWhitespace)) {
+        from = pos;
+        continue;
+      }
+      pos = skipWhitespace(html, afterWhitespace + KNOTS_ATTRIBUTE.length());
+      if (!isAt(html, pos, '=')) {
+        from = pos;
+        continue;
+      }
+      pos = skipWhitespace(html, pos + 1);
+      if (!isAt(html, pos, '"')) {
+        from = pos;
+        continue;
+      }
+      int idsStart = ++pos;
+      while (pos < html.length() && isIdentifierChar(html.charAt(pos))) {
+        pos++;
+      }
+      if (pos == idsStart || !isAt(html, pos, '"')) {
+        from = pos;
+        continue;
+      }
+      int idsEnd = pos;
+
+      int tagEnd = html.indexOf('>', pos + 1);
+      if (tagEnd < 0) {
+        break;
+      }
+      // snippet body must not be empty, so the closing tag is searched one character later
+      int closingTag = html.indexOf(SCRIPT_END, tagEnd + 2);
+      if (closingTag < 0) {
+        break;
+      }
+      int end = closingTag + SCRIPT_END.length();
+
+      if (idx < candidate) {
+        boundaries.add(FragmentBoundary.raw(idx, candidate));
+      }
+      boundaries.add(FragmentBoundary.snippet(Arrays.asList(
+          html.substring(idsStart, idsEnd).split(FragmentConstants.FRAGMENT_IDENTIFIERS_SEPARATOR)),
+          candidate, end));
+      idx = end;
+      from = end;
+    }
+    if (idx < html.length() || boundaries.isEmpty()) {
+      boundaries.add(FragmentBoundary.raw(idx, html.length()));
+    }
+    return boundaries;
+  }
+
+  private static int skipWhitespace(String html, int pos) {
+    while (pos < html.length() && isWhitespace(html.charAt(pos))) {
+      pos++;
+    }
+    return pos;
+  }
+
+  private static boolean isAt(String html, int pos, char expected) {
+    return pos < html.length() && html.charAt(pos) == expected;
+  }
+
+  // same character class as the \s regex token
+  private static boolean isWhitespace(char c) {
+    return c == ' ' || c == '\t' || c == '\n' || c == '\u000B' || c == '\f' || c == '\r';
+  }
+
+  private static boolean isIdentifierChar(char c) {
+    return (c >= 'a' && c <= 'z') || (c >= 'A' && c <= 'Z') || (c >= '0' && c <= '9')
+        || c == '-' || c == ',';
+  }
+}
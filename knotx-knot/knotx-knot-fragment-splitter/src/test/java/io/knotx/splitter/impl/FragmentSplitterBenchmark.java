@@ -0,0 +1,83 @@
+/*
+ * Copyright (C) 2016 Cognifide Limited
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.knotx.splitter.impl;
+
+import io.knotx.dataobjects.Fragment;
+import io.knotx.junit.util.FileReader;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+/**
+ * Compares splitter implementations on templates of the size served by the CMS. Run the main
+ * method from the IDE or {@code org.openjdk.jmh.Main} with the module test classpath.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5)
+@Measurement(iterations = 10)
+@Fork(1)
+public class FragmentSplitterBenchmark {
+
+  @Param({"50", "300", "800"})
+  private int templateSizeKb;
+
+  private String template;
+
+  private final FragmentSplitter regex = new HtmlFragmentSplitter();
+
+  private final FragmentSplitter streaming = new StreamingFragmentSplitter();
+
+  @Setup
+  public void setUp() throws Exception {
+    String page = FileReader.readText("test-many-fragments.html");
+    StringBuilder builder = new StringBuilder(templateSizeKb * 1024 + page.length());
+    while (builder.length() < templateSizeKb * 1024) {
+      builder.append(page);
+    }
+    template = builder.toString();
+  }
+
+  @Benchmark
+  public List<Fragment> regex() {
+    return regex.split(template);
+  }
+
+  @Benchmark
+  public List<Fragment> streaming() {
+    return streaming.split(template);
+  }
+
+  public static void main(String[] args) throws RunnerException {
+    new Runner(new OptionsBuilder()
+        .include(FragmentSplitterBenchmark.class.getSimpleName())
+        .build()).run();
+  }
+}
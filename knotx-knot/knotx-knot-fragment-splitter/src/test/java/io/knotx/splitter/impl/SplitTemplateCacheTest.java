@@ -0,0 +1,137 @@
+/*
+ * Copyright (C) 2016 Cognifide Limited
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.knotx.splitter.impl;
+
+import static org.hamcrest.CoreMatchers.equalTo;
+import static org.hamcrest.CoreMatchers.not;
+import static org.hamcrest.CoreMatchers.sameInstance;
+import static org.hamcrest.MatcherAssert.assertThat;
+
+import io.knotx.dataobjects.Fragment;
+import io.knotx.dataobjects.KnotContext;
+import io.knotx.junit.util.FileReader;
+import io.knotx.junit.util.KnotContextFactory;
+import io.knotx.splitter.FragmentSplitterConfiguration;
+import io.netty.buffer.Unpooled;
+import io.vertx.core.buffer.Buffer;
+import io.vertx.core.json.JsonObject;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.NoSuchElementException;
+import org.apache.commons.lang3.StringUtils;
+import org.junit.Test;
+
+public class SplitTemplateCacheTest {
+
+  private static final String TEMPLATE = "test-many-fragments.html";
+
+  @Test
+  public void split_whenSameTemplateTwice_expectHitAndEqualButNotSameFragments()
+      throws Exception {
+    SplitTemplateCache cache = cache(new JsonObject());
+    String template = FileReader.readText(TEMPLATE);
+
+    List<Fragment> first = cache.split(KnotContextFactory.empty(template));
+    List<Fragment> second = cache.split(KnotContextFactory.empty(template));
+
+    assertThat(second, equalTo(first));
+    assertThat(second.get(1), not(sameInstance(first.get(1))));
+    assertThat(cache.stats().getLong("hitCount"), equalTo(1L));
+    assertThat(cache.stats().getLong("missCount"), equalTo(1L));
+  }
+
+  @Test
+  public void split_whenFragmentModified_expectCachedTemplateUntouched() throws Exception {
+    SplitTemplateCache cache = cache(new JsonObject());
+    String template = FileReader.readText(TEMPLATE);
+
+    List<Fragment> first = cache.split(KnotContextFactory.empty(template));
+    first.get(1).content("<p>processed</p>");
+    first.get(1).context().put("key", "value");
+    List<Fragment> second = cache.split(KnotContextFactory.empty(template));
+
+    assertThat(second, equalTo(new StreamingFragmentSplitter().split(template)));
+  }
+
+  @Test
+  public void split_whenTemplateExceedsMaximumWeight_expectEviction() throws Exception {
+    SplitTemplateCache cache = cache(new JsonObject().put("maximumWeight", 10));
+
+    cache.split(KnotContextFactory.empty(FileReader.readText(TEMPLATE)));
+
+    assertThat(cache.stats().getLong("evictionCount"), equalTo(1L));
+    assertThat(cache.stats().getLong("size"), equalTo(0L));
+  }
+
+  @Test
+  public void split_whenKeyFromValidatorsAndSameEtag_expectHitForDifferentContent()
+      throws Exception {
+    SplitTemplateCache cache = cache(new JsonObject().put("keyFromValidators", true));
+
+    cache.split(withEtag(FileReader.readText(TEMPLATE), "\"v1\""));
+    List<Fragment> fragments = cache.split(withEtag("<p>ignored</p>", "\"v1\""));
+
+    assertThat(fragments.size(), equalTo(8));
+    assertThat(cache.stats().getLong("hitCount"), equalTo(1L));
+  }
+
+  @Test
+  public void split_whenKeyFromValidatorsAndWeakEtag_expectContentHashUsed() throws Exception {
+    SplitTemplateCache cache = cache(new JsonObject().put("keyFromValidators", true));
+
+    cache.split(withEtag(FileReader.readText(TEMPLATE), "W/\"v1\""));
+    List<Fragment> fragments = cache.split(withEtag("<p>new</p>", "W/\"v1\""));
+
+    assertThat(fragments.size(), equalTo(1));
+    assertThat(cache.stats().getLong("missCount"), equalTo(2L));
+  }
+
+  @Test
+  public void split_whenSameTemplateInHeapAndDirectBuffers_expectHit() throws Exception {
+    SplitTemplateCache cache = cache(new JsonObject());
+    // spans several hash chunks
+    String template = FileReader.readText(TEMPLATE) + StringUtils.repeat("<p>raw</p>", 3000);
+    byte[] bytes = template.getBytes(StandardCharsets.UTF_8);
+    KnotContext direct = KnotContextFactory.empty(template);
+    direct.getClientResponse().wrapBody(
+        Buffer.buffer(Unpooled.directBuffer(bytes.length).writeBytes(bytes)));
+
+    List<Fragment> first = cache.split(KnotContextFactory.empty(template));
+    List<Fragment> second = cache.split(direct);
+
+    assertThat(second, equalTo(first));
+    assertThat(cache.stats().getLong("hitCount"), equalTo(1L));
+  }
+
+  @Test(expected = NoSuchElementException.class)
+  public void split_whenEmptyTemplate_expectNoSuchElementException() throws Exception {
+    cache(new JsonObject()).split(KnotContextFactory.empty(""));
+  }
+
+  private SplitTemplateCache cache(JsonObject cacheConfig) {
+    return new SplitTemplateCache(new StreamingFragmentSplitter(),
+        new FragmentSplitterConfiguration(
+            new JsonObject().put("address", "splitter").put("cache", cacheConfig)));
+  }
+
+  private KnotContext withEtag(String template, String etag) {
+    KnotContext knotContext = KnotContextFactory.empty(template);
+    knotContext.getClientRequest().setPath("/content/page.html");
+    knotContext.getClientResponse().setHeaders(
+        knotContext.getClientResponse().getHeaders().add("ETag", etag));
+    return knotContext;
+  }
+}
@@ -0,0 +1,97 @@
+/*
+ * Copyright (C) 2016 Cognifide Limited
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.knotx.splitter.impl;
+
+import static org.hamcrest.CoreMatchers.equalTo;
+import static org.hamcrest.MatcherAssert.assertThat;
+
+import io.knotx.dataobjects.Fragment;
+import io.knotx.junit.util.FileReader;
+import java.util.Arrays;
+import java.util.List;
+import java.util.NoSuchElementException;
+import org.junit.Test;
+
+public class StreamingFragmentSplitterTest {
+
+  private static final String SNIPPET = "<script data-knotx-knots=\"services,handlebars\" type=\"text/knotx-snippet\"><h2>{{message}}</h2></script>";
+
+  private final FragmentSplitter streaming = new StreamingFragmentSplitter();
+
+  private final FragmentSplitter regex = new HtmlFragmentSplitter();
+
+  @Test
+  public void split_whenTemplatesFromResources_expectSameFragmentsAsRegexSplitter()
+      throws Exception {
+    for (String file : Arrays.asList("test-no-fragments.html", "test-one-fragment-begin.html",
+        "test-one-fragment-middle.html", "test-one-fragment-end.html",
+        "test-one-fragment-whole.html", "test-many-fragments.html")) {
+      assertSameAsRegex(FileReader.readText(file));
+    }
+  }
+
+  @Test
+  public void split_whenSnippetInTheMiddle_expectOffsetsCoverWholeTemplate() throws Exception {
+    String html = "<div>a</div>" + SNIPPET + "<div>b</div>";
+
+    List<FragmentBoundary> boundaries = new StreamingFragmentSplitter().tokenize(html);
+
+    assertThat(boundaries.size(), equalTo(3));
+    assertThat(boundaries.get(0).isRaw(), equalTo(true));
+    assertThat(boundaries.get(1).knots(), equalTo(Arrays.asList("services", "handlebars")));
+    assertThat(boundaries.get(1).start(), equalTo(12));
+    assertThat(boundaries.get(1).end(), equalTo(12 + SNIPPET.length()));
+    assertThat(boundaries.get(2).end(), equalTo(html.length()));
+  }
+
+  @Test
+  public void split_whenTagsDoNotMatchSnippetSyntax_expectSameFragmentsAsRegexSplitter()
+      throws Exception {
+    assertSameAsRegex("<script>var a = 1;</script>" + SNIPPET);
+    assertSameAsRegex("<scriptdata-knotx-knots=\"a\">x</script>" + SNIPPET);
+    assertSameAsRegex("<SCRIPT data-knotx-knots=\"a\">x</SCRIPT><p>text</p>");
+    assertSameAsRegex("<script type=\"text/knotx-snippet\" data-knotx-knots=\"a\">x</script>");
+    assertSameAsRegex("<script data-knotx-knots=\"a b\">x</script>" + SNIPPET);
+    assertSameAsRegex("<script data-knotx-knots=\"\">x</script>" + SNIPPET);
+    assertSameAsRegex("<script data-knotx-knots=a>x</script>" + SNIPPET);
+    assertSameAsRegex("<script data-knotx-knots=\"a\"></script></script><p>text</p>");
+    assertSameAsRegex("<p>text</p><script data-knotx-knots=\"a\">x");
+    assertSameAsRegex("<p>text</p><script data-knotx-knots=\"a\"");
+  }
+
+  @Test
+  public void split_whenWhitespacesAroundAttribute_expectSameFragmentsAsRegexSplitter()
+      throws Exception {
+    assertSameAsRegex("<script\n\t data-knotx-knots \r\n=\f \"a,b\"\n>x</script>");
+    assertSameAsRegex("<script data-knotx-knots=\"a,,b,\">x</script><script data-knotx-knots"
+        + "=\"c\">y</script>");
+  }
+
+  @Test(expected = NoSuchElementException.class)
+  public void split_whenEmptyTemplate_expectNoSuchElementException() throws Exception {
+    streaming.split("");
+  }
+
+  private void assertSameAsRegex(String html) {
+    List<Fragment> expected = regex.split(html);
+    List<Fragment> actual = streaming.split(html);
+    assertThat(actual.size(), equalTo(expected.size()));
+    for (int i = 0; i < expected.size(); i++) {
+      assertThat(actual.get(i).knots(), equalTo(expected.get(i).knots()));
+      assertThat(actual.get(i).content(), equalTo(expected.get(i).content()));
+    }
+  }
+}
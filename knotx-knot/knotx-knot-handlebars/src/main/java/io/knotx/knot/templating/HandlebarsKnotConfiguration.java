@@ -19,12 +19,23 @@ import io.vertx.core.json.JsonObject;
 
 public class HandlebarsKnotConfiguration {
 
+  private static final long DEFAULT_CACHE_MAXIMUM_SIZE = 1000;
+
   private final boolean templateDebug;
   private final String address;
+  private final String statsAddress;
+  private final long cacheMaximumSize;
+  private final long cacheMaximumWeight;
+  private final int renderPoolSize;
 
   public HandlebarsKnotConfiguration(JsonObject config) {
     this.address = config.getString("address");
     this.templateDebug = config.getBoolean("templateDebug", false);
+    this.statsAddress = config.getString("statsAddress", address + ".stats");
+    JsonObject cache = config.getJsonObject("cache", new JsonObject());
+    this.cacheMaximumSize = cache.getLong("maximumSize", DEFAULT_CACHE_MAXIMUM_SIZE);
+    this.cacheMaximumWeight = cache.getLong("maximumWeight", 0L);
+    this.renderPoolSize = config.getInteger("renderPoolSize", 0);
   }
 
   public boolean templateDebug() {
@@ -34,4 +45,28 @@ public class HandlebarsKnotConfiguration {
   public String address() {
     return address;
   }
+
+  public String statsAddress() {
+    return statsAddress;
+  }
+
+  /**
+   * @return size of the worker pool rendering fragments in parallel, {@code 0} when fragments are
+   * rendered one by one on the event loop
+   */
+  public int renderPoolSize() {
+    return renderPoolSize;
+  }
+
+  public long cacheMaximumSize() {
+    return cacheMaximumSize;
+  }
+
+  /**
+   * @return maximum number of snippet characters kept in the template cache, {@code 0} when the
+   * cache is bounded by {@link #cacheMaximumSize()} only
+   */
+  public long cacheMaximumWeight() {
+    return cacheMaximumWeight;
+  }
 }
@@ -16,7 +16,7 @@
 package io.knotx.knot.templating;
 
 import io.knotx.knot.templating.impl.HandlebarsKnotProxyImpl;
-import io.knotx.proxy.KnotProxy;
+import io.knotx.proxy.KnotxProxyHelper;
 import io.vertx.core.AbstractVerticle;
 import io.vertx.core.Context;
 import io.vertx.core.Vertx;
@@ -24,7 +24,6 @@ import io.vertx.core.eventbus.MessageConsumer;
 import io.vertx.core.json.JsonObject;
 import io.vertx.core.logging.Logger;
 import io.vertx.core.logging.LoggerFactory;
-import io.vertx.serviceproxy.ProxyHelper;
 
 public class HandlebarsKnotVerticle extends AbstractVerticle {
 
@@ -32,7 +31,9 @@ public class HandlebarsKnotVerticle extends AbstractVerticle {
 
   private HandlebarsKnotConfiguration configuration;
 
-  private MessageConsumer<JsonObject> consumer;
+  private MessageConsumer<Object> consumer;
+
+  private MessageConsumer<JsonObject> statsConsumer;
 
   @Override
   public void init(Vertx vertx, Context context) {
@@ -44,15 +45,20 @@ public class HandlebarsKnotVerticle extends AbstractVerticle {
   public void start() throws Exception {
     LOGGER.info("Starting <{}>", this.getClass().getSimpleName());
 
+    HandlebarsKnotProxyImpl handlebars =
+        new HandlebarsKnotProxyImpl(new io.vertx.rxjava.core.Vertx(vertx), configuration);
+
     //register the service proxy on event bus
-    consumer = ProxyHelper
-        .registerService(KnotProxy.class, vertx, new HandlebarsKnotProxyImpl(configuration),
-            configuration.address());
+    consumer = KnotxProxyHelper
+        .registerService(vertx, handlebars, configuration.address());
+    statsConsumer = vertx.eventBus().consumer(configuration.statsAddress(),
+        message -> message.reply(handlebars.stats()));
   }
 
   @Override
   public void stop() throws Exception {
-    ProxyHelper.unregisterService(consumer);
+    KnotxProxyHelper.unregisterService(consumer);
+    statsConsumer.unregister();
   }
 
 }
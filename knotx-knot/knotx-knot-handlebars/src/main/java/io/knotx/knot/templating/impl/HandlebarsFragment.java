@@ -17,16 +17,13 @@ package io.knotx.knot.templating.impl;
 
 import io.knotx.dataobjects.Fragment;
 import com.github.jknack.handlebars.Context;
-import com.github.jknack.handlebars.Handlebars;
 import com.github.jknack.handlebars.Template;
 import io.knotx.knot.templating.handlebars.JsonObjectValueResolver;
 import io.vertx.core.logging.Logger;
 import io.vertx.core.logging.LoggerFactory;
 import java.io.IOException;
+import java.io.StringWriter;
 import org.apache.commons.lang3.StringUtils;
-import org.jsoup.Jsoup;
-import org.jsoup.nodes.Document;
-import org.jsoup.nodes.Element;
 
 class HandlebarsFragment {
 
@@ -36,34 +33,36 @@ class HandlebarsFragment {
 
   private final Fragment fragment;
 
-  private final String unwrappedContent;
-
   HandlebarsFragment(Fragment fragment) {
     this.fragment = fragment;
-    this.unwrappedContent = getUnwrappedContent(fragment);
   }
 
-  String compileWith(Handlebars handlebars) {
+  /**
+   * Renders the fragment together with the surrounding debug markers in a single pass, so the
+   * rendered markup is copied only once into the resulting content.
+   */
+  String compileWith(TemplateCache templates, String prefix, String suffix) {
     try {
-      Template compiledFragment = handlebars.compileInline(unwrappedContent);
-      LOGGER.trace("Applying context [{}] to fragment [{}]", fragment.context(),
-          StringUtils
-              .abbreviate(fragment.content().replaceAll("[\n\r\t]", ""),
-                  MAX_FRAGMENT_CONTENT_LOG_LENGTH));
-      return compiledFragment.apply(
+      Template compiledFragment = templates.get(fragment);
+      if (LOGGER.isTraceEnabled()) {
+        LOGGER.trace("Applying context [{}] to fragment [{}]", fragment.context(),
+            StringUtils
+                .abbreviate(fragment.content().replaceAll("[\n\r\t]", ""),
+                    MAX_FRAGMENT_CONTENT_LOG_LENGTH));
+      }
+      StringWriter writer = new StringWriter(
+          prefix.length() + fragment.content().length() + suffix.length());
+      writer.write(prefix);
+      compiledFragment.apply(
           Context.newBuilder(fragment.context())
               .push(JsonObjectValueResolver.INSTANCE)
-              .build());
+              .build(), writer);
+      writer.write(suffix);
+      return writer.toString();
     } catch (IOException e) {
       LOGGER.error("Could not process fragment [{}]", fragment.content(), e);
       throw new IllegalStateException("Handlebars fragment can not be evaluated correctly.");
     }
   }
 
-  private String getUnwrappedContent(Fragment fragment) {
-    Document document = Jsoup.parseBodyFragment(fragment.content());
-    Element scriptTag = document.body().child(0);
-    return scriptTag.unwrap().toString();
-  }
-
 }
@@ -16,6 +16,7 @@
 package io.knotx.knot.templating.impl;
 
 import io.knotx.dataobjects.ClientResponse;
+import io.knotx.dataobjects.Fragment;
 import io.knotx.dataobjects.KnotContext;
 import io.knotx.knot.AbstractKnotProxy;
 import io.knotx.knot.templating.HandlebarsKnotConfiguration;
@@ -23,8 +24,12 @@ import io.knotx.knot.templating.handlebars.CustomHandlebarsHelper;
 import io.knotx.knot.templating.helpers.DefaultHandlebarsHelpers;
 import com.github.jknack.handlebars.Handlebars;
 import io.netty.handler.codec.http.HttpResponseStatus;
+import io.vertx.core.json.JsonObject;
 import io.vertx.core.logging.Logger;
 import io.vertx.core.logging.LoggerFactory;
+import io.vertx.rxjava.core.Vertx;
+import io.vertx.rxjava.core.WorkerExecutor;
+import java.util.Collections;
 import java.util.Optional;
 import java.util.ServiceLoader;
 import java.util.Set;
@@ -43,33 +48,62 @@ public class HandlebarsKnotProxyImpl extends AbstractKnotProxy {
 
   private static final String SUPPORTED_FRAGMENT_KNOT = "handlebars";
 
-  private Handlebars handlebars;
+  private TemplateCache templates;
+
+  private RenderTimeHistogram renderTime;
+
+  private WorkerExecutor renderExecutor;
 
   private HandlebarsKnotConfiguration configuration;
 
-  public HandlebarsKnotProxyImpl(HandlebarsKnotConfiguration configuration) {
+  public HandlebarsKnotProxyImpl(Vertx vertx, HandlebarsKnotConfiguration configuration) {
     this.configuration = configuration;
-    this.handlebars = createHandlebars();
+    this.templates = new TemplateCache(createHandlebars(), configuration);
+    this.renderTime = new RenderTimeHistogram();
+    if (configuration.renderPoolSize() > 0) {
+      this.renderExecutor = vertx.createSharedWorkerExecutor(configuration.address() + ".render",
+          configuration.renderPoolSize());
+    }
+  }
+
+  /**
+   * @return statistics of the compiled templates cache together with the distribution of single
+   * fragment render times
+   */
+  public JsonObject stats() {
+    return templates.stats().put("renderTime", renderTime.toJson());
   }
 
   @Override
   protected Observable<KnotContext> processRequest(KnotContext knotContext) {
-    return Observable.create(observer -> {
-      try {
-        knotContext.setTransition(DEFAULT_HANDLEBARS_TRANSITION);
-        Optional.ofNullable(knotContext.getFragments()).ifPresent(fragments ->
-            fragments.stream()
-                .filter(fragment -> fragment.knots().contains(SUPPORTED_FRAGMENT_KNOT))
-                .forEach(fragment -> fragment.content(startComment() +
-                    new HandlebarsFragment(fragment).compileWith(handlebars)
-                    + endComment()))
-        );
-        observer.onNext(knotContext);
-        observer.onCompleted();
-      } catch (Exception e) {
-        observer.onError(e);
-      }
-    });
+    knotContext.setTransition(DEFAULT_HANDLEBARS_TRANSITION);
+    return Optional.ofNullable(knotContext.getFragments())
+        .map(fragments -> Observable.from(fragments)
+            .filter(fragment -> fragment.knots().contains(SUPPORTED_FRAGMENT_KNOT))
+            .flatMap(fragment -> render(fragment).doOnNext(fragment::content))
+            .toList())
+        .orElse(Observable.just(Collections.emptyList()))
+        .map(rendered -> knotContext);
+  }
+
+  /**
+   * Renders a single fragment. Every fragment keeps its position in the context, so fragments
+   * rendered in parallel need no reordering once all of them are done.
+   */
+  private Observable<String> render(Fragment fragment) {
+    if (renderExecutor == null) {
+      return Observable.defer(() -> Observable.just(renderTimed(fragment)));
+    }
+    return renderExecutor.executeBlockingObservable(
+        future -> future.complete(renderTimed(fragment)), false);
+  }
+
+  private String renderTimed(Fragment fragment) {
+    long start = System.nanoTime();
+    String content = new HandlebarsFragment(fragment)
+        .compileWith(templates, startComment(), endComment());
+    renderTime.record(System.nanoTime() - start);
+    return content;
   }
 
   @Override
@@ -0,0 +1,80 @@
+/*
+ * Copyright (C) 2016 Cognifide Limited
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.knotx.knot.templating.impl;
+
+import io.vertx.core.json.JsonObject;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAccumulator;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Distribution of single fragment render times kept in fixed buckets. It is updated from the
+ * event loop or from render workers, so all counters are lock free.
+ */
+class RenderTimeHistogram {
+
+  private static final long[] BUCKET_BOUNDS_MICROS =
+      {100, 250, 500, 1_000, 2_500, 5_000, 10_000, 25_000, 50_000, 100_000};
+
+  private final LongAdder[] buckets = new LongAdder[BUCKET_BOUNDS_MICROS.length + 1];
+
+  private final LongAdder count = new LongAdder();
+
+  private final LongAdder totalNanos = new LongAdder();
+
+  private final LongAccumulator maxNanos = new LongAccumulator(Long::max, 0L);
+
+  RenderTimeHistogram() {
+    for (int i = 0; i < buckets.length; i++) {
+      buckets[i] = new LongAdder();
+    }
+  }
+
+  void record(long nanos) {
+    long micros = TimeUnit.NANOSECONDS.toMicros(nanos);
+    int bucket = 0;
+    while (bucket < BUCKET_BOUNDS_MICROS.length && micros > BUCKET_BOUNDS_MICROS[bucket]) {
+      bucket++;
+    }
+    buckets[bucket].increment();
+    count.increment();
+    totalNanos.add(nanos);
+    maxNanos.accumulate(nanos);
+  }
+
+  /**
+   * @return number of fragments rendered, their total, average and maximum render time and the
+   * number of fragments in every bucket, keyed by the bucket upper bound in milliseconds
+   */
+  JsonObject toJson() {
+    long fragments = count.sum();
+    JsonObject bucketsJson = new JsonObject();
+    for (int i = 0; i < BUCKET_BOUNDS_MICROS.length; i++) {
+      bucketsJson.put(Double.toString(BUCKET_BOUNDS_MICROS[i] / 1000.0), buckets[i].sum());
+    }
+    bucketsJson.put("+Inf", buckets[BUCKET_BOUNDS_MICROS.length].sum());
+    return new JsonObject()
+        .put("count", fragments)
+        .put("totalMs", toMillis(totalNanos.sum()))
+        .put("averageMs", fragments == 0 ? 0.0 : toMillis(totalNanos.sum()) / fragments)
+        .put("maxMs", toMillis(maxNanos.get()))
+        .put("buckets", bucketsJson);
+  }
+
+  private static double toMillis(long nanos) {
+    return nanos / 1_000_000.0;
+  }
+}
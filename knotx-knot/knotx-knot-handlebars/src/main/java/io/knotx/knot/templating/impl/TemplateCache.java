@@ -0,0 +1,83 @@
+/*
+ * Copyright (C) 2016 Cognifide Limited
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.knotx.knot.templating.impl;
+
+import com.github.jknack.handlebars.Handlebars;
+import com.github.jknack.handlebars.Template;
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import com.google.common.cache.CacheStats;
+import com.google.common.hash.Hashing;
+import com.google.common.util.concurrent.UncheckedExecutionException;
+import io.knotx.dataobjects.Fragment;
+import io.knotx.knot.templating.HandlebarsKnotConfiguration;
+import io.vertx.core.json.JsonObject;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Keeps compiled Handlebars templates between requests. Entries are keyed by a hash of the snippet
+ * markup, so neither unwrapping the snippet nor compiling it is repeated for known snippets.
+ */
+class TemplateCache {
+
+  private final Handlebars handlebars;
+
+  private final Cache<String, Template> cache;
+
+  TemplateCache(Handlebars handlebars, HandlebarsKnotConfiguration configuration) {
+    this.handlebars = handlebars;
+    CacheBuilder<Object, Object> builder = CacheBuilder.newBuilder().recordStats();
+    if (configuration.cacheMaximumWeight() > 0) {
+      builder.maximumWeight(configuration.cacheMaximumWeight())
+          .weigher((String key, Template template) -> template.text().length());
+    } else {
+      builder.maximumSize(configuration.cacheMaximumSize());
+    }
+    this.cache = builder.build();
+  }
+
+  Template get(Fragment fragment) throws IOException {
+    String key = Hashing.murmur3_128().hashString(fragment.content(), StandardCharsets.UTF_8)
+        .toString();
+    try {
+      return cache.get(key, () -> handlebars.compileInline(unwrap(fragment)));
+    } catch (ExecutionException e) {
+      throw (IOException) e.getCause();
+    } catch (UncheckedExecutionException e) {
+      throw (RuntimeException) e.getCause();
+    }
+  }
+
+  JsonObject stats() {
+    CacheStats stats = cache.stats();
+    return new JsonObject()
+        .put("hitCount", stats.hitCount())
+        .put("missCount", stats.missCount())
+        .put("evictionCount", stats.evictionCount())
+        .put("hitRate", stats.hitRate())
+        .put("size", cache.size())
+        .put("compileCount", stats.loadCount())
+        .put("totalCompileTimeMs", TimeUnit.NANOSECONDS.toMillis(stats.totalLoadTime()))
+        .put("averageCompileTimeMs", stats.averageLoadPenalty() / TimeUnit.MILLISECONDS.toNanos(1));
+  }
+
+  private String unwrap(Fragment fragment) {
+    return fragment.snippetTag().getBody();
+  }
+}
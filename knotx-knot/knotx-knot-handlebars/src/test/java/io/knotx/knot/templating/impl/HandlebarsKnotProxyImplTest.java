@@ -0,0 +1,99 @@
+/*
+ * Copyright (C) 2016 Cognifide Limited
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.knotx.knot.templating.impl;
+
+import io.knotx.dataobjects.ClientRequest;
+import io.knotx.dataobjects.Fragment;
+import io.knotx.dataobjects.KnotContext;
+import io.knotx.knot.templating.HandlebarsKnotConfiguration;
+import io.vertx.core.Context;
+import io.vertx.core.json.JsonArray;
+import io.vertx.core.json.JsonObject;
+import io.vertx.ext.unit.Async;
+import io.vertx.ext.unit.TestContext;
+import io.vertx.ext.unit.junit.RunTestOnContext;
+import io.vertx.ext.unit.junit.VertxUnitRunner;
+import io.vertx.rxjava.core.Vertx;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+
+@RunWith(VertxUnitRunner.class)
+public class HandlebarsKnotProxyImplTest {
+
+  private static final int SNIPPETS = 8;
+
+  // the first snippet takes the longest to render, so the worker pool completes it last
+  private static final int FIRST_SNIPPET_ITEMS = 20000;
+
+  @Rule
+  public RunTestOnContext vertx = new RunTestOnContext();
+
+  @Test
+  public void process_whenRenderPoolSet_expectSnippetsRenderedInPlace(TestContext context) {
+    Async async = context.async();
+    Context eventLoop = vertx.vertx().getOrCreateContext();
+    HandlebarsKnotProxyImpl knot = new HandlebarsKnotProxyImpl(Vertx.newInstance(vertx.vertx()),
+        new HandlebarsKnotConfiguration(new JsonObject()
+            .put("address", "knotx.knot.handlebars")
+            .put("renderPoolSize", 4)));
+
+    eventLoop.runOnContext(start -> knot.process(page(), result -> {
+      context.assertTrue(result.succeeded());
+      context.assertEquals(eventLoop, vertx.vertx().getOrCreateContext());
+      context.assertEquals(expectedContents(), result.result().getFragments().stream()
+          .map(Fragment::content)
+          .collect(Collectors.toList()));
+      context.assertEquals((long) SNIPPETS,
+          knot.stats().getJsonObject("renderTime").getLong("count"));
+      async.complete();
+    }));
+  }
+
+  private static KnotContext page() {
+    List<Fragment> fragments = new ArrayList<>();
+    for (int i = 0; i < SNIPPETS; i++) {
+      fragments.add(Fragment.raw("<div>" + i + "</div>"));
+      Fragment snippet = Fragment.snippet(Collections.singletonList("handlebars"),
+          "<script data-knotx-knots=\"handlebars\" type=\"text/knotx-snippet\">"
+              + "<p>{{index}}</p>{{#each items}}{{this}}{{/each}}</script>");
+      snippet.context().put("index", i).put("items", items(i == 0 ? FIRST_SNIPPET_ITEMS : 1));
+      fragments.add(snippet);
+    }
+    return new KnotContext().setClientRequest(new ClientRequest()).setFragments(fragments);
+  }
+
+  private static List<String> expectedContents() {
+    List<String> contents = new ArrayList<>();
+    for (int i = 0; i < SNIPPETS; i++) {
+      contents.add("<div>" + i + "</div>");
+      contents.add("<p>" + i + "</p>" + String.join("",
+          Collections.nCopies(i == 0 ? FIRST_SNIPPET_ITEMS : 1, "x")));
+    }
+    return contents;
+  }
+
+  private static JsonArray items(int count) {
+    return new JsonArray(IntStream.range(0, count)
+        .mapToObj(i -> "x")
+        .collect(Collectors.toList()));
+  }
+}
@@ -0,0 +1,53 @@
+/*
+ * Copyright (C) 2016 Cognifide Limited
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.knotx.knot.templating.impl;
+
+import static org.hamcrest.CoreMatchers.equalTo;
+import static org.hamcrest.MatcherAssert.assertThat;
+
+import io.vertx.core.json.JsonObject;
+import java.util.concurrent.TimeUnit;
+import org.junit.Test;
+
+public class RenderTimeHistogramTest {
+
+  @Test
+  public void toJson_whenNothingRecorded_expectEmptyBuckets() {
+    JsonObject json = new RenderTimeHistogram().toJson();
+
+    assertThat(json.getLong("count"), equalTo(0L));
+    assertThat(json.getDouble("averageMs"), equalTo(0.0));
+    assertThat(json.getJsonObject("buckets").getLong("+Inf"), equalTo(0L));
+  }
+
+  @Test
+  public void record_whenTimesInDifferentBuckets_expectCountedInUpperBounds() {
+    RenderTimeHistogram histogram = new RenderTimeHistogram();
+
+    histogram.record(TimeUnit.MICROSECONDS.toNanos(50));
+    histogram.record(TimeUnit.MICROSECONDS.toNanos(100));
+    histogram.record(TimeUnit.MILLISECONDS.toNanos(3));
+    histogram.record(TimeUnit.SECONDS.toNanos(1));
+
+    JsonObject json = histogram.toJson();
+    JsonObject buckets = json.getJsonObject("buckets");
+    assertThat(json.getLong("count"), equalTo(4L));
+    assertThat(json.getDouble("maxMs"), equalTo(1000.0));
+    assertThat(buckets.getLong("0.1"), equalTo(2L));
+    assertThat(buckets.getLong("5.0"), equalTo(1L));
+    assertThat(buckets.getLong("+Inf"), equalTo(1L));
+  }
+}
@@ -0,0 +1,78 @@
+/*
+ * Copyright (C) 2016 Cognifide Limited
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.knotx.knot.templating.impl;
+
+import static org.hamcrest.CoreMatchers.equalTo;
+import static org.hamcrest.CoreMatchers.not;
+import static org.hamcrest.CoreMatchers.sameInstance;
+import static org.hamcrest.MatcherAssert.assertThat;
+
+import com.github.jknack.handlebars.Handlebars;
+import com.github.jknack.handlebars.HandlebarsException;
+import com.github.jknack.handlebars.Template;
+import io.knotx.dataobjects.Fragment;
+import io.knotx.knot.templating.HandlebarsKnotConfiguration;
+import io.vertx.core.json.JsonObject;
+import java.util.Collections;
+import org.junit.Test;
+
+public class TemplateCacheTest {
+
+  private static final String SNIPPET =
+      "<script data-knotx-knots=\"handlebars\" type=\"text/knotx-snippet\">"
+          + "<h2>{{message}}</h2></script>";
+
+  @Test
+  public void get_whenSameSnippetTwice_expectCompiledOnce() throws Exception {
+    TemplateCache cache = cache(new JsonObject());
+
+    Template first = cache.get(snippet(SNIPPET));
+    Template second = cache.get(snippet(SNIPPET));
+
+    assertThat(second, sameInstance(first));
+    assertThat(first.text(), equalTo("<h2>{{message}}</h2>"));
+    assertThat(cache.stats().getLong("hitCount"), equalTo(1L));
+    assertThat(cache.stats().getLong("missCount"), equalTo(1L));
+    assertThat(cache.stats().getLong("compileCount"), equalTo(1L));
+  }
+
+  @Test
+  public void get_whenMaximumSizeIsZero_expectCompiledEveryTime() throws Exception {
+    TemplateCache cache = cache(new JsonObject().put("maximumSize", 0));
+
+    Template first = cache.get(snippet(SNIPPET));
+    Template second = cache.get(snippet(SNIPPET));
+
+    assertThat(second, not(sameInstance(first)));
+    assertThat(cache.stats().getLong("compileCount"), equalTo(2L));
+    assertThat(cache.stats().getLong("size"), equalTo(0L));
+  }
+
+  @Test(expected = HandlebarsException.class)
+  public void get_whenSnippetInvalid_expectHandlebarsException() throws Exception {
+    cache(new JsonObject()).get(snippet(
+        "<script data-knotx-knots=\"handlebars\" type=\"text/knotx-snippet\">{{#if a}}</script>"));
+  }
+
+  private TemplateCache cache(JsonObject cacheConfig) {
+    return new TemplateCache(new Handlebars(), new HandlebarsKnotConfiguration(
+        new JsonObject().put("address", "knotx.knot.handlebars").put("cache", cacheConfig)));
+  }
+
+  private Fragment snippet(String content) {
+    return Fragment.snippet(Collections.singletonList("handlebars"), content);
+  }
+}
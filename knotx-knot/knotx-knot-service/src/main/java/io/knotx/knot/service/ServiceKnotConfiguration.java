@@ -15,19 +15,29 @@
  */
 package io.knotx.knot.service;
 
+import io.knotx.proxy.DeliveryCodecMapping;
 import io.vertx.core.json.JsonObject;
+import java.util.Collections;
 import java.util.List;
+import java.util.Optional;
 import java.util.stream.Collectors;
 import org.apache.commons.lang3.builder.EqualsBuilder;
 import org.apache.commons.lang3.builder.HashCodeBuilder;
 
 public class ServiceKnotConfiguration {
 
+  private static final long DEFAULT_DEFINITIONS_CACHE_MAXIMUM_SIZE = 1000L;
+
   private final String address;
+  private final DeliveryCodecMapping deliveryCodecs;
+  private final long definitionsCacheMaximumSize;
   private List<ServiceMetadata> services;
 
   public ServiceKnotConfiguration(JsonObject config) {
     address = config.getString("address");
+    deliveryCodecs = new DeliveryCodecMapping(config);
+    definitionsCacheMaximumSize = config.getJsonObject("definitionsCache", new JsonObject())
+        .getLong("maximumSize", DEFAULT_DEFINITIONS_CACHE_MAXIMUM_SIZE);
     services = config.getJsonArray("services").stream()
         .map(item -> (JsonObject) item)
         .map(item -> {
@@ -36,6 +46,9 @@ public class ServiceKnotConfiguration {
           metadata.address = item.getString("address");
           metadata.params = item.getJsonObject("params");
           metadata.cacheKey = item.getString("cacheKey");
+          metadata.responseCache = Optional.ofNullable(item.getJsonObject("responseCache"))
+              .map(ResponseCacheMetadata::new)
+              .orElse(null);
           return metadata;
         }).collect(Collectors.toList());
   }
@@ -48,12 +61,25 @@ public class ServiceKnotConfiguration {
     return address;
   }
 
+  public DeliveryCodecMapping getDeliveryCodecs() {
+    return deliveryCodecs;
+  }
+
+  /**
+   * @return maximum number of snippets whose service definitions are kept parsed, {@code 0} when
+   * every snippet is parsed on each request
+   */
+  public long getDefinitionsCacheMaximumSize() {
+    return definitionsCacheMaximumSize;
+  }
+
   public static class ServiceMetadata {
 
     private String name;
     private String address;
     private JsonObject params;
     private String cacheKey;
+    private ResponseCacheMetadata responseCache;
 
     @Override
     public boolean equals(Object obj) {
@@ -63,7 +89,8 @@ public class ServiceKnotConfiguration {
             .append(name, other.getName())
             .append(address, other.getAddress())
             .append(params, other.getParams())
-            .append(cacheKey, other.getCacheKey()).isEquals();
+            .append(cacheKey, other.getCacheKey())
+            .append(responseCache, other.getResponseCache()).isEquals();
       } else {
         return false;
       }
@@ -76,6 +103,7 @@ public class ServiceKnotConfiguration {
           .append(address)
           .append(params)
           .append(cacheKey)
+          .append(responseCache)
           .toHashCode();
     }
 
@@ -110,5 +138,90 @@ public class ServiceKnotConfiguration {
     void setCacheKey(String cacheKey) {
       this.cacheKey = cacheKey;
     }
+
+    /**
+     * @return options of the cache sharing Adapter responses between page requests or {@code null}
+     * when every page request calls the Adapter
+     */
+    public ResponseCacheMetadata getResponseCache() {
+      return responseCache;
+    }
+
+    void setResponseCache(ResponseCacheMetadata responseCache) {
+      this.responseCache = responseCache;
+    }
+  }
+
+  public static class ResponseCacheMetadata {
+
+    private static final long DEFAULT_TTL = 60_000L;
+    private static final long DEFAULT_MAXIMUM_SIZE = 1000L;
+
+    private final long ttl;
+    private final long maximumSize;
+    private final List<String> keyHeaders;
+    private final List<String> keyParams;
+
+    ResponseCacheMetadata(JsonObject config) {
+      ttl = config.getLong("ttl", DEFAULT_TTL);
+      maximumSize = config.getLong("maximumSize", DEFAULT_MAXIMUM_SIZE);
+      keyHeaders = names(config, "keyHeaders");
+      keyParams = names(config, "keyParams");
+    }
+
+    @Override
+    public boolean equals(Object obj) {
+      if (obj != null && obj instanceof ResponseCacheMetadata) {
+        final ResponseCacheMetadata other = (ResponseCacheMetadata) obj;
+        return new EqualsBuilder()
+            .append(ttl, other.getTtl())
+            .append(maximumSize, other.getMaximumSize())
+            .append(keyHeaders, other.getKeyHeaders())
+            .append(keyParams, other.getKeyParams()).isEquals();
+      } else {
+        return false;
+      }
+    }
+
+    @Override
+    public int hashCode() {
+      return new HashCodeBuilder()
+          .append(ttl)
+          .append(maximumSize)
+          .append(keyHeaders)
+          .append(keyParams)
+          .toHashCode();
+    }
+
+    /**
+     * @return time in milliseconds an Adapter response is served from the cache
+     */
+    public long getTtl() {
+      return ttl;
+    }
+
+    public long getMaximumSize() {
+      return maximumSize;
+    }
+
+    /**
+     * @return names of the client request headers whose values are part of the cache key
+     */
+    public List<String> getKeyHeaders() {
+      return keyHeaders;
+    }
+
+    /**
+     * @return names of the client request params whose values are part of the cache key
+     */
+    public List<String> getKeyParams() {
+      return keyParams;
+    }
+
+    private static List<String> names(JsonObject config, String key) {
+      return Optional.ofNullable(config.getJsonArray(key))
+          .map(array -> array.stream().map(Object::toString).collect(Collectors.toList()))
+          .orElse(Collections.emptyList());
+    }
   }
 }
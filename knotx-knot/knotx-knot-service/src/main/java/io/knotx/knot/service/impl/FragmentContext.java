@@ -16,50 +16,20 @@
 package io.knotx.knot.service.impl;
 
 import io.knotx.dataobjects.Fragment;
-import io.knotx.knot.service.service.ServiceAttributeUtil;
 import io.knotx.knot.service.service.ServiceEntry;
 import java.util.List;
-import java.util.Map;
-import java.util.function.Function;
-import java.util.stream.Collectors;
-import org.jsoup.Jsoup;
-import org.jsoup.nodes.Attribute;
-import org.jsoup.nodes.Document;
-import org.jsoup.nodes.Element;
 import rx.Observable;
 
 class FragmentContext {
 
-  private static final String DATA_SERVICE = "data-knotx-service.*";
-  private static final String DATA_PARAMS = "data-knotx-params.*";
-
   private Fragment fragment;
   private List<ServiceEntry> services;
 
   private FragmentContext() {
   }
 
-  public static FragmentContext from(Fragment fragment) {
-    Document document = Jsoup.parseBodyFragment(fragment.content());
-    Element scriptTag = document.body().child(0);
-
-    List<Attribute> attributes = scriptTag.attributes().asList();
-
-    Map<String, Attribute> serviceAttributes = attributes.stream()
-        .filter(attribute -> attribute.getKey().matches(DATA_SERVICE))
-        .collect(Collectors
-            .toMap(attribute -> ServiceAttributeUtil.extractNamespace(attribute.getKey()),
-                Function.identity()));
-
-    Map<String, Attribute> paramsAttributes = attributes.stream()
-        .filter(attribute -> attribute.getKey().matches(DATA_PARAMS))
-        .collect(Collectors
-            .toMap(attribute -> ServiceAttributeUtil.extractNamespace(attribute.getKey()),
-                Function.identity()));
-
-    return empty().fragment(fragment).services(serviceAttributes.entrySet().stream()
-        .map(entry -> new ServiceEntry(entry.getValue(), paramsAttributes.get(entry.getKey())))
-        .collect(Collectors.toList()));
+  static FragmentContext from(Fragment fragment, List<ServiceEntry> services) {
+    return empty().fragment(fragment).services(services);
   }
 
   static FragmentContext empty() {
@@ -19,6 +19,8 @@ import io.knotx.dataobjects.KnotContext;
 import io.knotx.knot.service.ServiceKnotConfiguration;
 import io.knotx.knot.service.service.ServiceEngine;
 import io.knotx.knot.service.service.ServiceEntry;
+import io.knotx.knot.service.service.ServiceResponseCache;
+import io.knotx.proxy.Deadlines;
 import io.vertx.core.json.JsonObject;
 import io.vertx.core.logging.Logger;
 import io.vertx.core.logging.LoggerFactory;
@@ -32,8 +34,11 @@ public class FragmentProcessor {
 
   private final ServiceEngine serviceEngine;
 
+  private final ServiceResponseCache responseCache;
+
   public FragmentProcessor(Vertx vertx, ServiceKnotConfiguration configuration) {
     this.serviceEngine = new ServiceEngine(vertx, configuration);
+    this.responseCache = new ServiceResponseCache(configuration);
   }
 
   public Observable<FragmentContext> processSnippet(final FragmentContext fragmentContext,
@@ -53,14 +58,24 @@ public class FragmentProcessor {
   private Observable<JsonObject> fetchServiceData(ServiceEntry service, KnotContext request) {
     LOGGER.debug("Fetching data from service {} {}", service.getAddress(), service.getParams());
     try {
-      return request.getCache()
-          .get(service.getCacheKey(), () -> serviceEngine.doServiceCall(service, request).cache());
+      return request.getCache().get(service.getCacheKey(), () -> callService(service, request));
     } catch (ExecutionException e) {
       LOGGER.fatal("Unable to get service data {}", e);
       return Observable.error(e);
     }
   }
 
+  private Observable<JsonObject> callService(ServiceEntry service, KnotContext request) {
+    if (responseCache.isEnabled(service)) {
+      return responseCache
+          .get(service, request,
+              () -> serviceEngine.doServiceCall(service, request, Deadlines.NONE))
+          .compose(serviceEngine.withinDeadline(request.getDeadline()))
+          .cache();
+    }
+    return serviceEngine.doServiceCall(service, request).cache();
+  }
+
   private FragmentContext applyData(final FragmentContext fragmentContext,
       JsonObject serviceResult) {
     LOGGER.trace("Applying data to snippet {}", fragmentContext);
@@ -0,0 +1,80 @@
+/*
+ * Copyright (C) 2016 Cognifide Limited
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.knotx.knot.service.impl;
+
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import com.google.common.hash.Hashing;
+import com.google.common.util.concurrent.UncheckedExecutionException;
+import io.knotx.dataobjects.Fragment;
+import io.knotx.fragments.SnippetTag;
+import io.knotx.knot.service.ServiceKnotConfiguration;
+import io.knotx.knot.service.service.ServiceAttributeUtil;
+import io.knotx.knot.service.service.ServiceEntry;
+import java.nio.charset.StandardCharsets;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutionException;
+import java.util.stream.Collectors;
+
+/**
+ * Keeps the service definitions ({@code data-knotx-service} and {@code data-knotx-params}
+ * attributes) of snippets between requests. Entries are keyed by a hash of the snippet markup, so
+ * a known snippet is neither parsed nor are its params decoded again. Cached entries are not
+ * merged with the service configuration and are never modified.
+ */
+class ServiceDefinitionCache {
+
+  private static final String DATA_SERVICE_PREFIX = "data-knotx-service";
+  private static final String DATA_PARAMS_PREFIX = "data-knotx-params";
+
+  private final Cache<String, List<ServiceEntry>> cache;
+
+  ServiceDefinitionCache(ServiceKnotConfiguration configuration) {
+    this.cache = CacheBuilder.newBuilder()
+        .maximumSize(configuration.getDefinitionsCacheMaximumSize())
+        .build();
+  }
+
+  List<ServiceEntry> get(Fragment fragment) {
+    String key = Hashing.murmur3_128().hashString(fragment.content(), StandardCharsets.UTF_8)
+        .toString();
+    try {
+      return cache.get(key, () -> parse(fragment.snippetTag()));
+    } catch (ExecutionException | UncheckedExecutionException e) {
+      throw (RuntimeException) e.getCause();
+    }
+  }
+
+  static List<ServiceEntry> parse(SnippetTag scriptTag) {
+    Map<String, String> attributes = scriptTag.getAttributes();
+
+    Map<String, String> paramsAttributes = attributes.entrySet().stream()
+        .filter(attribute -> attribute.getKey().startsWith(DATA_PARAMS_PREFIX))
+        .collect(Collectors
+            .toMap(attribute -> ServiceAttributeUtil.extractNamespace(attribute.getKey()),
+                Map.Entry::getValue));
+
+    return Collections.unmodifiableList(attributes.entrySet().stream()
+        .filter(attribute -> attribute.getKey().startsWith(DATA_SERVICE_PREFIX))
+        .map(attribute -> {
+          String namespace = ServiceAttributeUtil.extractNamespace(attribute.getKey());
+          return new ServiceEntry(namespace, attribute.getValue(), paramsAttributes.get(namespace));
+        })
+        .collect(Collectors.toList()));
+  }
+}
@@ -39,8 +39,11 @@ public class ServiceKnotProxyImpl extends AbstractKnotProxy {
 
   private FragmentProcessor snippetProcessor;
 
+  private ServiceDefinitionCache definitionCache;
+
   public ServiceKnotProxyImpl(Vertx vertx, ServiceKnotConfiguration configuration) {
     this.snippetProcessor = new FragmentProcessor(vertx, configuration);
+    this.definitionCache = new ServiceDefinitionCache(configuration);
   }
 
   @Override
@@ -85,7 +88,7 @@ public class ServiceKnotProxyImpl extends AbstractKnotProxy {
 
   private Observable<FragmentContext> compileHtmlFragment(Fragment fragment) {
     return Observable.create(subscriber -> {
-      subscriber.onNext(FragmentContext.from(fragment));
+      subscriber.onNext(FragmentContext.from(fragment, definitionCache.get(fragment)));
       subscriber.onCompleted();
     });
   }
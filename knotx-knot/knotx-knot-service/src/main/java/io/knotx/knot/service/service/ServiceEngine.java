@@ -19,6 +19,9 @@ import io.knotx.dataobjects.AdapterRequest;
 import io.knotx.dataobjects.AdapterResponse;
 import io.knotx.dataobjects.KnotContext;
 import io.knotx.knot.service.ServiceKnotConfiguration;
+import io.knotx.knot.service.ServiceKnotConfiguration.ServiceMetadata;
+import io.knotx.proxy.Deadlines;
+import io.knotx.proxy.ProxyRegistry;
 import io.knotx.rxjava.proxy.AdapterProxy;
 import io.vertx.core.json.DecodeException;
 import io.vertx.core.json.JsonArray;
@@ -26,7 +29,13 @@ import io.vertx.core.json.JsonObject;
 import io.vertx.core.logging.Logger;
 import io.vertx.core.logging.LoggerFactory;
 import io.vertx.rxjava.core.Vertx;
+import java.util.AbstractMap.SimpleImmutableEntry;
+import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.regex.Pattern;
+import java.util.stream.Collectors;
 import rx.Observable;
 
 public class ServiceEngine {
@@ -34,45 +43,79 @@ public class ServiceEngine {
   private static final Logger LOGGER = LoggerFactory.getLogger(ServiceEngine.class);
 
   private static final String RESULT_NAMESPACE_KEY = "_result";
-  private static final String RESPONSE_NAMESPACE_KEY = "_response";
+  static final String RESPONSE_NAMESPACE_KEY = "_response";
 
-  private final ServiceKnotConfiguration configuration;
+  private final ProxyRegistry proxies;
 
-  private final Vertx vertx;
+  private final List<Map.Entry<Pattern, ServiceMetadata>> servicePatterns;
+
+  private final Map<String, ServiceMetadata> resolvedServices = new ConcurrentHashMap<>();
 
   public ServiceEngine(Vertx vertx, ServiceKnotConfiguration serviceConfiguration) {
-    this.vertx = vertx;
-    this.configuration = serviceConfiguration;
+    this.servicePatterns = serviceConfiguration.getServices().stream()
+        .map(service -> new SimpleImmutableEntry<>(Pattern.compile(service.getName()), service))
+        .collect(Collectors.toList());
+    this.proxies = new ProxyRegistry(vertx, serviceConfiguration.getDeliveryCodecs());
   }
 
   public Observable<JsonObject> doServiceCall(ServiceEntry serviceEntry, KnotContext knotContext) {
+    return doServiceCall(serviceEntry, knotContext, knotContext.getDeadline());
+  }
+
+  /**
+   * @param deadline deadline of the Adapter call, {@link Deadlines#NONE} for calls shared between
+   * page requests, which bound their own wait with {@link #withinDeadline(long)}
+   */
+  public Observable<JsonObject> doServiceCall(ServiceEntry serviceEntry, KnotContext knotContext,
+      long deadline) {
     AdapterRequest adapterRequest = new AdapterRequest()
         .setRequest(knotContext.getClientRequest())
-        .setParams(serviceEntry.getParams());
+        .setParams(serviceEntry.getParams())
+        .setDeadline(deadline);
 
-    AdapterProxy serviceProxy = AdapterProxy.createProxy(vertx, serviceEntry.getAddress());
+    AdapterProxy serviceProxy = proxies.adapterProxy(serviceEntry.getAddress());
 
-    return serviceProxy.processObservable(adapterRequest).map(this::buildResultObject);
+    return serviceProxy.processObservable(adapterRequest)
+        .compose(proxies.withinDeadline(deadline))
+        .map(this::buildResultObject);
+  }
+
+  /**
+   * @see ProxyRegistry#withinDeadline(long)
+   */
+  public <T> Observable.Transformer<T, T> withinDeadline(long deadline) {
+    return proxies.withinDeadline(deadline);
   }
 
   public ServiceEntry mergeWithConfiguration(final ServiceEntry serviceEntry) {
-    Optional<ServiceKnotConfiguration.ServiceMetadata> serviceMetadata = configuration.getServices()
-        .stream()
-        .filter(service -> serviceEntry.getName().matches(service.getName()))
-        .findFirst();
+    Optional<ServiceMetadata> serviceMetadata = Optional
+        .ofNullable(resolvedServices.computeIfAbsent(serviceEntry.getName(), this::resolve));
 
     return serviceMetadata.map(
         metadata ->
             new ServiceEntry(serviceEntry)
                 .setAddress(metadata.getAddress())
                 .mergeParams(metadata.getParams())
-                .setCacheKey(metadata.getCacheKey()))
+                .setCacheKey(metadata.getCacheKey())
+                .setResponseCache(metadata.getResponseCache()))
         .orElseThrow(() -> {
           LOGGER.error("Missing service configuration for: {}", serviceEntry.getName());
           return new IllegalStateException("Missing service configuration");
         });
   }
 
+  /**
+   * @return configuration of the first service whose name pattern matches the name or {@code null}
+   * when none does, unresolved names are not kept in the index
+   */
+  private ServiceMetadata resolve(String name) {
+    return servicePatterns.stream()
+        .filter(entry -> entry.getKey().matcher(name).matches())
+        .map(Map.Entry::getValue)
+        .findFirst()
+        .orElse(null);
+  }
+
   private JsonObject buildResultObject(AdapterResponse adapterResponse) {
     JsonObject object = new JsonObject();
 
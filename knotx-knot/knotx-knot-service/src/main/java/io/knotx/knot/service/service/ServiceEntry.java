@@ -16,6 +16,7 @@
 package io.knotx.knot.service.service;
 
 
+import io.knotx.knot.service.ServiceKnotConfiguration.ResponseCacheMetadata;
 import io.vertx.core.json.JsonObject;
 import java.util.Objects;
 import org.apache.commons.lang3.StringUtils;
@@ -29,6 +30,7 @@ public class ServiceEntry {
   private String address;
   private String cacheKey;
   private JsonObject params;
+  private ResponseCacheMetadata responseCache;
 
   public ServiceEntry(ServiceEntry serviceEntry) {
     this.namespace = serviceEntry.namespace;
@@ -36,12 +38,25 @@ public class ServiceEntry {
     this.address = serviceEntry.address;
     this.cacheKey = serviceEntry.cacheKey;
     this.params = serviceEntry.params.copy();
+    this.responseCache = serviceEntry.responseCache;
   }
 
   public ServiceEntry(Attribute serviceAttribute, Attribute paramsAttribute) {
-    this.namespace = ServiceAttributeUtil.extractNamespace(serviceAttribute.getKey());
-    this.name = serviceAttribute.getValue();
-    this.params = getParams(paramsAttribute);
+    this(ServiceAttributeUtil.extractNamespace(serviceAttribute.getKey()),
+        serviceAttribute.getValue(),
+        paramsAttribute == null ? null : paramsAttribute.getValue());
+  }
+
+  /**
+   * @param namespace namespace of the service attribute, empty when it has none
+   * @param name value of the {@code data-knotx-service} attribute
+   * @param params value of the {@code data-knotx-params} attribute of the namespace, {@code null}
+   * when there is none
+   */
+  public ServiceEntry(String namespace, String name, String params) {
+    this.namespace = namespace;
+    this.name = name;
+    this.params = getParams(params);
     this.cacheKey = String.format("%s|%s", getName(), getParams());
   }
 
@@ -82,6 +97,15 @@ public class ServiceEntry {
     return params;
   }
 
+  public ResponseCacheMetadata getResponseCache() {
+    return responseCache;
+  }
+
+  ServiceEntry setResponseCache(ResponseCacheMetadata responseCache) {
+    this.responseCache = responseCache;
+    return this;
+  }
+
   public JsonObject getResultWithNamespaceAsKey(JsonObject result) {
     if (StringUtils.isNotEmpty(namespace)) {
       return new JsonObject().put(namespace, result);
@@ -111,12 +135,12 @@ public class ServiceEntry {
     return Objects.hash(namespace, name, cacheKey, params);
   }
 
-  private JsonObject getParams(Attribute paramsAttribute) {
+  private JsonObject getParams(String paramsAttribute) {
     final JsonObject result;
-    if (paramsAttribute == null || StringUtils.isEmpty(paramsAttribute.getValue())) {
+    if (StringUtils.isEmpty(paramsAttribute)) {
       result = new JsonObject();
     } else {
-      result = new JsonObject(paramsAttribute.getValue());
+      result = new JsonObject(paramsAttribute);
     }
     return result;
   }
@@ -0,0 +1,138 @@
+/*
+ * Copyright (C) 2016 Cognifide Limited
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.knotx.knot.service.service;
+
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import io.knotx.dataobjects.ClientRequest;
+import io.knotx.dataobjects.KnotContext;
+import io.knotx.knot.service.ServiceKnotConfiguration;
+import io.knotx.knot.service.ServiceKnotConfiguration.ResponseCacheMetadata;
+import io.knotx.knot.service.ServiceKnotConfiguration.ServiceMetadata;
+import io.vertx.core.json.JsonObject;
+import io.vertx.core.logging.Logger;
+import io.vertx.core.logging.LoggerFactory;
+import io.vertx.rxjava.core.MultiMap;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Supplier;
+import rx.Observable;
+
+/**
+ * Adapter responses shared between page requests, for services configured with
+ * {@code responseCache}. An entry is stored as soon as the Adapter is called, so concurrent page
+ * requests for the same data wait for that one call instead of calling the Adapter again. Failed
+ * calls and Adapter responses with a status code other than 2xx are not cached.
+ * <br>
+ * A cached call is shared by page requests with different deadlines, so it must not be bound to
+ * the deadline of the page request that started it. Each page request bounds its own wait for the
+ * response instead.
+ */
+public class ServiceResponseCache {
+
+  private static final Logger LOGGER = LoggerFactory.getLogger(ServiceResponseCache.class);
+
+  private final Map<ResponseCacheMetadata, Cache<String, Observable<JsonObject>>> caches =
+      new IdentityHashMap<>();
+
+  public ServiceResponseCache(ServiceKnotConfiguration configuration) {
+    configuration.getServices().stream()
+        .map(ServiceMetadata::getResponseCache)
+        .filter(Objects::nonNull)
+        .forEach(options -> caches.put(options, CacheBuilder.newBuilder()
+            .expireAfterWrite(options.getTtl(), TimeUnit.MILLISECONDS)
+            .maximumSize(options.getMaximumSize())
+            .build()));
+  }
+
+  /**
+   * @return {@code true} when responses of the service are cached, see {@link #get(ServiceEntry,
+   * KnotContext, Supplier)}
+   */
+  public boolean isEnabled(ServiceEntry service) {
+    return cache(service) != null;
+  }
+
+  /**
+   * @param service service call definition merged with its configuration
+   * @param request page request the service is called for
+   * @param serviceCall performs the Adapter call when the response is not cached
+   * @return Adapter response, each subscriber gets its own copy of a cached response
+   */
+  public Observable<JsonObject> get(ServiceEntry service, KnotContext request,
+      Supplier<Observable<JsonObject>> serviceCall) {
+    Cache<String, Observable<JsonObject>> cache = cache(service);
+    if (cache == null) {
+      return serviceCall.get();
+    }
+
+    String key = cacheKey(service, request.getClientRequest());
+    Observable<JsonObject> response = cache.getIfPresent(key);
+    if (response == null) {
+      LOGGER.debug("Adapter response for {} not cached, calling {}", key, service.getAddress());
+      // a call ending after its entry expired must not drop a newer entry stored under the key
+      AtomicReference<Observable<JsonObject>> entry = new AtomicReference<>();
+      response = serviceCall.get()
+          .doOnNext(result -> {
+            if (!isSuccess(result)) {
+              LOGGER.debug("Adapter response for {} not cached, status code {}", key,
+                  statusCode(result));
+              cache.asMap().remove(key, entry.get());
+            }
+          })
+          .doOnError(error -> cache.asMap().remove(key, entry.get()))
+          .cache();
+      entry.set(response);
+      cache.put(key, response);
+    }
+    return response.map(JsonObject::copy);
+  }
+
+  private Cache<String, Observable<JsonObject>> cache(ServiceEntry service) {
+    return Optional.ofNullable(service.getResponseCache())
+        .map(caches::get)
+        .orElse(null);
+  }
+
+  private static boolean isSuccess(JsonObject result) {
+    String statusCode = statusCode(result);
+    return statusCode != null && statusCode.length() == 3 && statusCode.charAt(0) == '2';
+  }
+
+  private static String statusCode(JsonObject result) {
+    JsonObject response = result.getJsonObject(ServiceEngine.RESPONSE_NAMESPACE_KEY);
+    return response == null ? null : response.getString("statusCode");
+  }
+
+  private String cacheKey(ServiceEntry service, ClientRequest request) {
+    ResponseCacheMetadata options = service.getResponseCache();
+    StringBuilder key = new StringBuilder(service.getCacheKey());
+    if (request != null) {
+      appendValues(key, options.getKeyHeaders(), request.getHeaders());
+      appendValues(key, options.getKeyParams(), request.getParams());
+    }
+    return key.toString();
+  }
+
+  private void appendValues(StringBuilder key, List<String> names, MultiMap values) {
+    names.forEach(name -> key.append('|').append(name).append('=').append(values.getAll(name)));
+  }
+}
@@ -0,0 +1,117 @@
+/*
+ * Copyright (C) 2016 Cognifide Limited
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.knotx.knot.service.impl;
+
+import io.knotx.dataobjects.AdapterResponse;
+import io.knotx.dataobjects.ClientRequest;
+import io.knotx.dataobjects.ClientResponse;
+import io.knotx.dataobjects.Fragment;
+import io.knotx.dataobjects.KnotContext;
+import io.knotx.knot.service.ServiceKnotConfiguration;
+import io.knotx.knot.service.service.ServiceEntry;
+import io.knotx.proxy.AdapterProxy;
+import io.knotx.proxy.Deadlines;
+import io.knotx.proxy.KnotxProxyHelper;
+import io.vertx.core.Future;
+import io.vertx.core.buffer.Buffer;
+import io.vertx.core.json.JsonArray;
+import io.vertx.core.json.JsonObject;
+import io.vertx.ext.unit.Async;
+import io.vertx.ext.unit.TestContext;
+import io.vertx.ext.unit.junit.RunTestOnContext;
+import io.vertx.ext.unit.junit.VertxUnitRunner;
+import io.vertx.rxjava.core.Vertx;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.jsoup.nodes.Attribute;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import rx.Observable;
+
+@RunWith(VertxUnitRunner.class)
+public class FragmentProcessorTest {
+
+  private static final String ADDRESS = "adapter.slow";
+
+  private static final long ADAPTER_DELAY = 300;
+
+  @Rule
+  public RunTestOnContext vertx = new RunTestOnContext();
+
+  @Test
+  public void processSnippet_whenCachedCallSharedByRequestsWithDifferentDeadlines_expectEachBoundByItsOwnDeadline(
+      TestContext context) {
+    Async async = context.async();
+    AtomicInteger calls = slowAdapter();
+    FragmentProcessor processor = new FragmentProcessor(Vertx.newInstance(vertx.vertx()),
+        configuration());
+
+    Observable<String> first = processor
+        .processSnippet(snippet(), request(Deadlines.after(100)))
+        .map(fragment -> "response")
+        .onErrorReturn(error -> Deadlines.isTimeout(error) ? "timeout" : error.getMessage());
+    Observable<String> second = processor
+        .processSnippet(snippet(), request(Deadlines.after(5000)))
+        .map(fragment -> fragment.fragment().context().getJsonObject("_result")
+            .getString("message"));
+
+    Observable.merge(first, second).toList().subscribe(
+        results -> {
+          context.assertEquals(Arrays.asList("timeout", "hello"), results);
+          context.assertEquals(1, calls.get());
+        },
+        context::fail,
+        async::complete);
+  }
+
+  private AtomicInteger slowAdapter() {
+    AtomicInteger calls = new AtomicInteger();
+    AdapterProxy adapter = (request, result) -> {
+      calls.incrementAndGet();
+      vertx.vertx().setTimer(ADAPTER_DELAY, timerId -> result.handle(Future.succeededFuture(
+          new AdapterResponse().setResponse(new ClientResponse()
+              .setStatusCode(200)
+              .setBody(Buffer.buffer("{\"message\":\"hello\"}"))))));
+    };
+    KnotxProxyHelper.registerService(vertx.vertx(), adapter, ADDRESS);
+    return calls;
+  }
+
+  private static ServiceKnotConfiguration configuration() {
+    return new ServiceKnotConfiguration(new JsonObject()
+        .put("services", new JsonArray()
+            .add(new JsonObject()
+                .put("name", "slow")
+                .put("address", ADDRESS)
+                .put("params", new JsonObject())
+                .put("responseCache", new JsonObject()))));
+  }
+
+  private static FragmentContext snippet() {
+    return FragmentContext.from(
+        Fragment.snippet(Arrays.asList("services", "handlebars"), "<h2>{{_result.message}}</h2>"),
+        Collections.singletonList(
+            new ServiceEntry(new Attribute("data-knotx-service", "slow"), null)));
+  }
+
+  private static KnotContext request(long deadline) {
+    return new KnotContext()
+        .setClientRequest(new ClientRequest())
+        .setDeadline(deadline);
+  }
+}
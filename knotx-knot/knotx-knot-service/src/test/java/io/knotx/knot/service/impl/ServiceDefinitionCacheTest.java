@@ -0,0 +1,87 @@
+/*
+ * Copyright (C) 2016 Cognifide Limited
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.knotx.knot.service.impl;
+
+import static org.hamcrest.CoreMatchers.equalTo;
+import static org.hamcrest.CoreMatchers.not;
+import static org.hamcrest.CoreMatchers.sameInstance;
+import static org.hamcrest.MatcherAssert.assertThat;
+
+import io.knotx.dataobjects.Fragment;
+import io.knotx.fragments.SnippetTag;
+import io.knotx.knot.service.ServiceKnotConfiguration;
+import io.knotx.knot.service.service.ServiceEntry;
+import io.vertx.core.json.JsonArray;
+import io.vertx.core.json.JsonObject;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+import org.junit.Test;
+
+public class ServiceDefinitionCacheTest {
+
+  private static final String SNIPPET = "<script data-knotx-knots=\"services,handlebars\" "
+      + "data-knotx-service=\"first-service\" "
+      + "data-knotx-service-second=\"second-service\" "
+      + "data-knotx-params-second='{\"path\":\"/second.json\"}' "
+      + "type=\"text/knotx-snippet\"><h2>{{_result.message}}</h2></script>";
+
+  @Test
+  public void whenSnippetParsed_expectServiceEntryPerServiceAttribute() {
+    Map<String, ServiceEntry> services = ServiceDefinitionCache.parse(SnippetTag.parse(SNIPPET)).stream()
+        .collect(Collectors.toMap(ServiceEntry::getNamespace, Function.identity()));
+
+    assertThat(services.size(), equalTo(2));
+    assertThat(services.get("").getName(), equalTo("first-service"));
+    assertThat(services.get("").getParams(), equalTo(new JsonObject()));
+    assertThat(services.get("second").getName(), equalTo("second-service"));
+    assertThat(services.get("second").getParams().getString("path"), equalTo("/second.json"));
+  }
+
+  @Test
+  public void whenSameSnippetRequestedTwice_expectCachedDefinitions() {
+    ServiceDefinitionCache cache = new ServiceDefinitionCache(configuration(10));
+
+    List<ServiceEntry> first = cache.get(snippet(SNIPPET));
+    List<ServiceEntry> second = cache.get(snippet(SNIPPET));
+
+    assertThat(second, sameInstance(first));
+  }
+
+  @Test
+  public void whenCacheDisabled_expectSnippetParsedOnEachRequest() {
+    ServiceDefinitionCache cache = new ServiceDefinitionCache(configuration(0));
+
+    List<ServiceEntry> first = cache.get(snippet(SNIPPET));
+    List<ServiceEntry> second = cache.get(snippet(SNIPPET));
+
+    assertThat(second, not(sameInstance(first)));
+    assertThat(second, equalTo(first));
+  }
+
+  private Fragment snippet(String content) {
+    return Fragment.snippet(Arrays.asList("services", "handlebars"), content);
+  }
+
+  private ServiceKnotConfiguration configuration(long maximumSize) {
+    return new ServiceKnotConfiguration(new JsonObject()
+        .put("address", "knotx.knot.service")
+        .put("services", new JsonArray())
+        .put("definitionsCache", new JsonObject().put("maximumSize", maximumSize)));
+  }
+}
@@ -0,0 +1,172 @@
+/*
+ * Copyright (C) 2016 Cognifide Limited
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.knotx.knot.service.service;
+
+import static org.hamcrest.CoreMatchers.equalTo;
+import static org.hamcrest.CoreMatchers.not;
+import static org.hamcrest.CoreMatchers.sameInstance;
+import static org.hamcrest.MatcherAssert.assertThat;
+
+import io.knotx.dataobjects.ClientRequest;
+import io.knotx.dataobjects.KnotContext;
+import io.knotx.knot.service.ServiceKnotConfiguration;
+import io.vertx.core.json.JsonArray;
+import io.vertx.core.json.JsonObject;
+import io.vertx.rxjava.core.MultiMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+import org.jsoup.nodes.Attribute;
+import org.junit.Before;
+import org.junit.Test;
+import rx.Observable;
+import rx.subjects.PublishSubject;
+
+public class ServiceResponseCacheTest {
+
+  private static final JsonObject RESPONSE = response("200", "value");
+
+  private static final long SHORT_TTL = 200;
+
+  private ServiceEngine engine;
+
+  private ServiceResponseCache cache;
+
+  private AtomicInteger calls;
+
+  @Before
+  public void setUp() {
+    ServiceKnotConfiguration configuration = new ServiceKnotConfiguration(new JsonObject()
+        .put("services", new JsonArray()
+            .add(service("cached", new JsonObject()
+                .put("responseCache", new JsonObject()
+                    .put("keyHeaders", new JsonArray().add("Accept-Language")))))
+            .add(service("short-lived", new JsonObject()
+                .put("responseCache", new JsonObject().put("ttl", SHORT_TTL))))
+            .add(service("uncached", new JsonObject()))));
+    engine = new ServiceEngine(null, configuration);
+    cache = new ServiceResponseCache(configuration);
+    calls = new AtomicInteger();
+  }
+
+  @Test
+  public void get_whenSameServiceForTwoRequests_expectOneAdapterCall() {
+    JsonObject first = get("cached", request("en"), () -> Observable.just(RESPONSE)).toBlocking()
+        .single();
+    JsonObject second = get("cached", request("en"), () -> Observable.just(RESPONSE)).toBlocking()
+        .single();
+
+    assertThat(calls.get(), equalTo(1));
+    assertThat(second, equalTo(RESPONSE));
+    assertThat(second, not(sameInstance(first)));
+  }
+
+  @Test
+  public void get_whenKeyHeaderDiffers_expectAdapterCalledForEachValue() {
+    get("cached", request("en"), () -> Observable.just(RESPONSE)).toBlocking().single();
+    get("cached", request("de"), () -> Observable.just(RESPONSE)).toBlocking().single();
+
+    assertThat(calls.get(), equalTo(2));
+  }
+
+  @Test
+  public void get_whenCallInFlight_expectRequestsCoalesced() {
+    PublishSubject<JsonObject> adapter = PublishSubject.create();
+    AtomicInteger responses = new AtomicInteger();
+
+    get("cached", request("en"), () -> adapter).subscribe(result -> responses.incrementAndGet());
+    get("cached", request("en"), () -> adapter).subscribe(result -> responses.incrementAndGet());
+    adapter.onNext(RESPONSE);
+    adapter.onCompleted();
+
+    assertThat(calls.get(), equalTo(1));
+    assertThat(responses.get(), equalTo(2));
+  }
+
+  @Test
+  public void get_whenAdapterCallFails_expectFailureNotCached() {
+    get("cached", request("en"), () -> Observable.error(new IllegalStateException()))
+        .onErrorReturn(error -> null).toBlocking().single();
+    get("cached", request("en"), () -> Observable.just(RESPONSE)).toBlocking().single();
+
+    assertThat(calls.get(), equalTo(2));
+  }
+
+  @Test
+  public void get_whenAdapterRespondsWithServerError_expectErrorNotCached() {
+    JsonObject error = response("500", "error");
+
+    get("cached", request("en"), () -> Observable.just(error)).toBlocking().single();
+    JsonObject second = get("cached", request("en"), () -> Observable.just(RESPONSE)).toBlocking()
+        .single();
+
+    assertThat(calls.get(), equalTo(2));
+    assertThat(second, equalTo(RESPONSE));
+  }
+
+  @Test
+  public void get_whenExpiredCallFailsAfterNewerCallCached_expectNewerEntryKept()
+      throws Exception {
+    PublishSubject<JsonObject> expiredCall = PublishSubject.create();
+    get("short-lived", request("en"), () -> expiredCall).subscribe(result -> {
+    }, error -> {
+    });
+    Thread.sleep(SHORT_TTL + 100);
+    get("short-lived", request("en"), () -> Observable.just(RESPONSE)).toBlocking().single();
+
+    expiredCall.onError(new IllegalStateException());
+    JsonObject third = get("short-lived", request("en"), () -> Observable.just(RESPONSE))
+        .toBlocking().single();
+
+    assertThat(calls.get(), equalTo(2));
+    assertThat(third, equalTo(RESPONSE));
+  }
+
+  @Test
+  public void get_whenServiceWithoutResponseCache_expectAdapterCalledEveryTime() {
+    get("uncached", request("en"), () -> Observable.just(RESPONSE)).toBlocking().single();
+    get("uncached", request("en"), () -> Observable.just(RESPONSE)).toBlocking().single();
+
+    assertThat(calls.get(), equalTo(2));
+  }
+
+  private Observable<JsonObject> get(String name, KnotContext request,
+      Supplier<Observable<JsonObject>> adapter) {
+    ServiceEntry service = engine.mergeWithConfiguration(new ServiceEntry(
+        new Attribute("data-knotx-service", name), null));
+    return cache.get(service, request, () -> {
+      calls.incrementAndGet();
+      return adapter.get();
+    });
+  }
+
+  private static KnotContext request(String language) {
+    return new KnotContext().setClientRequest(new ClientRequest()
+        .setHeaders(MultiMap.caseInsensitiveMultiMap().add("Accept-Language", language)));
+  }
+
+  private static JsonObject response(String statusCode, String result) {
+    return new JsonObject()
+        .put("_result", result)
+        .put("_response", new JsonObject().put("statusCode", statusCode));
+  }
+
+  private static JsonObject service(String name, JsonObject options) {
+    return options
+        .put("name", name)
+        .put("address", "adapter." + name)
+        .put("params", new JsonObject());
+  }
+}
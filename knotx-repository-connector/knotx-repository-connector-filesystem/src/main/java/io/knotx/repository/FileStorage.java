@@ -0,0 +1,32 @@
+/*
+ * Copyright (C) 2016 Cognifide Limited
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.knotx.repository;
+
+/**
+ * Where the file cache keeps file contents. {@code HEAP} reads them into byte arrays. {@code
+ * MAPPED} maps the files read-only into memory, so their contents stay in the OS page cache shared
+ * by all verticle instances and add neither to the heap nor to the garbage collection work.
+ */
+public enum FileStorage {
+
+  HEAP,
+
+  MAPPED;
+
+  public static FileStorage from(String name) {
+    return name == null ? HEAP : valueOf(name.toUpperCase());
+  }
+}
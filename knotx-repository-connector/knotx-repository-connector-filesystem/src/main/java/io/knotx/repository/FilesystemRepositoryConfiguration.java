@@ -0,0 +1,107 @@
+/*
+ * Copyright (C) 2016 Cognifide Limited
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.knotx.repository;
+
+import io.vertx.core.json.JsonObject;
+
+public class FilesystemRepositoryConfiguration {
+
+  private static final long DEFAULT_CACHE_MAXIMUM_WEIGHT = 32L * 1024 * 1024;
+
+  private static final long DEFAULT_CACHE_CHECK_PERIOD = 1000L;
+
+  private static final int DEFAULT_CACHE_CHECK_BATCH_SIZE = 100;
+
+  private final String address;
+  private final String catalogue;
+  private final String statsAddress;
+  private final boolean cacheEnabled;
+  private final long cacheMaximumWeight;
+  private final long cacheCheckPeriod;
+  private final int cacheCheckBatchSize;
+  private final boolean cacheWarmUp;
+  private final FileStorage cacheStorage;
+
+  public FilesystemRepositoryConfiguration(JsonObject config) {
+    this.address = config.getString("address");
+    this.catalogue = config.getString("catalogue", "");
+    this.statsAddress = config.getString("statsAddress", address + ".stats");
+    JsonObject cache = config.getJsonObject("cache");
+    this.cacheEnabled = cache != null;
+    cache = cache == null ? new JsonObject() : cache;
+    this.cacheMaximumWeight = cache.getLong("maximumWeight", DEFAULT_CACHE_MAXIMUM_WEIGHT);
+    this.cacheCheckPeriod = cache.getLong("checkPeriod", DEFAULT_CACHE_CHECK_PERIOD);
+    this.cacheCheckBatchSize = cache.getInteger("checkBatchSize", DEFAULT_CACHE_CHECK_BATCH_SIZE);
+    this.cacheWarmUp = cache.getBoolean("warmUp", false);
+    this.cacheStorage = FileStorage.from(cache.getString("storage"));
+  }
+
+  public String address() {
+    return address;
+  }
+
+  public String catalogue() {
+    return catalogue;
+  }
+
+  public String statsAddress() {
+    return statsAddress;
+  }
+
+  /**
+   * @return whether file contents are kept in memory, {@code true} when the {@code cache} options
+   * are set and {@link #cacheMaximumWeight()} is positive
+   */
+  public boolean cacheEnabled() {
+    return cacheEnabled && cacheMaximumWeight > 0;
+  }
+
+  /**
+   * @return maximum number of bytes of file contents kept in the cache
+   */
+  public long cacheMaximumWeight() {
+    return cacheMaximumWeight;
+  }
+
+  /**
+   * @return period in milliseconds of checking cached files for modifications, {@code 0} when
+   * cached files are never checked
+   */
+  public long cacheCheckPeriod() {
+    return cacheCheckPeriod;
+  }
+
+  /**
+   * @return maximum number of cached files checked for modifications in one check period
+   */
+  public int cacheCheckBatchSize() {
+    return cacheCheckBatchSize;
+  }
+
+  /**
+   * @return whether the catalogue is read into the cache when the verticle starts
+   */
+  public boolean cacheWarmUp() {
+    return cacheWarmUp;
+  }
+
+  /**
+   * @return where the cached file contents are kept
+   */
+  public FileStorage cacheStorage() {
+    return cacheStorage;
+  }
+}
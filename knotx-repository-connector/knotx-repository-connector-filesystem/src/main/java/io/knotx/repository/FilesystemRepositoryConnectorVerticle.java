@@ -15,44 +15,94 @@
  */
 package io.knotx.repository;
 
-import io.knotx.proxy.RepositoryConnectorProxy;
+import io.knotx.proxy.KnotxProxyHelper;
+import io.knotx.repository.impl.FileContentCache;
 import io.knotx.repository.impl.FilesystemRepositoryConnectorProxyImpl;
 import io.vertx.core.AbstractVerticle;
 import io.vertx.core.Context;
+import io.vertx.core.Future;
 import io.vertx.core.Vertx;
 import io.vertx.core.eventbus.MessageConsumer;
 import io.vertx.core.json.JsonObject;
 import io.vertx.core.logging.Logger;
 import io.vertx.core.logging.LoggerFactory;
-import io.vertx.serviceproxy.ProxyHelper;
+import java.io.IOException;
 
 public class FilesystemRepositoryConnectorVerticle extends AbstractVerticle {
 
   private static final Logger LOGGER = LoggerFactory
       .getLogger(FilesystemRepositoryConnectorVerticle.class);
 
-  private String address;
+  private FilesystemRepositoryConfiguration configuration;
 
-  private MessageConsumer<JsonObject> consumer;
+  private MessageConsumer<Object> consumer;
+
+  private MessageConsumer<JsonObject> statsConsumer;
+
+  private Long checkTimerId;
 
   @Override
   public void init(Vertx vertx, Context context) {
     super.init(vertx, context);
-    this.address = config().getString("address");
+    this.configuration = new FilesystemRepositoryConfiguration(config());
   }
 
   @Override
-  public void start() throws Exception {
+  public void start(Future<Void> startFuture) throws Exception {
     LOGGER.info("Starting <{}>", this.getClass().getSimpleName());
+    final String address = configuration.address();
+    final FileContentCache cache = configuration.cacheEnabled()
+        ? new FileContentCache(vertx, configuration) : null;
 
     //register the service proxy on event bus
-    consumer = ProxyHelper
-        .registerService(RepositoryConnectorProxy.class, vertx,
-            new FilesystemRepositoryConnectorProxyImpl(vertx, config()), address);
+    consumer = KnotxProxyHelper
+        .registerService(vertx,
+            new FilesystemRepositoryConnectorProxyImpl(vertx, configuration, cache), address);
+    RepositoryStreams.register(vertx, address,
+        serverVertx -> new FilesystemRepositoryConnectorProxyImpl(serverVertx, configuration));
+
+    if (cache == null) {
+      startFuture.complete();
+      return;
+    }
+    statsConsumer = vertx.eventBus().consumer(configuration.statsAddress(),
+        message -> message.reply(cache.stats()));
+    if (configuration.cacheCheckPeriod() > 0) {
+      checkTimerId = vertx.setPeriodic(configuration.cacheCheckPeriod(), id -> cache.check());
+    }
+    if (configuration.cacheWarmUp()) {
+      vertx.<Integer>executeBlocking(
+          future -> {
+            try {
+              future.complete(cache.warmUp(configuration.catalogue()));
+            } catch (IOException e) {
+              future.fail(e);
+            }
+          }, false,
+          result -> {
+            if (result.succeeded()) {
+              LOGGER.info("Read <{}> files of <{}> into the cache", result.result(),
+                  configuration.catalogue());
+            } else {
+              LOGGER.warn("Unable to read <{}> into the cache", result.cause(),
+                  configuration.catalogue());
+            }
+            startFuture.complete();
+          });
+    } else {
+      startFuture.complete();
+    }
   }
 
   @Override
   public void stop() throws Exception {
-    ProxyHelper.unregisterService(consumer);
+    KnotxProxyHelper.unregisterService(consumer);
+    RepositoryStreams.unregister(vertx, configuration.address());
+    if (statsConsumer != null) {
+      statsConsumer.unregister();
+    }
+    if (checkTimerId != null) {
+      vertx.cancelTimer(checkTimerId);
+    }
   }
 }
@@ -0,0 +1,257 @@
+/*
+ * Copyright (C) 2016 Cognifide Limited
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.knotx.repository.impl;
+
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import com.google.common.cache.CacheStats;
+import io.knotx.repository.FileStorage;
+import io.knotx.repository.FilesystemRepositoryConfiguration;
+import io.netty.buffer.Unpooled;
+import io.vertx.core.Vertx;
+import io.vertx.core.buffer.Buffer;
+import io.vertx.core.file.FileProps;
+import io.vertx.core.file.FileSystem;
+import io.vertx.core.file.FileSystemException;
+import io.vertx.core.http.impl.MimeMapping;
+import io.vertx.core.json.JsonObject;
+import io.vertx.rx.java.ObservableFuture;
+import io.vertx.rx.java.RxHelper;
+import java.io.File;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.channels.FileChannel.MapMode;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.Optional;
+import java.util.stream.Stream;
+import rx.Observable;
+
+/**
+ * Keeps contents and MIME types of catalogue files between requests, bounded by the total number
+ * of bytes. Contents are kept on the heap or in read-only memory mapped files, see {@link
+ * FileStorage}. A periodic check drops the entries of files modified or removed since they were
+ * read, going through the entries a bounded batch at a time.
+ */
+public class FileContentCache {
+
+  private final Vertx vertx;
+
+  private final FileSystem fileSystem;
+
+  private final FileStorage storage;
+
+  private final long maximumWeight;
+
+  private final int checkBatchSize;
+
+  private final Cache<String, CachedFile> cache;
+
+  private Iterator<String> unchecked = Collections.emptyIterator();
+
+  public FileContentCache(Vertx vertx, FilesystemRepositoryConfiguration configuration) {
+    this.vertx = vertx;
+    this.fileSystem = vertx.fileSystem();
+    this.storage = configuration.cacheStorage();
+    this.maximumWeight = configuration.cacheMaximumWeight();
+    this.checkBatchSize = configuration.cacheCheckBatchSize();
+    this.cache = CacheBuilder.newBuilder().recordStats()
+        .maximumWeight(maximumWeight)
+        .weigher((String path, CachedFile file) -> (int) Math.min(file.size, Integer.MAX_VALUE))
+        .build();
+  }
+
+  Optional<CachedFile> get(String path) {
+    return Optional.ofNullable(cache.getIfPresent(path));
+  }
+
+  /**
+   * Reads the file and caches its content when it is a regular file. The properties are read
+   * before the content, so a modification in between is found by the next check.
+   *
+   * @return content of the file
+   */
+  Observable<Buffer> load(String path) {
+    ObservableFuture<FileProps> propsObservable = RxHelper.observableFuture();
+    fileSystem.props(path, propsObservable.toHandler());
+    return propsObservable.flatMap(props -> {
+      Observable<CachedFile> fileObservable;
+      if (storage == FileStorage.MAPPED && props.isRegularFile()) {
+        ObservableFuture<CachedFile> mappedObservable = RxHelper.observableFuture();
+        vertx.executeBlocking(future -> {
+          try {
+            future.complete(CachedFile.mapped(Paths.get(path), path, props.size(),
+                props.lastModifiedTime()));
+          } catch (IOException e) {
+            future.fail(new FileSystemException(e));
+          }
+        }, false, mappedObservable.toHandler());
+        fileObservable = mappedObservable;
+      } else {
+        ObservableFuture<Buffer> contentObservable = RxHelper.observableFuture();
+        fileSystem.readFile(path, contentObservable.toHandler());
+        fileObservable = contentObservable.map(
+            content -> CachedFile.heap(content, path, props.size(), props.lastModifiedTime()));
+      }
+      return fileObservable
+          .doOnNext(file -> {
+            if (props.isRegularFile()) {
+              cache.put(path, file);
+            }
+          })
+          .map(CachedFile::content);
+    });
+  }
+
+  /**
+   * Drops the entries of files modified or removed since they were cached. Each call checks the
+   * next {@code checkBatchSize} entries, so a pass over the whole cache takes as many calls as
+   * there are batches of entries. Called on a single thread.
+   */
+  public void check() {
+    if (!unchecked.hasNext()) {
+      unchecked = new ArrayList<>(cache.asMap().keySet()).iterator();
+    }
+    for (int i = 0; i < checkBatchSize && unchecked.hasNext(); i++) {
+      String path = unchecked.next();
+      CachedFile file = cache.asMap().get(path);
+      if (file != null) {
+        fileSystem.props(path, props -> {
+          if (props.failed() || file.isModifiedAt(props.result().size(),
+              props.result().lastModifiedTime())) {
+            cache.asMap().remove(path, file);
+          }
+        });
+      }
+    }
+  }
+
+  /**
+   * Reads regular files of the catalogue directory into the cache until it is full. Blocks the
+   * calling thread. An empty catalogue stands for the classpath, which is not read up front.
+   *
+   * @return number of files read
+   */
+  public int warmUp(String catalogue) throws IOException {
+    if (catalogue.isEmpty()) {
+      return 0;
+    }
+    Path root = Paths.get(catalogue);
+    long loaded = 0;
+    int count = 0;
+    try (Stream<Path> paths = Files.walk(root)) {
+      Iterator<Path> files = paths.filter(Files::isRegularFile).iterator();
+      while (files.hasNext()) {
+        Path file = files.next();
+        BasicFileAttributes attributes = Files.readAttributes(file, BasicFileAttributes.class);
+        if (loaded + attributes.size() > maximumWeight) {
+          break;
+        }
+        String path = catalogue + root.relativize(file).toString().replace(File.separatorChar, '/');
+        long lastModified = attributes.lastModifiedTime().toMillis();
+        cache.put(path, storage == FileStorage.MAPPED
+            ? CachedFile.mapped(file, path, attributes.size(), lastModified)
+            : CachedFile.heap(Buffer.buffer(Files.readAllBytes(file)), path, attributes.size(),
+                lastModified));
+        loaded += attributes.size();
+        count++;
+      }
+    }
+    return count;
+  }
+
+  public JsonObject stats() {
+    CacheStats stats = cache.stats();
+    return new JsonObject()
+        .put("hitCount", stats.hitCount())
+        .put("missCount", stats.missCount())
+        .put("evictionCount", stats.evictionCount())
+        .put("hitRate", stats.hitRate())
+        .put("size", cache.size())
+        .put("bytes", cache.asMap().values().stream()
+            .mapToLong(file -> file.size)
+            .sum());
+  }
+
+  static final class CachedFile {
+
+    private final Buffer content;
+
+    private final ByteBuffer mapped;
+
+    private final String contentType;
+
+    private final long size;
+
+    private final long lastModified;
+
+    private CachedFile(Buffer content, ByteBuffer mapped, String path, long size,
+        long lastModified) {
+      this.content = content;
+      this.mapped = mapped;
+      this.contentType = MimeMapping.getMimeTypeForFilename(path);
+      this.size = size;
+      this.lastModified = lastModified;
+    }
+
+    private static CachedFile heap(Buffer content, String path, long size, long lastModified) {
+      return new CachedFile(content, null, path, size, lastModified);
+    }
+
+    /**
+     * The mapping outlives the channel and is released when the entry is garbage collected.
+     */
+    private static CachedFile mapped(Path file, String path, long size, long lastModified)
+        throws IOException {
+      try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+        return new CachedFile(null, channel.map(MapMode.READ_ONLY, 0, size), path, size,
+            lastModified);
+      }
+    }
+
+    /**
+     * @return whether the content is a read-only memory mapped file
+     */
+    boolean isMapped() {
+      return mapped != null;
+    }
+
+    /**
+     * @return content of the file, a mapped file is wrapped without copying its bytes
+     */
+    Buffer content() {
+      return mapped == null ? content : Buffer.buffer(Unpooled.wrappedBuffer(mapped.duplicate()));
+    }
+
+    /**
+     * @return MIME type of the file, {@code null} when unknown
+     */
+    String contentType() {
+      return contentType;
+    }
+
+    private boolean isModifiedAt(long currentSize, long currentLastModified) {
+      return size != currentSize || lastModified != currentLastModified;
+    }
+  }
+}
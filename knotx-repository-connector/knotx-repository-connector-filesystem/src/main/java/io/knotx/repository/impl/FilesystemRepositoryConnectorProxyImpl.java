@@ -17,18 +17,21 @@ package io.knotx.repository.impl;
 
 import io.knotx.dataobjects.ClientRequest;
 import io.knotx.dataobjects.ClientResponse;
+import io.knotx.http.HttpDates;
 import io.knotx.proxy.RepositoryConnectorProxy;
+import io.knotx.repository.FilesystemRepositoryConfiguration;
+import io.knotx.repository.RepositoryStream;
+import io.knotx.repository.StreamingRepositoryConnector;
+import io.knotx.repository.impl.FileContentCache.CachedFile;
 import io.netty.handler.codec.http.HttpResponseStatus;
 import io.vertx.core.AsyncResult;
 import io.vertx.core.Future;
 import io.vertx.core.Handler;
 import io.vertx.core.Vertx;
 import io.vertx.core.buffer.Buffer;
-import io.vertx.core.file.AsyncFile;
+import io.vertx.core.file.FileProps;
 import io.vertx.core.file.FileSystem;
-import io.vertx.core.file.OpenOptions;
 import io.vertx.core.http.impl.MimeMapping;
-import io.vertx.core.json.JsonObject;
 import io.vertx.core.logging.Logger;
 import io.vertx.core.logging.LoggerFactory;
 import io.vertx.rx.java.ObservableFuture;
@@ -39,36 +42,49 @@ import java.util.Optional;
 import org.apache.commons.lang3.StringUtils;
 import rx.Observable;
 
-public class FilesystemRepositoryConnectorProxyImpl implements RepositoryConnectorProxy {
+public class FilesystemRepositoryConnectorProxyImpl implements RepositoryConnectorProxy,
+    StreamingRepositoryConnector {
 
   private static final Logger LOGGER = LoggerFactory
       .getLogger(FilesystemRepositoryConnectorProxyImpl.class);
 
-  private static final OpenOptions OPEN_OPTIONS = new OpenOptions().setCreate(false)
-      .setWrite(false);
   private static final String ERROR_MESSAGE = "Unable to get template from the repository";
 
   private final String catalogue;
   private final FileSystem fileSystem;
+  private final Optional<FileContentCache> cache;
 
-  public FilesystemRepositoryConnectorProxyImpl(Vertx vertx, JsonObject configuration) {
+  public FilesystemRepositoryConnectorProxyImpl(Vertx vertx,
+      FilesystemRepositoryConfiguration configuration) {
+    this(vertx, configuration, null);
+  }
+
+  /**
+   * @param cache cache of the file contents, {@code null} when files are read on every request
+   */
+  public FilesystemRepositoryConnectorProxyImpl(Vertx vertx,
+      FilesystemRepositoryConfiguration configuration, FileContentCache cache) {
     this.fileSystem = vertx.fileSystem();
-    this.catalogue = configuration.getString("catalogue");
+    this.catalogue = configuration.catalogue();
+    this.cache = Optional.ofNullable(cache);
   }
 
   @Override
   public void process(ClientRequest request, Handler<AsyncResult<ClientResponse>> result) {
-    final String localFilePath = catalogue + StringUtils.stripStart(request.getPath(), "/");
-    final Optional<String> contentType = Optional
-        .ofNullable(MimeMapping.getMimeTypeForFilename(localFilePath));
+    final String localFilePath = localFilePath(request);
+    final Optional<CachedFile> cachedFile = cache.flatMap(files -> files.get(localFilePath));
+
+    if (cachedFile.isPresent()) {
+      LOGGER.trace("Fetching file `{}` from the cache.", localFilePath);
+      result.handle(Future.succeededFuture(cachedResponse(cachedFile.get())));
+      return;
+    }
 
     LOGGER.trace("Fetching file `{}` from local repository.", localFilePath);
 
-    ObservableFuture<AsyncFile> fileObservable = RxHelper.observableFuture();
-    fileObservable
-        .flatMap(this::processFile)
+    readFile(localFilePath)
         .map(buffer -> new ClientResponse().setStatusCode(HttpResponseStatus.OK.code())
-            .setHeaders(headers(contentType)).setBody(buffer))
+            .setHeaders(headers(localFilePath)).setBody(buffer))
         .defaultIfEmpty(new ClientResponse().setStatusCode(HttpResponseStatus.NOT_FOUND.code()))
         .subscribe(
             response -> result.handle(Future.succeededFuture(response)),
@@ -77,22 +93,72 @@ public class FilesystemRepositoryConnectorProxyImpl implements RepositoryConnect
               result.handle(Future.succeededFuture(processError(error)));
             }
         );
+  }
 
-    fileSystem.open(localFilePath, OPEN_OPTIONS, fileObservable.toHandler());
+  private ClientResponse cachedResponse(CachedFile file) {
+    ClientResponse response = new ClientResponse()
+        .setStatusCode(HttpResponseStatus.OK.code())
+        .setHeaders(contentTypeHeaders(file.contentType()));
+    // a mapped file is read-only and can be shared, a heap entry is copied to keep it unchanged
+    return file.isMapped() ? response.wrapBody(file.content()) : response.setBody(file.content());
   }
 
-  private MultiMap headers(Optional<String> contentType) {
-    MultiMap headers = MultiMap.caseInsensitiveMultiMap();
-    if (contentType.isPresent()) {
-      headers.add("Content-Type", contentType.get());
+  private Observable<Buffer> readFile(String localFilePath) {
+    if (cache.isPresent()) {
+      return cache.get().load(localFilePath);
     }
+    ObservableFuture<Buffer> fileObservable = RxHelper.observableFuture();
+    // the whole file is read into a buffer of the file size at once
+    fileSystem.readFile(localFilePath, fileObservable.toHandler());
+    return fileObservable;
+  }
+
+  @Override
+  public void stream(ClientRequest request, long deadline,
+      Handler<AsyncResult<RepositoryStream>> result) {
+    final String localFilePath = localFilePath(request);
+
+    LOGGER.trace("Sending file `{}` from local repository.", localFilePath);
+
+    ObservableFuture<FileProps> propsObservable = RxHelper.observableFuture();
+    propsObservable
+        .map(props -> props.isRegularFile()
+            ? RepositoryStream.ofFile(new ClientResponse()
+                .setStatusCode(HttpResponseStatus.OK.code())
+                .setHeaders(fileHeaders(localFilePath, props)), localFilePath)
+            : new RepositoryStream(
+                new ClientResponse().setStatusCode(HttpResponseStatus.NOT_FOUND.code()), null))
+        .subscribe(
+            stream -> result.handle(Future.succeededFuture(stream)),
+            error -> {
+              LOGGER.error(ERROR_MESSAGE, error);
+              result.handle(
+                  Future.succeededFuture(new RepositoryStream(processError(error), null)));
+            }
+        );
+
+    fileSystem.props(localFilePath, propsObservable.toHandler());
+  }
+
+  private String localFilePath(ClientRequest request) {
+    return catalogue + StringUtils.stripStart(request.getPath(), "/");
+  }
+
+  private MultiMap headers(String localFilePath) {
+    return contentTypeHeaders(MimeMapping.getMimeTypeForFilename(localFilePath));
+  }
+
+  private MultiMap contentTypeHeaders(String contentType) {
+    MultiMap headers = MultiMap.caseInsensitiveMultiMap();
+    Optional.ofNullable(contentType).ifPresent(value -> headers.add("Content-Type", value));
     return headers;
   }
 
-  private Observable<Buffer> processFile(final AsyncFile asyncFile) {
-    return Observable.just(Buffer.buffer())
-        .mergeWith(RxHelper.toObservable(asyncFile))
-        .reduce(Buffer::appendBuffer);
+  private MultiMap fileHeaders(String localFilePath, FileProps props) {
+    return headers(localFilePath)
+        .add("Content-Length", String.valueOf(props.size()))
+        .add("Last-Modified", HttpDates.format(props.lastModifiedTime()))
+        .add("ETag", String.format("\"%x-%x\"", props.size(), props.lastModifiedTime()));
   }
 
   private ClientResponse processError(Throwable error) {
@@ -0,0 +1,163 @@
+/*
+ * Copyright (C) 2016 Cognifide Limited
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.knotx.repository.impl;
+
+import static org.hamcrest.CoreMatchers.equalTo;
+import static org.hamcrest.MatcherAssert.assertThat;
+
+import io.knotx.repository.FilesystemRepositoryConfiguration;
+import io.vertx.core.Vertx;
+import io.vertx.core.buffer.Buffer;
+import io.vertx.core.json.JsonObject;
+import java.io.File;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+public class FileContentCacheTest {
+
+  @Rule
+  public TemporaryFolder catalogue = new TemporaryFolder();
+
+  private Vertx vertx;
+
+  @Before
+  public void setUp() {
+    vertx = Vertx.vertx();
+  }
+
+  @After
+  public void tearDown() {
+    vertx.close();
+  }
+
+  @Test
+  public void warmUp_whenCatalogueHasFiles_expectFilesCachedWithMimeTypes() throws Exception {
+    write("content/page.html", "<html></html>");
+    write("content/data.json", "{}");
+    FileContentCache cache = cache(new JsonObject());
+
+    assertThat(cache.warmUp(catalogue()), equalTo(2));
+
+    assertThat(cache.get(catalogue() + "content/page.html").get().content().toString(),
+        equalTo("<html></html>"));
+    assertThat(cache.get(catalogue() + "content/data.json").get().contentType(),
+        equalTo("application/json"));
+    assertThat(cache.stats().getLong("hitCount"), equalTo(2L));
+    assertThat(cache.stats().getLong("bytes"), equalTo(15L));
+  }
+
+  @Test
+  public void warmUp_whenCatalogueExceedsMaximumWeight_expectCacheFilledUpToWeight()
+      throws Exception {
+    write("a.html", "0123456789");
+    write("b.html", "0123456789");
+    FileContentCache cache = cache(new JsonObject().put("maximumWeight", 15));
+
+    assertThat(cache.warmUp(catalogue()), equalTo(1));
+    assertThat(cache.stats().getLong("size"), equalTo(1L));
+  }
+
+  @Test
+  public void warmUp_whenMappedStorage_expectFilesMappedOffHeap() throws Exception {
+    write("content/page.html", "<html></html>");
+    FileContentCache cache = cache(new JsonObject().put("storage", "mapped"));
+
+    assertThat(cache.warmUp(catalogue()), equalTo(1));
+
+    Buffer content = cache.get(catalogue() + "content/page.html").get().content();
+    assertThat(content.getByteBuf().isDirect(), equalTo(true));
+    assertThat(content.toString(), equalTo("<html></html>"));
+  }
+
+  @Test
+  public void load_whenMappedStorage_expectContentReadAndCached() throws Exception {
+    write("page.html", "<html></html>");
+    FileContentCache cache = cache(new JsonObject().put("storage", "MAPPED"));
+
+    Buffer content = cache.load(catalogue() + "page.html").toBlocking().single();
+
+    assertThat(content.toString(), equalTo("<html></html>"));
+    assertThat(cache.get(catalogue() + "page.html").get().content().toString(),
+        equalTo("<html></html>"));
+    assertThat(cache.stats().getLong("bytes"), equalTo(13L));
+  }
+
+  @Test
+  public void check_whenFileModified_expectEntryDropped() throws Exception {
+    File file = write("page.html", "<html></html>");
+    FileContentCache cache = cache(new JsonObject());
+    cache.warmUp(catalogue());
+
+    write("page.html", "<html><body></body></html>");
+    file.setLastModified(file.lastModified() + 2000);
+    cache.check();
+
+    long timeout = System.currentTimeMillis() + 5000;
+    while (cache.get(file.getPath()).isPresent() && System.currentTimeMillis() < timeout) {
+      Thread.sleep(10);
+    }
+    assertThat(cache.get(file.getPath()).isPresent(), equalTo(false));
+  }
+
+  @Test
+  public void check_whenMoreEntriesThanBatchSize_expectOneBatchCheckedPerCall() throws Exception {
+    File first = write("first.html", "<html></html>");
+    File second = write("second.html", "<html></html>");
+    FileContentCache cache = cache(new JsonObject().put("checkBatchSize", 1));
+    cache.warmUp(catalogue());
+
+    first.setLastModified(first.lastModified() + 2000);
+    second.setLastModified(second.lastModified() + 2000);
+    cache.check();
+    awaitSize(cache, 1L);
+    Thread.sleep(100);
+    assertThat(cache.stats().getLong("size"), equalTo(1L));
+
+    cache.check();
+    awaitSize(cache, 0L);
+    assertThat(cache.stats().getLong("size"), equalTo(0L));
+  }
+
+  private void awaitSize(FileContentCache cache, long size) throws InterruptedException {
+    long timeout = System.currentTimeMillis() + 5000;
+    while (cache.stats().getLong("size") != size && System.currentTimeMillis() < timeout) {
+      Thread.sleep(10);
+    }
+  }
+
+  private FileContentCache cache(JsonObject cacheConfig) {
+    return new FileContentCache(vertx, new FilesystemRepositoryConfiguration(new JsonObject()
+        .put("address", "knotx.core.repository.filesystem")
+        .put("catalogue", catalogue())
+        .put("cache", cacheConfig)));
+  }
+
+  private String catalogue() {
+    return catalogue.getRoot().getPath() + File.separator;
+  }
+
+  private File write(String path, String content) throws Exception {
+    File file = new File(catalogue.getRoot(), path);
+    file.getParentFile().mkdirs();
+    Files.write(file.toPath(), content.getBytes(StandardCharsets.UTF_8));
+    return file;
+  }
+}
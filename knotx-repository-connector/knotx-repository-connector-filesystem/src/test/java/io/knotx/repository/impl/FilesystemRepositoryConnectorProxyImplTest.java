@@ -0,0 +1,115 @@
+/*
+ * Copyright (C) 2016 Cognifide Limited
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.knotx.repository.impl;
+
+import static org.hamcrest.CoreMatchers.equalTo;
+import static org.hamcrest.CoreMatchers.not;
+import static org.hamcrest.CoreMatchers.sameInstance;
+import static org.hamcrest.MatcherAssert.assertThat;
+
+import io.knotx.dataobjects.ClientRequest;
+import io.knotx.dataobjects.ClientResponse;
+import io.knotx.repository.FilesystemRepositoryConfiguration;
+import io.vertx.core.Vertx;
+import io.vertx.core.buffer.Buffer;
+import io.vertx.core.json.JsonObject;
+import java.io.File;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+public class FilesystemRepositoryConnectorProxyImplTest {
+
+  @Rule
+  public TemporaryFolder catalogue = new TemporaryFolder();
+
+  private Vertx vertx;
+
+  @Before
+  public void setUp() {
+    vertx = Vertx.vertx();
+  }
+
+  @After
+  public void tearDown() {
+    vertx.close();
+  }
+
+  @Test
+  public void process_whenFileCachedMapped_expectBodyNotCopiedToHeap() throws Exception {
+    write("page.html", "<html></html>");
+
+    ClientResponse response = process(new JsonObject().put("storage", "mapped"), "/page.html");
+
+    Buffer body = response.getBody();
+    assertThat(body.toString(), equalTo("<html></html>"));
+    // a copy, even a direct one, is writable, only the view of the mapped file is read-only
+    assertThat(body.getByteBuf().isDirect(), equalTo(true));
+    assertThat(body.getByteBuf().nioBuffer().isReadOnly(), equalTo(true));
+  }
+
+  @Test
+  public void process_whenFileCachedOnHeap_expectBodyCopiedFromCache() throws Exception {
+    write("page.html", "<html></html>");
+    FileContentCache cache = cache(new JsonObject());
+    cache.warmUp(catalogue());
+
+    ClientResponse response = process(cache, "/page.html");
+
+    assertThat(response.getBody().toString(), equalTo("<html></html>"));
+    assertThat(response.getBody(),
+        not(sameInstance(cache.get(catalogue() + "page.html").get().content())));
+  }
+
+  private ClientResponse process(JsonObject cacheConfig, String path) throws Exception {
+    FileContentCache cache = cache(cacheConfig);
+    cache.warmUp(catalogue());
+    return process(cache, path);
+  }
+
+  private ClientResponse process(FileContentCache cache, String path) throws Exception {
+    CompletableFuture<ClientResponse> response = new CompletableFuture<>();
+    new FilesystemRepositoryConnectorProxyImpl(vertx, configuration(new JsonObject()), cache)
+        .process(new ClientRequest().setPath(path), result -> response.complete(result.result()));
+    return response.get(5, TimeUnit.SECONDS);
+  }
+
+  private FileContentCache cache(JsonObject cacheConfig) {
+    return new FileContentCache(vertx, configuration(cacheConfig));
+  }
+
+  private FilesystemRepositoryConfiguration configuration(JsonObject cacheConfig) {
+    return new FilesystemRepositoryConfiguration(new JsonObject()
+        .put("address", "knotx.core.repository.filesystem")
+        .put("catalogue", catalogue())
+        .put("cache", cacheConfig));
+  }
+
+  private String catalogue() {
+    return catalogue.getRoot().getPath() + File.separator;
+  }
+
+  private void write(String path, String content) throws Exception {
+    Files.write(new File(catalogue.getRoot(), path).toPath(),
+        content.getBytes(StandardCharsets.UTF_8));
+  }
+}
@@ -15,7 +15,7 @@
  */
 package io.knotx.repository;
 
-import io.knotx.proxy.RepositoryConnectorProxy;
+import io.knotx.proxy.KnotxProxyHelper;
 import io.knotx.repository.impl.RepositoryConnectorProxyImpl;
 import io.vertx.core.AbstractVerticle;
 import io.vertx.core.Context;
@@ -24,7 +24,6 @@ import io.vertx.core.eventbus.MessageConsumer;
 import io.vertx.core.json.JsonObject;
 import io.vertx.core.logging.Logger;
 import io.vertx.core.logging.LoggerFactory;
-import io.vertx.serviceproxy.ProxyHelper;
 
 public class HttpRepositoryConnectorVerticle extends AbstractVerticle {
 
@@ -32,13 +31,15 @@ public class HttpRepositoryConnectorVerticle extends AbstractVerticle {
       .getLogger(HttpRepositoryConnectorVerticle.class);
 
   private String address;
-  private MessageConsumer<JsonObject> consumer;
-
+  private String statsAddress;
+  private MessageConsumer<Object> consumer;
+  private MessageConsumer<JsonObject> statsConsumer;
 
   @Override
   public void init(Vertx vertx, Context context) {
     super.init(vertx, context);
     this.address = config().getString("address");
+    this.statsAddress = config().getString("statsAddress", address + ".stats");
   }
 
   @Override
@@ -47,13 +48,18 @@ public class HttpRepositoryConnectorVerticle extends AbstractVerticle {
     //RepositoryConnectorService service = RepositoryConnectorService.create(vertx, config());
 
     //register the service proxy on event bus
-    consumer = ProxyHelper
-        .registerService(RepositoryConnectorProxy.class, vertx,
-            new RepositoryConnectorProxyImpl(vertx, config()), address);
+    RepositoryConnectorProxyImpl connector = new RepositoryConnectorProxyImpl(vertx, config());
+    consumer = KnotxProxyHelper.registerService(vertx, connector, address);
+    statsConsumer = vertx.eventBus().consumer(statsAddress,
+        message -> message.reply(connector.stats()));
+    RepositoryStreams.register(vertx, address,
+        serverVertx -> new RepositoryConnectorProxyImpl(serverVertx, config()));
   }
 
   @Override
   public void stop() throws Exception {
-    ProxyHelper.unregisterService(consumer);
+    KnotxProxyHelper.unregisterService(consumer);
+    statsConsumer.unregister();
+    RepositoryStreams.unregister(vertx, address);
   }
 }
@@ -0,0 +1,215 @@
+/*
+ * Copyright (C) 2016 Cognifide Limited
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.knotx.repository.impl;
+
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import io.knotx.dataobjects.ClientResponse;
+import io.netty.handler.codec.http.HttpResponseStatus;
+import io.vertx.core.buffer.Buffer;
+import io.vertx.core.json.JsonObject;
+import io.vertx.rxjava.core.MultiMap;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+import java.util.function.LongSupplier;
+import org.apache.commons.lang3.StringUtils;
+import org.apache.commons.lang3.math.NumberUtils;
+
+/**
+ * Templates of the remote repository kept between requests, following the rules of a shared HTTP
+ * cache. A response is fresh for its {@code Cache-Control} {@code s-maxage} or {@code max-age}.
+ * A stale response with an {@code ETag} or {@code Last-Modified} validator is revalidated with a
+ * conditional request and served again when the repository replies {@code 304 Not Modified}.
+ * Responses marked {@code no-store} or {@code private} or varying on {@code *} are not stored,
+ * requests with {@code Authorization} or their own conditional headers bypass the cache.
+ */
+class HttpResponseCache {
+
+  private static final long DEFAULT_MAXIMUM_SIZE = 1000;
+
+  private static final List<String> BYPASS_HEADERS = Arrays.asList("Authorization", "If-Match",
+      "If-None-Match", "If-Modified-Since", "If-Unmodified-Since", "If-Range", "Range");
+
+  private static final List<String> REFRESHED_HEADERS = Arrays.asList("Cache-Control", "Date",
+      "ETag", "Expires", "Last-Modified", "Vary");
+
+  private final Cache<String, CachedResponse> cache;
+
+  private final LongSupplier clock;
+
+  HttpResponseCache(JsonObject config) {
+    this(config, System::currentTimeMillis);
+  }
+
+  HttpResponseCache(JsonObject config, LongSupplier clock) {
+    this.clock = clock;
+    CacheBuilder<Object, Object> builder = CacheBuilder.newBuilder();
+    long maximumWeight = config.getLong("maximumWeight", 0L);
+    if (maximumWeight > 0) {
+      builder.maximumWeight(maximumWeight)
+          .weigher((String uri, CachedResponse response) -> response.body.length());
+    } else {
+      builder.maximumSize(config.getLong("maximumSize", DEFAULT_MAXIMUM_SIZE));
+    }
+    this.cache = builder.build();
+  }
+
+  /**
+   * @return whether the response to the request can be taken from and stored in the cache
+   */
+  boolean isCacheable(MultiMap requestHeaders) {
+    return BYPASS_HEADERS.stream().noneMatch(requestHeaders::contains);
+  }
+
+  /**
+   * @return the response cached for the URI and the values of request headers it varies on
+   */
+  Optional<CachedResponse> get(String uri, MultiMap requestHeaders) {
+    return Optional.ofNullable(cache.getIfPresent(uri))
+        .filter(response -> response.matches(requestHeaders));
+  }
+
+  boolean isFresh(CachedResponse response) {
+    return clock.getAsLong() < response.expires;
+  }
+
+  /**
+   * Stores the response of the repository, or refreshes the cached response when the repository
+   * replied {@code 304 Not Modified} to its revalidation.
+   *
+   * @param revalidated cached response the request was conditional on
+   * @return response to send to the client
+   */
+  ClientResponse update(String uri, MultiMap requestHeaders,
+      Optional<CachedResponse> revalidated, ClientResponse response) {
+    if (revalidated.isPresent()
+        && response.getStatusCode() == HttpResponseStatus.NOT_MODIFIED.code()) {
+      CachedResponse refreshed = revalidated.get().refresh(response.getHeaders());
+      cache.put(uri, refreshed);
+      return refreshed.toClientResponse();
+    }
+    if (isStorable(response)) {
+      cache.put(uri, new CachedResponse(response, requestHeaders));
+    } else {
+      cache.invalidate(uri);
+    }
+    return response;
+  }
+
+  private boolean isStorable(ClientResponse response) {
+    Map<String, String> cacheControl = cacheControl(response.getHeaders());
+    return response.getStatusCode() == HttpResponseStatus.OK.code()
+        && !cacheControl.containsKey("no-store")
+        && !cacheControl.containsKey("private")
+        && varyNames(response.getHeaders()).stream().noneMatch("*"::equals)
+        && (maxAge(cacheControl) > 0 || response.getHeaders().contains("ETag")
+        || response.getHeaders().contains("Last-Modified"));
+  }
+
+  private long expires(MultiMap headers) {
+    return clock.getAsLong() + TimeUnit.SECONDS.toMillis(maxAge(cacheControl(headers)));
+  }
+
+  private static long maxAge(Map<String, String> cacheControl) {
+    if (cacheControl.containsKey("no-cache")) {
+      return 0;
+    }
+    return NumberUtils.toLong(Optional.ofNullable(cacheControl.get("s-maxage"))
+        .orElse(cacheControl.get("max-age")));
+  }
+
+  private static Map<String, String> cacheControl(MultiMap headers) {
+    Map<String, String> directives = new HashMap<>();
+    headers.getAll("Cache-Control").stream()
+        .flatMap(value -> Arrays.stream(value.split(",")))
+        .map(directive -> directive.trim().split("=", 2))
+        .forEach(directive -> directives.put(directive[0].toLowerCase(),
+            directive.length > 1 ? StringUtils.strip(directive[1].trim(), "\"") : ""));
+    return directives;
+  }
+
+  private static List<String> varyNames(MultiMap headers) {
+    return Arrays.asList(StringUtils.split(String.join(",", headers.getAll("Vary")), ", "));
+  }
+
+  final class CachedResponse {
+
+    private final MultiMap headers;
+
+    private final Buffer body;
+
+    private final Map<String, List<String>> varyValues = new HashMap<>();
+
+    private final long expires;
+
+    private CachedResponse(ClientResponse response, MultiMap requestHeaders) {
+      this(response.getHeaders(), response.getBody(), requestHeaders);
+    }
+
+    private CachedResponse(MultiMap headers, Buffer body, MultiMap requestHeaders) {
+      this.headers = headers;
+      this.body = body;
+      this.expires = expires(headers);
+      varyNames(headers).forEach(name -> varyValues.put(name, requestHeaders.getAll(name)));
+    }
+
+    /**
+     * @return headers of the request to the repository made conditional on this response
+     */
+    MultiMap conditionalHeaders(MultiMap requestHeaders) {
+      MultiMap conditional = MultiMap.caseInsensitiveMultiMap().addAll(requestHeaders);
+      Optional.ofNullable(headers.get("ETag"))
+          .ifPresent(etag -> conditional.set("If-None-Match", etag));
+      Optional.ofNullable(headers.get("Last-Modified"))
+          .ifPresent(lastModified -> conditional.set("If-Modified-Since", lastModified));
+      return conditional;
+    }
+
+    /**
+     * @return a copy of the response, so it can be passed by reference
+     */
+    ClientResponse toClientResponse() {
+      return new ClientResponse()
+          .setStatusCode(HttpResponseStatus.OK.code())
+          .setHeaders(headers)
+          .setBody(body);
+    }
+
+    private boolean matches(MultiMap requestHeaders) {
+      return varyValues.entrySet().stream()
+          .allMatch(vary -> Objects.equals(vary.getValue(), requestHeaders.getAll(vary.getKey())));
+    }
+
+    private CachedResponse refresh(MultiMap notModifiedHeaders) {
+      MultiMap refreshed = MultiMap.caseInsensitiveMultiMap().addAll(headers);
+      REFRESHED_HEADERS.stream()
+          .filter(notModifiedHeaders::contains)
+          .forEach(name -> {
+            refreshed.remove(name);
+            notModifiedHeaders.getAll(name).forEach(value -> refreshed.add(name, value));
+          });
+      CachedResponse response = new CachedResponse(refreshed, body,
+          MultiMap.caseInsensitiveMultiMap());
+      response.varyValues.putAll(varyValues);
+      return response;
+    }
+  }
+}
@@ -18,9 +18,14 @@ package io.knotx.repository.impl;
 import io.knotx.dataobjects.ClientRequest;
 import io.knotx.dataobjects.ClientResponse;
 import io.knotx.http.AllowedHeadersFilter;
+import io.knotx.http.HttpClientMetrics;
 import io.knotx.http.MultiMapCollector;
 import io.knotx.http.StringToPatternFunction;
+import io.knotx.proxy.Deadlines;
 import io.knotx.proxy.RepositoryConnectorProxy;
+import io.knotx.repository.RepositoryStream;
+import io.knotx.repository.StreamingRepositoryConnector;
+import io.knotx.repository.impl.HttpResponseCache.CachedResponse;
 import io.knotx.util.DataObjectsUtil;
 import io.netty.handler.codec.http.HttpResponseStatus;
 import io.vertx.core.AsyncResult;
@@ -28,36 +33,45 @@ import io.vertx.core.Future;
 import io.vertx.core.Handler;
 import io.vertx.core.Vertx;
 import io.vertx.core.http.HttpClientOptions;
+import io.vertx.core.http.HttpConnection;
 import io.vertx.core.json.JsonArray;
 import io.vertx.core.json.JsonObject;
 import io.vertx.core.logging.Logger;
 import io.vertx.core.logging.LoggerFactory;
 import io.vertx.rxjava.core.MultiMap;
-import io.vertx.rxjava.core.RxHelper;
 import io.vertx.rxjava.core.buffer.Buffer;
 import io.vertx.rxjava.core.http.HttpClient;
+import io.vertx.rxjava.core.http.HttpClientRequest;
 import io.vertx.rxjava.core.http.HttpClientResponse;
 import java.io.UnsupportedEncodingException;
 import java.net.URLEncoder;
 import java.nio.charset.UnsupportedCharsetException;
 import java.util.List;
+import java.util.Optional;
 import java.util.regex.Pattern;
 import java.util.stream.Collectors;
+import org.apache.commons.lang3.math.NumberUtils;
 import rx.Observable;
 
-public class RepositoryConnectorProxyImpl implements RepositoryConnectorProxy {
+public class RepositoryConnectorProxyImpl implements RepositoryConnectorProxy,
+    StreamingRepositoryConnector {
 
   private static final Logger LOGGER = LoggerFactory.getLogger(RepositoryConnectorProxyImpl.class);
 
   private static final String ERROR_MESSAGE = "Unable to get template from the repository";
 
+  private static final long NO_TIMER = -1L;
+
+  private final Vertx vertx;
   private final JsonObject clientOptions;
   private final JsonObject clientDestination;
   private final List<Pattern> allowedRequestHeaders;
   private final HttpClient httpClient;
-
+  private final Optional<HttpResponseCache> responseCache;
+  private final HttpClientMetrics metrics = new HttpClientMetrics();
 
   public RepositoryConnectorProxyImpl(Vertx vertx, JsonObject configuration) {
+    this.vertx = vertx;
     clientOptions = configuration.getJsonObject("clientOptions", new JsonObject());
     clientDestination = configuration.getJsonObject("clientDestination");
     allowedRequestHeaders = configuration.getJsonArray("allowedRequestHeaders", new JsonArray())
@@ -66,27 +80,45 @@ public class RepositoryConnectorProxyImpl implements RepositoryConnectorProxy {
         .map(new StringToPatternFunction())
         .collect(Collectors.toList());
     httpClient = createHttpClient(vertx);
+    responseCache = Optional.ofNullable(configuration.getJsonObject("cache"))
+        .map(HttpResponseCache::new);
   }
 
   @Override
   public void process(ClientRequest request, Handler<AsyncResult<ClientResponse>> result) {
     MultiMap requestHeaders = getFilteredHeaders(request.getHeaders());
     String repoUri = buildRepoUri(request);
+    Optional<HttpResponseCache> cache = responseCache
+        .filter(responses -> responses.isCacheable(requestHeaders));
+    Optional<CachedResponse> cached = cache
+        .flatMap(responses -> responses.get(repoUri, requestHeaders));
+
+    if (cached.isPresent() && cache.get().isFresh(cached.get())) {
+      LOGGER.trace("Got response of {} from the cache", repoUri);
+      result.handle(Future.succeededFuture(cached.get().toClientResponse()));
+      return;
+    }
+    MultiMap headers = cached.map(response -> response.conditionalHeaders(requestHeaders))
+        .orElse(requestHeaders);
 
     if (LOGGER.isTraceEnabled()) {
       LOGGER.trace("GET Http Repository: http://{}:{}{} with headers [{}]",
           clientDestination.getString("domain"),
           clientDestination.getInteger("port"),
           repoUri,
-          DataObjectsUtil.toString(requestHeaders)
+          DataObjectsUtil.toString(headers)
       );
     }
 
-    RxHelper.get(httpClient, clientDestination.getInteger("port"),
-        clientDestination.getString("domain"),
-        repoUri, requestHeaders)
+    HttpClientRequest httpRequest = httpClient.get(clientDestination.getInteger("port"),
+        clientDestination.getString("domain"), repoUri);
+    httpRequest.headers().addAll(headers);
+    metrics.send(httpRequest, null)
         .doOnNext(this::traceHttpResponse)
         .flatMap(this::processResponse)
+        .map(response -> cache
+            .map(responses -> responses.update(repoUri, requestHeaders, cached, response))
+            .orElse(response))
         .subscribe(
             response -> result.handle(Future.succeededFuture(response)),
             error -> {
@@ -96,6 +128,81 @@ public class RepositoryConnectorProxyImpl implements RepositoryConnectorProxy {
         );
   }
 
+  /**
+   * @return usage of the connection pool by the requests of processed templates
+   */
+  public JsonObject stats() {
+    return metrics.toJson()
+        .put("maxPoolSize", new HttpClientOptions(clientOptions).getMaxPoolSize());
+  }
+
+  /**
+   * Requests the resource for the server to pump it to the client. A response that comes after
+   * the deadline has been reported, and the body of an abandoned stream, close their connection,
+   * so the pooled connection is never held by a body nobody reads.
+   */
+  @Override
+  public void stream(ClientRequest request, long deadline,
+      Handler<AsyncResult<RepositoryStream>> result) {
+    String repoUri = buildRepoUri(request);
+    LOGGER.trace("Streaming Http Repository: http://{}:{}{}",
+        clientDestination.getString("domain"), clientDestination.getInteger("port"), repoUri);
+
+    HttpClientRequest httpRequest = httpClient.get(clientDestination.getInteger("port"),
+        clientDestination.getString("domain"), repoUri);
+    Future<RepositoryStream> answer = Future.future();
+    long timer = deadline == Deadlines.NONE ? NO_TIMER
+        : vertx.setTimer(Math.max(1L, Deadlines.remaining(deadline)), id -> {
+          if (!answer.isComplete()) {
+            LOGGER.warn("No response of {} from the repository before the deadline", repoUri);
+            answer.fail(Deadlines.exceeded());
+            closeConnection(httpRequest);
+          }
+        });
+    answer.setHandler(stream -> {
+      if (timer != NO_TIMER) {
+        vertx.cancelTimer(timer);
+      }
+      result.handle(stream);
+    });
+
+    httpRequest
+        .handler(response -> {
+          traceHttpResponse(response);
+          response.pause();
+          if (answer.isComplete()) {
+            closeConnection(httpRequest);
+            return;
+          }
+          answer.complete(new RepositoryStream(
+              new ClientResponse().setStatusCode(response.statusCode())
+                  .setHeaders(response.headers()),
+              (io.vertx.core.http.HttpClientResponse) response.getDelegate(),
+              () -> closeConnection(httpRequest)));
+        })
+        .exceptionHandler(error -> {
+          if (!answer.isComplete()) {
+            LOGGER.error(ERROR_MESSAGE, error);
+            answer.complete(new RepositoryStream(toErrorResponse(), null));
+          }
+        });
+    httpRequest.headers().addAll(getFilteredHeaders(request.getHeaders()));
+    httpRequest.end();
+  }
+
+  private void closeConnection(HttpClientRequest httpRequest) {
+    try {
+      HttpConnection connection =
+          ((io.vertx.core.http.HttpClientRequest) httpRequest.getDelegate()).connection();
+      if (connection != null) {
+        connection.close();
+      }
+    } catch (IllegalStateException notConnected) {
+      // the connection is closed once its response comes
+      LOGGER.trace("Request is not connected yet", notConnected);
+    }
+  }
+
   private HttpClient createHttpClient(Vertx vertx) {
     io.vertx.core.http.HttpClient httpClient =
         clientOptions.isEmpty() ? vertx.createHttpClient()
@@ -129,9 +236,9 @@ public class RepositoryConnectorProxyImpl implements RepositoryConnectorProxy {
   }
 
   private Observable<ClientResponse> processResponse(final HttpClientResponse response) {
-    return Observable.just(Buffer.buffer())
-        .mergeWith(response.toObservable())
-        .reduce(Buffer::appendBuffer)
+    int contentLength = NumberUtils.toInt(response.getHeader("Content-Length"));
+    return response.toObservable()
+        .collect(() -> Buffer.buffer(contentLength), Buffer::appendBuffer)
         .map(buffer -> toSuccessResponse(buffer, response));
   }
 
@@ -0,0 +1,106 @@
+/*
+ * Copyright (C) 2016 Cognifide Limited
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.knotx.repository.impl;
+
+import static org.hamcrest.CoreMatchers.equalTo;
+import static org.hamcrest.MatcherAssert.assertThat;
+
+import io.knotx.dataobjects.ClientResponse;
+import io.knotx.repository.impl.HttpResponseCache.CachedResponse;
+import io.vertx.core.buffer.Buffer;
+import io.vertx.core.json.JsonObject;
+import io.vertx.rxjava.core.MultiMap;
+import java.util.Optional;
+import org.junit.Test;
+
+public class HttpResponseCacheTest {
+
+  private static final String URI = "/content/page.html";
+
+  private long now = 1000000L;
+
+  private final HttpResponseCache cache = new HttpResponseCache(new JsonObject(), () -> now);
+
+  @Test
+  public void get_whenMaxAgeNotElapsed_expectFreshResponse() {
+    cache.update(URI, noHeaders(), Optional.empty(),
+        response(200, "max-age=60").setBody(Buffer.buffer("<html/>")));
+
+    CachedResponse cached = cache.get(URI, noHeaders()).get();
+
+    assertThat(cache.isFresh(cached), equalTo(true));
+    assertThat(cached.toClientResponse().getBody().toString(), equalTo("<html/>"));
+    now += 60000;
+    assertThat(cache.isFresh(cached), equalTo(false));
+  }
+
+  @Test
+  public void update_whenNotModified_expectCachedBodyRefreshed() {
+    cache.update(URI, noHeaders(), Optional.empty(), response(200, "max-age=0")
+        .setHeaders(MultiMap.caseInsensitiveMultiMap().add("ETag", "\"v1\""))
+        .setBody(Buffer.buffer("<html/>")));
+    Optional<CachedResponse> stale = cache.get(URI, noHeaders());
+    assertThat(cache.isFresh(stale.get()), equalTo(false));
+    assertThat(stale.get().conditionalHeaders(noHeaders()).get("If-None-Match"),
+        equalTo("\"v1\""));
+
+    ClientResponse response = cache.update(URI, noHeaders(), stale, response(304, "max-age=60"));
+
+    assertThat(response.getStatusCode(), equalTo(200));
+    assertThat(response.getBody().toString(), equalTo("<html/>"));
+    assertThat(cache.isFresh(cache.get(URI, noHeaders()).get()), equalTo(true));
+  }
+
+  @Test
+  public void update_whenNoStoreOrPrivate_expectNotCached() {
+    cache.update(URI, noHeaders(), Optional.empty(), response(200, "no-store, max-age=60"));
+    assertThat(cache.get(URI, noHeaders()).isPresent(), equalTo(false));
+
+    cache.update(URI, noHeaders(), Optional.empty(), response(200, "private, max-age=60"));
+    assertThat(cache.get(URI, noHeaders()).isPresent(), equalTo(false));
+  }
+
+  @Test
+  public void get_whenVaryHeaderDiffers_expectNoResponse() {
+    ClientResponse response = response(200, "max-age=60");
+    response.setHeaders(response.getHeaders().add("Vary", "Accept-Language"));
+    cache.update(URI, headers("Accept-Language", "en"), Optional.empty(), response);
+
+    assertThat(cache.get(URI, headers("Accept-Language", "en")).isPresent(), equalTo(true));
+    assertThat(cache.get(URI, headers("Accept-Language", "de")).isPresent(), equalTo(false));
+  }
+
+  @Test
+  public void isCacheable_whenAuthorizationOrConditionalRequest_expectFalse() {
+    assertThat(cache.isCacheable(noHeaders()), equalTo(true));
+    assertThat(cache.isCacheable(headers("Authorization", "Basic a2")), equalTo(false));
+    assertThat(cache.isCacheable(headers("If-None-Match", "\"v1\"")), equalTo(false));
+  }
+
+  private ClientResponse response(int statusCode, String cacheControl) {
+    return new ClientResponse().setStatusCode(statusCode)
+        .setHeaders(headers("Cache-Control", cacheControl))
+        .setBody(Buffer.buffer());
+  }
+
+  private MultiMap noHeaders() {
+    return MultiMap.caseInsensitiveMultiMap();
+  }
+
+  private MultiMap headers(String name, String value) {
+    return MultiMap.caseInsensitiveMultiMap().add(name, value);
+  }
+}
@@ -16,66 +16,155 @@
 package io.knotx.server;
 
 import io.knotx.dataobjects.ClientResponse;
+import io.knotx.dataobjects.Fragment;
 import io.knotx.dataobjects.KnotContext;
+import io.knotx.proxy.ProxyRegistry;
 import io.knotx.rxjava.proxy.KnotProxy;
+import io.knotx.util.Utf8Buffers;
 import io.netty.handler.codec.http.HttpResponseStatus;
-import io.vertx.core.Handler;
 import io.vertx.core.http.HttpHeaders;
 import io.vertx.core.logging.Logger;
 import io.vertx.core.logging.LoggerFactory;
-import io.vertx.rxjava.core.Vertx;
 import io.vertx.rxjava.core.buffer.Buffer;
 import io.vertx.rxjava.core.http.HttpServerResponse;
 import io.vertx.rxjava.ext.web.RoutingContext;
+import java.util.List;
+import java.util.stream.Collectors;
+import rx.Observable;
+import rx.functions.Func1;
 
-public class KnotxAssemblerHandler implements Handler<RoutingContext> {
+public class KnotxAssemblerHandler {
 
   private static final Logger LOGGER = LoggerFactory.getLogger(KnotxAssemblerHandler.class);
 
+  private ProxyRegistry proxies;
+
   private KnotProxy assembler;
 
   private KnotxServerConfiguration configuration;
 
-  private KnotxAssemblerHandler(Vertx vertx, KnotxServerConfiguration configuration) {
+  private KnotxAssemblerHandler(ProxyRegistry proxies, KnotxServerConfiguration configuration) {
     this.configuration = configuration;
-    this.assembler = KnotProxy.createProxy(vertx, configuration.assemblerAddress());
+    this.proxies = proxies;
+    this.assembler = proxies.knotProxy(configuration.assemblerAddress());
   }
 
-  static KnotxAssemblerHandler create(Vertx vertx, KnotxServerConfiguration configuration) {
-    return new KnotxAssemblerHandler(vertx, configuration);
+  static KnotxAssemblerHandler create(ProxyRegistry proxies,
+      KnotxServerConfiguration configuration) {
+    return new KnotxAssemblerHandler(proxies, configuration);
   }
 
-  @Override
-  public void handle(RoutingContext context) {
-    KnotContext knotContext = context.get("knotContext");
-
-    if (isOkClientResponse(knotContext.getClientResponse())) {
-      assembler.processObservable(knotContext)
-          .doOnNext(this::traceMessage)
-          .subscribe(
-              ctx -> {
-                if (isOkClientResponse(ctx.getClientResponse())) {
-                  sendResponse(context, ctx.getClientResponse());
-                } else {
-                  context.fail(ctx.getClientResponse().getStatusCode());
-                }
-              },
-              error -> {
-                LOGGER.error("Error happened while communicating with {} engine", error,
-                    configuration.splitterAddress());
-                context.fail(error);
-              }
-          );
-    } else {
-      sendResponse(context, knotContext.getClientResponse());
+  /**
+   * Assembles fragments of a successfully processed context into the response body.
+   *
+   * @return the response to send, empty when the request failed
+   */
+  Observable<ClientResponse> process(RoutingContext context, KnotContext knotContext) {
+    if (!isOkClientResponse(knotContext.getClientResponse())) {
+      return Observable.just(knotContext.getClientResponse());
+    }
+    return assembler.processObservable(knotContext)
+        .compose(proxies.withinDeadline(knotContext.getDeadline()))
+        .doOnNext(this::traceMessage)
+        .doOnError(error -> LOGGER.error("Error happened while communicating with {} engine",
+            error, configuration.assemblerAddress()))
+        .flatMap(ctx -> {
+          if (isOkClientResponse(ctx.getClientResponse())) {
+            return Observable.just(ctx.getClientResponse());
+          }
+          context.fail(ctx.getClientResponse().getStatusCode());
+          return Observable.empty();
+        });
+  }
+
+  /**
+   * @return true when the page starts with raw fragments followed by fragments processed by Knots
+   */
+  static boolean isStreamable(KnotContext knotContext) {
+    int head = rawHeadSize(knotContext.getFragments());
+    return head > 0 && head < knotContext.getFragments().size();
+  }
+
+  /**
+   * Sends the page as a chunked response, in order. The leading raw fragments are final as soon as
+   * the page is split, so they are sent right away with the headers of the template. The remaining
+   * fragments are sent once the engine has processed them and the assembler has assembled them.
+   * Headers and status code set by the Knots can not be sent anymore, a failure after the first
+   * chunk closes the connection.
+   *
+   * @param engine - processes the context of the remaining fragments
+   * @return observable completing when the response has ended, it emits no responses to send
+   */
+  Observable<ClientResponse> stream(RoutingContext context, KnotContext knotContext,
+      Func1<KnotContext, Observable<KnotContext>> engine) {
+    List<Fragment> fragments = knotContext.getFragments();
+    int head = rawHeadSize(fragments);
+    KnotContext tail = new KnotContext()
+        .setClientRequest(knotContext.getClientRequest())
+        .setClientResponse(knotContext.getClientResponse())
+        .setTransition(knotContext.getTransition())
+        .setFragments(fragments.subList(head, fragments.size()))
+        .setDeadline(knotContext.getDeadline());
+
+    return Observable.concat(
+        Observable.just(Utf8Buffers.encode(fragments.subList(0, head).stream()
+            .map(Fragment::content)
+            .collect(Collectors.toList()))),
+        Observable.defer(() -> engine.call(tail)).concatMap(this::assembleChunk))
+        .concatMap(chunk -> {
+          sendChunk(context, knotContext.getClientResponse(), chunk);
+          return Observable.<ClientResponse>empty();
+        })
+        .doOnCompleted(() -> context.response().end());
+  }
+
+  private Observable<io.vertx.core.buffer.Buffer> assembleChunk(KnotContext knotContext) {
+    if (!isOkClientResponse(knotContext.getClientResponse())) {
+      return Observable.error(new IllegalStateException("Knots responded with status "
+          + knotContext.getClientResponse().getStatusCode() + " after the response was sent"));
+    }
+    return assembler.processObservable(knotContext)
+        .compose(proxies.withinDeadline(knotContext.getDeadline()))
+        .doOnNext(this::traceMessage)
+        .doOnError(error -> LOGGER.error("Error happened while communicating with {} engine",
+            error, configuration.assemblerAddress()))
+        .flatMap(ctx -> {
+          int statusCode = ctx.getClientResponse().getStatusCode();
+          if (statusCode == HttpResponseStatus.OK.code()) {
+            return Observable.just(ctx.getClientResponse().getBody());
+          } else if (statusCode == HttpResponseStatus.NO_CONTENT.code()) {
+            return Observable.just(io.vertx.core.buffer.Buffer.buffer());
+          }
+          return Observable.error(new IllegalStateException(
+              "Assembler responded with status " + statusCode + " after the response was sent"));
+        });
+  }
+
+  private void sendChunk(RoutingContext context, ClientResponse template,
+      io.vertx.core.buffer.Buffer chunk) {
+    HttpServerResponse httpResponse = context.response();
+    if (!httpResponse.headWritten()) {
+      writeHeaders(httpResponse, template);
+      httpResponse.setChunked(true).setStatusCode(HttpResponseStatus.OK.code());
+    }
+    if (chunk.length() > 0) {
+      httpResponse.write(Buffer.newInstance(chunk));
+    }
+  }
+
+  private static int rawHeadSize(List<Fragment> fragments) {
+    int head = 0;
+    while (head < fragments.size() && fragments.get(head).isRaw()) {
+      head++;
     }
+    return head;
   }
 
   private boolean isOkClientResponse(ClientResponse clientResponse) {
     return clientResponse.getStatusCode() == HttpResponseStatus.OK.code();
   }
 
-  private void sendResponse(final RoutingContext context, final ClientResponse clientResponse) {
+  void sendResponse(final RoutingContext context, final ClientResponse clientResponse) {
     HttpServerResponse httpResponse = context.response();
     writeHeaders(context.response(), clientResponse);
 
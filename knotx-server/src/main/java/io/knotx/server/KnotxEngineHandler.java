@@ -16,75 +16,63 @@
 package io.knotx.server;
 
 import io.knotx.dataobjects.KnotContext;
+import io.knotx.proxy.ProxyRegistry;
 import io.knotx.rxjava.proxy.KnotProxy;
-import io.knotx.util.OptionalAction;
-import io.vertx.core.Handler;
 import io.vertx.core.logging.Logger;
 import io.vertx.core.logging.LoggerFactory;
-import io.vertx.rxjava.core.Vertx;
-import io.vertx.rxjava.ext.web.RoutingContext;
 import java.util.Map;
 import java.util.Optional;
+import rx.Observable;
 
-class KnotxEngineHandler implements Handler<RoutingContext> {
+class KnotxEngineHandler {
 
   private static final Logger LOGGER = LoggerFactory.getLogger(KnotxEngineHandler.class);
-  private Vertx vertx;
+  private ProxyRegistry proxies;
   private String address;
   private Map<String, RoutingEntry> routing;
 
-  private KnotxEngineHandler(Vertx vertx, String address, Map<String, RoutingEntry> routing) {
-    this.vertx = vertx;
+  private KnotxEngineHandler(ProxyRegistry proxies, String address,
+      Map<String, RoutingEntry> routing) {
+    this.proxies = proxies;
     this.address = address;
     this.routing = routing;
   }
 
-  static KnotxEngineHandler create(Vertx vertx, String address,
+  static KnotxEngineHandler create(ProxyRegistry proxies, String address,
       Map<String, RoutingEntry> routing) {
-    return new KnotxEngineHandler(vertx, address, routing);
+    return new KnotxEngineHandler(proxies, address, routing);
   }
 
-  @Override
-  public void handle(RoutingContext context) {
-    try {
-      handleRoute(context, address, routing);
-    } catch (Exception ex) {
-      LOGGER.error("Something very unexpected happened", ex);
-      context.fail(ex);
-    }
+  /**
+   * Passes the context through the Knot of the route and the Knots its transitions lead to.
+   *
+   * @return the context returned by the last Knot
+   */
+  Observable<KnotContext> process(KnotContext knotContext) {
+    return Observable.defer(() -> processRoute(knotContext, address, routing));
   }
 
-  private void handleRoute(final RoutingContext context, final String address,
-      final Map<String, RoutingEntry> routing) {
-    KnotContext knotContext = context.get("knotContext");
-    KnotProxy knot = KnotProxy.createProxy(vertx, address);
+  private Observable<KnotContext> processRoute(final KnotContext knotContext,
+      final String address, final Map<String, RoutingEntry> routing) {
+    KnotProxy knot = proxies.knotProxy(address);
 
-    knot.processObservable(knotContext)
-        .doOnNext(ctx -> context.put("knotContext", ctx))
-        .subscribe(
-            ctx -> OptionalAction.of(Optional.ofNullable(ctx.getTransition()))
-                .ifPresent(on -> {
-                  RoutingEntry entry = routing.get(on);
-                  if (entry != null) {
-                    handleRoute(context, entry.address(), entry.onTransition());
-                  } else {
-                    LOGGER.trace(
-                        "No on criteria defined in routing for {} transition received from {}", on,
-                        address);
-                    // last knot can return default transition
-                    context.put("knotContext", ctx);
-                    context.next();
-                  }
-                })
-                .ifNotPresent(() -> {
-                  context.put("knotContext", ctx);
-                  context.next();
-                }),
-            error -> {
-              LOGGER.error("Error happened while communicating with {} engine", error, address);
-              context.fail(error);
-            }
-        );
+    return knot.processObservable(knotContext)
+        .compose(proxies.withinDeadline(knotContext.getDeadline()))
+        .doOnError(error -> LOGGER
+            .error("Error happened while communicating with {} engine", error, address))
+        .map(ctx -> ctx.setDeadline(knotContext.getDeadline()))
+        .flatMap(ctx -> {
+          Optional<String> transition = Optional.ofNullable(ctx.getTransition());
+          RoutingEntry entry = transition.map(routing::get).orElse(null);
+          if (entry != null) {
+            return processRoute(ctx, entry.address(), entry.onTransition());
+          }
+          transition.ifPresent(on -> LOGGER.trace(
+              "No on criteria defined in routing for {} transition received from {}", on,
+              address));
+          // last knot can return default transition
+          return Observable.just(ctx);
+        });
   }
 
 }
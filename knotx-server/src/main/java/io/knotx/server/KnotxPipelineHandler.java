@@ -0,0 +1,106 @@
+/*
+ * Copyright (C) 2016 Cognifide Limited
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.knotx.server;
+
+import io.knotx.proxy.Deadlines;
+import io.knotx.proxy.ProxyRegistry;
+import io.netty.handler.codec.http.HttpResponseStatus;
+import io.vertx.core.Handler;
+import io.vertx.core.http.HttpMethod;
+import io.vertx.core.logging.Logger;
+import io.vertx.core.logging.LoggerFactory;
+import io.vertx.rxjava.ext.web.RoutingContext;
+import java.util.IdentityHashMap;
+import java.util.Map;
+import java.util.Optional;
+import rx.Subscription;
+
+/**
+ * Handles all routes of one HTTP method. The route is matched once per request and the request
+ * then goes through the repository, splitter, engine and assembler stages as one flow, within
+ * the time budget of the route. The flow is dropped when the client closes the connection.
+ * Routes with response streaming send the leading raw fragments of a page before the Knots
+ * process the remaining fragments.
+ */
+class KnotxPipelineHandler implements Handler<RoutingContext> {
+
+  private static final Logger LOGGER = LoggerFactory.getLogger(KnotxPipelineHandler.class);
+
+  private final HttpMethod method;
+
+  private final KnotxServerConfiguration configuration;
+
+  private final KnotxRepositoryHandler repository;
+
+  private final KnotxSplitterHandler splitter;
+
+  private final KnotxAssemblerHandler assembler;
+
+  private final Map<RoutingEntry, KnotxEngineHandler> engines = new IdentityHashMap<>();
+
+  private KnotxPipelineHandler(ProxyRegistry proxies, KnotxServerConfiguration configuration,
+      HttpMethod method) {
+    this.method = method;
+    this.configuration = configuration;
+    this.repository = KnotxRepositoryHandler.create(proxies, configuration);
+    this.splitter = KnotxSplitterHandler.create(proxies, configuration);
+    this.assembler = KnotxAssemblerHandler.create(proxies, configuration);
+    configuration.getEngineRouting().get(method).forEach(
+        criteria -> engines.put(criteria, KnotxEngineHandler
+            .create(proxies, criteria.address(), criteria.onTransition())));
+  }
+
+  static KnotxPipelineHandler create(ProxyRegistry proxies,
+      KnotxServerConfiguration configuration, HttpMethod method) {
+    return new KnotxPipelineHandler(proxies, configuration, method);
+  }
+
+  @Override
+  public void handle(RoutingContext context) {
+    Optional<RoutingEntry> route = configuration.routeForPath(method, context.request().path());
+    if (!route.isPresent()) {
+      context.fail(HttpResponseStatus.NOT_FOUND.code());
+      return;
+    }
+    KnotxEngineHandler engine = engines.get(route.get());
+    long deadline = Deadlines.after(configuration.requestTimeout(route.get()));
+    boolean streaming = configuration.responseStreaming(route.get());
+
+    Subscription flow = repository.process(context, deadline)
+        .flatMap(knotContext -> splitter.process(context, knotContext.setDeadline(deadline)))
+        .flatMap(knotContext -> streaming && KnotxAssemblerHandler.isStreamable(knotContext)
+            ? assembler.stream(context, knotContext.setDeadline(deadline), engine::process)
+            : engine.process(knotContext.setDeadline(deadline))
+                .flatMap(ctx -> assembler.process(context, ctx.setDeadline(deadline))))
+        .subscribe(
+            clientResponse -> assembler.sendResponse(context, clientResponse),
+            error -> fail(context, error)
+        );
+    context.response().closeHandler(closed -> flow.unsubscribe());
+  }
+
+  private void fail(RoutingContext context, Throwable error) {
+    if (context.response().headWritten()) {
+      LOGGER.error("Streamed response of {} failed, closing the connection", error,
+          context.request().path());
+      context.response().close();
+    } else if (Deadlines.isTimeout(error)) {
+      context.fail(HttpResponseStatus.GATEWAY_TIMEOUT.code());
+    } else {
+      context.fail(error);
+    }
+  }
+}
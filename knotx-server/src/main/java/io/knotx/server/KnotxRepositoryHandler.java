@@ -18,70 +18,166 @@ package io.knotx.server;
 import io.knotx.dataobjects.ClientRequest;
 import io.knotx.dataobjects.ClientResponse;
 import io.knotx.dataobjects.KnotContext;
-import io.knotx.rxjava.proxy.RepositoryConnectorProxy;
+import io.knotx.proxy.Deadlines;
+import io.knotx.proxy.ProxyRegistry;
+import io.knotx.repository.RepositoryStream;
+import io.knotx.repository.StreamingRepositoryConnector;
 import io.netty.handler.codec.http.HttpResponseStatus;
-import io.vertx.core.Handler;
+import io.vertx.core.http.HttpHeaders;
 import io.vertx.core.logging.Logger;
 import io.vertx.core.logging.LoggerFactory;
+import io.vertx.core.streams.Pump;
+import io.vertx.core.streams.ReadStream;
 import io.vertx.rxjava.core.MultiMap;
-import io.vertx.rxjava.core.Vertx;
 import io.vertx.rxjava.core.buffer.Buffer;
 import io.vertx.rxjava.core.http.HttpServerResponse;
 import io.vertx.rxjava.ext.web.RoutingContext;
 import java.util.Optional;
+import java.util.concurrent.atomic.AtomicBoolean;
+import rx.Observable;
+import rx.subscriptions.Subscriptions;
 
-public class KnotxRepositoryHandler implements Handler<RoutingContext> {
+public class KnotxRepositoryHandler {
 
   private static final Logger LOGGER = LoggerFactory.getLogger(KnotxRepositoryHandler.class);
 
-  private Vertx vertx;
+  private ProxyRegistry proxies;
 
   private KnotxServerConfiguration configuration;
 
-  private KnotxRepositoryHandler(Vertx vertx, KnotxServerConfiguration configuration) {
-    this.vertx = vertx;
+  private KnotxRepositoryHandler(ProxyRegistry proxies,
+      KnotxServerConfiguration configuration) {
+    this.proxies = proxies;
     this.configuration = configuration;
   }
 
-  public static KnotxRepositoryHandler create(Vertx vertx, KnotxServerConfiguration configuration) {
-    return new KnotxRepositoryHandler(vertx, configuration);
+  public static KnotxRepositoryHandler create(ProxyRegistry proxies,
+      KnotxServerConfiguration configuration) {
+    return new KnotxRepositoryHandler(proxies, configuration);
   }
 
-  @Override
-  public void handle(RoutingContext context) {
+  /**
+   * Fetches the template of the requested path.
+   *
+   * @param deadline deadline of the request, see {@link Deadlines}
+   * @return the context with the template when it should be processed by the Knots, empty when
+   * the response has already been sent or the request failed
+   */
+  Observable<KnotContext> process(RoutingContext context, long deadline) {
     final Optional<KnotxServerConfiguration.RepositoryEntry> repositoryEntry = configuration
         .repositoryForPath(context.request().path());
-    final KnotContext knotContext = toKnotContext(context);
-
-    if (repositoryEntry.isPresent()) {
-      RepositoryConnectorProxy.createProxy(vertx, repositoryEntry.get().address())
-          .processObservable(knotContext.getClientRequest())
-          .doOnNext(this::traceMessage)
-          .subscribe(
-              repoResponse -> {
-                if (isSuccessResponse(repoResponse)) {
-                  if (repositoryEntry.get().doProcessing()) {
-                    knotContext.setClientResponse(repoResponse);
-                    context.put("knotContext", knotContext);
-                    context.next();
-                  } else {
-                    writeHeaders(context.response(), repoResponse.getHeaders());
-                    context.response().setStatusCode(repoResponse.getStatusCode())
-                        .end(Buffer.newInstance(repoResponse.getBody()));
-                  }
-                } else if (isErrorResponse(repoResponse)) {
-                  context.fail(repoResponse.getStatusCode());
-                } else {
-                  writeHeaders(context.response(),
-                      repoResponse.getHeaders().add("Content-Length", "0"));
-                  context.response().setStatusCode(repoResponse.getStatusCode()).end();
-                }
-              },
-              error -> context.fail(error)
-          );
+    final KnotContext knotContext = toKnotContext(context).setDeadline(deadline);
 
-    } else {
+    if (!repositoryEntry.isPresent()) {
       context.fail(HttpResponseStatus.NOT_FOUND.code());
+      return Observable.empty();
+    }
+    if (!repositoryEntry.get().doProcessing()) {
+      Optional<StreamingRepositoryConnector> streaming = proxies
+          .streamingRepositoryConnector(repositoryEntry.get().address());
+      if (streaming.isPresent()) {
+        return stream(context, streaming.get(), knotContext.getClientRequest(), deadline);
+      }
+    }
+    return proxies.repositoryConnectorProxy(repositoryEntry.get().address())
+        .processObservable(knotContext.getClientRequest())
+        .compose(proxies.withinDeadline(deadline))
+        .doOnNext(this::traceMessage)
+        .flatMap(repoResponse -> {
+          if (isSuccessResponse(repoResponse) && repositoryEntry.get().doProcessing()) {
+            return Observable.just(knotContext.setClientResponse(repoResponse));
+          }
+          sendResponse(context, repoResponse);
+          return Observable.empty();
+        });
+  }
+
+  /**
+   * Pumps the body of a repository deployed in this Vert.x instance straight to the client, with
+   * back-pressure, instead of getting it as a whole over the event bus. Local files are sent with
+   * {@code sendFile}, see {@link RepositoryFileSender}. Bodies that are not sent are discarded,
+   * and the body of a stream the flow no longer waits for is closed.
+   */
+  private Observable<KnotContext> stream(RoutingContext context,
+      StreamingRepositoryConnector connector, ClientRequest request, long deadline) {
+    Observable<RepositoryStream> repoStream = Observable.create(subscriber ->
+        connector.stream(request, deadline, result -> {
+          if (result.failed()) {
+            subscriber.onError(result.cause());
+          } else if (subscriber.isUnsubscribed()) {
+            result.result().close();
+          } else {
+            subscriber.onNext(result.result());
+            subscriber.onCompleted();
+          }
+        }));
+    return repoStream.flatMap(stream -> {
+      if (isSuccessResponse(stream.getResponse()) && stream.getFile() != null) {
+        writeHeaders(context.response(), stream.getResponse().getHeaders());
+        RepositoryFileSender.send(context, stream);
+      } else if (isSuccessResponse(stream.getResponse()) && stream.getBody() != null) {
+        return pipe(context, stream);
+      } else {
+        stream.discard();
+        sendResponse(context, stream.getResponse());
+      }
+      return Observable.empty();
+    });
+  }
+
+  /**
+   * @return observable completing when the whole body has been sent, unsubscribing from it before
+   * closes the body, e.g. when the client closes the connection
+   */
+  private Observable<KnotContext> pipe(RoutingContext context, RepositoryStream stream) {
+    return Observable.create(subscriber -> {
+      io.vertx.core.http.HttpServerResponse response =
+          (io.vertx.core.http.HttpServerResponse) context.response().getDelegate();
+      ReadStream<io.vertx.core.buffer.Buffer> body = stream.getBody();
+      AtomicBoolean ended = new AtomicBoolean();
+
+      writeHeaders(context.response(), stream.getResponse().getHeaders());
+      if (!response.headers().contains(HttpHeaders.CONTENT_LENGTH)) {
+        response.setChunked(true);
+      }
+      response.setStatusCode(stream.getResponse().getStatusCode());
+      body.exceptionHandler(error -> {
+        if (ended.getAndSet(true)) {
+          return;
+        }
+        LOGGER.error("Error happened while streaming <{}>", error, context.request().path());
+        stream.close();
+        response.close();
+        subscriber.onCompleted();
+      });
+      body.endHandler(end -> {
+        ended.set(true);
+        response.end();
+        subscriber.onCompleted();
+      });
+      subscriber.add(Subscriptions.create(() -> {
+        if (!ended.getAndSet(true)) {
+          LOGGER.debug("Streaming <{}> aborted, closing the repository response",
+              context.request().path());
+          stream.close();
+        }
+      }));
+      Pump.pump(body, response).start();
+      body.resume();
+    });
+  }
+
+  private void sendResponse(RoutingContext context, ClientResponse repoResponse) {
+    if (isSuccessResponse(repoResponse)) {
+      writeHeaders(context.response(), repoResponse.getHeaders());
+      context.response().setStatusCode(repoResponse.getStatusCode())
+          .end(Buffer.newInstance(repoResponse.getBody()));
+    } else if (isErrorResponse(repoResponse)) {
+      context.fail(repoResponse.getStatusCode());
+    } else {
+      writeHeaders(context.response(),
+          repoResponse.getHeaders().add("Content-Length", "0"));
+      context.response().setStatusCode(repoResponse.getStatusCode()).end();
     }
   }
 
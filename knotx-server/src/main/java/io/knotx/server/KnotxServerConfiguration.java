@@ -17,10 +17,12 @@ package io.knotx.server;
 
 import com.google.common.collect.Lists;
 import com.google.common.collect.Maps;
+import io.knotx.proxy.DeliveryCodecMapping;
 import io.vertx.core.http.HttpMethod;
 import io.vertx.core.json.JsonArray;
 import io.vertx.core.json.JsonObject;
 import java.util.EnumMap;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
@@ -35,7 +37,7 @@ public class KnotxServerConfiguration {
 
   private Set<String> allowedResponseHeaders;
 
-  private Map<String, RepositoryEntry> repositoryAddressMapping;
+  private PathIndex<RepositoryEntry> repositories;
 
   private String splitterAddress;
 
@@ -43,23 +45,47 @@ public class KnotxServerConfiguration {
 
   private EnumMap<HttpMethod, List<RoutingEntry>> engineRouting;
 
+  private PathIndex<RoutingEntry> routedPaths;
+
+  private EnumMap<HttpMethod, PathIndex<RoutingEntry>> methodRoutes;
+
+  private DeliveryCodecMapping deliveryCodecs;
+
+  private long requestTimeout;
+
+  private boolean responseStreaming;
+
   public KnotxServerConfiguration(JsonObject config) {
     httpPort = config.getInteger("httpPort");
     splitterAddress = config.getJsonObject("splitter").getString("address");
     assemblerAddress = config.getJsonObject("assembler").getString("address");
 
     displayExceptionDetails = config.getBoolean("displayExceptionDetails", false);
+    deliveryCodecs = new DeliveryCodecMapping(config);
+    requestTimeout = config.getLong("requestTimeout", 0L);
+    responseStreaming = config.getBoolean("responseStreaming", false);
 
     engineRouting = Maps.newEnumMap(HttpMethod.class);
     config.getJsonObject("routing").stream()
         .forEach(entry -> parseMethodRouting(entry));
-
-    repositoryAddressMapping = Maps.newHashMap();
+    Map<String, RoutingEntry> routes = new LinkedHashMap<>();
+    engineRouting.values().forEach(
+        entries -> entries.forEach(entry -> routes.putIfAbsent(entry.path(), entry)));
+    routedPaths = new PathIndex<>(routes, PathIndex.DEFAULT_CACHE_SIZE);
+    methodRoutes = Maps.newEnumMap(HttpMethod.class);
+    engineRouting.forEach((method, entries) -> {
+      Map<String, RoutingEntry> methodEntries = new LinkedHashMap<>();
+      entries.forEach(entry -> methodEntries.putIfAbsent(entry.path(), entry));
+      methodRoutes.put(method, new PathIndex<>(methodEntries, PathIndex.DEFAULT_CACHE_SIZE));
+    });
+
+    Map<String, RepositoryEntry> repositoryAddressMapping = new LinkedHashMap<>();
     config.getJsonArray("repositories").stream()
         .map(item -> (JsonObject) item)
-        .forEach(object -> repositoryAddressMapping.put(object.getString("path"),
+        .forEach(object -> repositoryAddressMapping.putIfAbsent(object.getString("path"),
             new RepositoryEntry(object.getString("address"),
                 object.getBoolean("doProcessing", true))));
+    repositories = new PathIndex<>(repositoryAddressMapping, PathIndex.DEFAULT_CACHE_SIZE);
 
     allowedResponseHeaders = config.getJsonArray("allowedResponseHeaders").stream()
         .map(item -> ((String) item).toLowerCase())
@@ -82,10 +108,47 @@ public class KnotxServerConfiguration {
     return httpPort;
   }
 
+  /**
+   * @return the first repository, in the configured order, whose path matches the given one
+   */
   public Optional<RepositoryEntry> repositoryForPath(final String path) {
-    return repositoryAddressMapping.entrySet().stream()
-        .filter(mapping -> path.matches(mapping.getKey()))
-        .findFirst().map(matching -> matching.getValue());
+    return repositories.find(path);
+  }
+
+  /**
+   * @return true when the path matches the path of any routing entry, regardless of its method
+   */
+  public boolean isRoutedPath(final String path) {
+    return routedPaths.find(path).isPresent();
+  }
+
+  /**
+   * @return the first routing entry of the method, in the configured order, whose path matches
+   * the given one
+   */
+  public Optional<RoutingEntry> routeForPath(final HttpMethod method, final String path) {
+    return Optional.ofNullable(methodRoutes.get(method))
+        .flatMap(routes -> routes.find(path));
+  }
+
+  /**
+   * @return time budget in milliseconds of requests matching the routing entry, {@code 0} when
+   * they have no deadline
+   */
+  public long requestTimeout(RoutingEntry route) {
+    return route.timeout() > 0 ? route.timeout() : requestTimeout;
+  }
+
+  /**
+   * @return true when leading raw fragments of pages matching the routing entry are sent to the
+   * client before the Knots process the remaining fragments
+   */
+  public boolean responseStreaming(RoutingEntry route) {
+    return route.streaming() != null ? route.streaming() : responseStreaming;
+  }
+
+  public DeliveryCodecMapping deliveryCodecs() {
+    return deliveryCodecs;
   }
 
   public Set<String> allowedResponseHeaders() {
@@ -108,7 +171,8 @@ public class KnotxServerConfiguration {
 
   private RoutingEntry parseRoutingCriteria(JsonObject object) {
     return new RoutingEntry(object.getString("path"), object.getString("address"),
-        parseOnTransition(object.getJsonObject("onTransition")));
+        parseOnTransition(object.getJsonObject("onTransition")), object.getLong("timeout", 0L),
+        object.getBoolean("streaming"));
   }
 
   private Map<String, RoutingEntry> parseOnTransition(JsonObject onTransition) {
@@ -15,6 +15,7 @@
  */
 package io.knotx.server;
 
+import io.knotx.proxy.ProxyRegistry;
 import io.vertx.core.Context;
 import io.vertx.core.Future;
 import io.vertx.core.Vertx;
@@ -44,6 +45,7 @@ public class KnotxServerVerticle extends AbstractVerticle {
   public void start(Future<Void> fut) throws IOException, URISyntaxException {
     LOGGER.info("Starting <{}>", this.getClass().getSimpleName());
     Router router = Router.router(vertx);
+    ProxyRegistry proxies = new ProxyRegistry(vertx, configuration.deliveryCodecs());
 
     router.route().handler(SupportedMethodsAndPathsHandler.create(configuration));
     configuration.getEngineRouting().entrySet()
@@ -51,30 +53,8 @@ public class KnotxServerVerticle extends AbstractVerticle {
           if (entry.getKey() == HttpMethod.POST) {
             router.route().method(entry.getKey()).handler(BodyHandler.create());
           }
-          entry.getValue().forEach(
-              criteria -> {
-                router.route()
-                    .method(entry.getKey())
-                    .pathRegex(criteria.path())
-                    .handler(KnotxRepositoryHandler.create(vertx, configuration));
-
-                router.route()
-                    .method(entry.getKey())
-                    .pathRegex(criteria.path())
-                    .handler(KnotxSplitterHandler.create(vertx, configuration));
-
-                router.route()
-                    .method(entry.getKey())
-                    .pathRegex(criteria.path())
-                    .handler(KnotxEngineHandler
-                        .create(vertx, criteria.address(), criteria.onTransition()));
-
-                router.route()
-                    .method(entry.getKey())
-                    .pathRegex(criteria.path())
-                    .handler(KnotxAssemblerHandler.create(vertx, configuration));
-              }
-          );
+          router.route().method(entry.getKey())
+              .handler(KnotxPipelineHandler.create(proxies, configuration, entry.getKey()));
         });
     router.route().failureHandler(ErrorHandler.create(configuration.displayExceptionDetails()));
 
@@ -16,52 +16,53 @@
 package io.knotx.server;
 
 import io.knotx.dataobjects.KnotContext;
+import io.knotx.proxy.ProxyRegistry;
 import io.knotx.rxjava.proxy.KnotProxy;
 import io.netty.handler.codec.http.HttpResponseStatus;
-import io.vertx.core.Handler;
 import io.vertx.core.logging.Logger;
 import io.vertx.core.logging.LoggerFactory;
-import io.vertx.rxjava.core.Vertx;
 import io.vertx.rxjava.ext.web.RoutingContext;
+import rx.Observable;
 
-public class KnotxSplitterHandler implements Handler<RoutingContext> {
+public class KnotxSplitterHandler {
 
   private static final Logger LOGGER = LoggerFactory.getLogger(KnotxSplitterHandler.class);
 
+  private ProxyRegistry proxies;
+
   private KnotProxy splitter;
 
   private KnotxServerConfiguration configuration;
 
-  private KnotxSplitterHandler(Vertx vertx, KnotxServerConfiguration configuration) {
-    this.splitter = KnotProxy.createProxy(vertx, configuration.splitterAddress());
+  private KnotxSplitterHandler(ProxyRegistry proxies, KnotxServerConfiguration configuration) {
+    this.proxies = proxies;
+    this.splitter = proxies.knotProxy(configuration.splitterAddress());
     this.configuration = configuration;
   }
 
-  public static KnotxSplitterHandler create(Vertx vertx, KnotxServerConfiguration configuration) {
-    return new KnotxSplitterHandler(vertx, configuration);
+  public static KnotxSplitterHandler create(ProxyRegistry proxies,
+      KnotxServerConfiguration configuration) {
+    return new KnotxSplitterHandler(proxies, configuration);
   }
 
-  @Override
-  public void handle(RoutingContext context) {
-    KnotContext knotContext = context.get("knotContext");
-
-    splitter.processObservable(knotContext)
+  /**
+   * Splits the template into fragments.
+   *
+   * @return the context with fragments, empty when the request failed
+   */
+  Observable<KnotContext> process(RoutingContext context, KnotContext knotContext) {
+    return splitter.processObservable(knotContext)
+        .compose(proxies.withinDeadline(knotContext.getDeadline()))
         .doOnNext(this::traceMessage)
-        .subscribe(
-            ctx -> {
-              if (ctx.getClientResponse().getStatusCode() == HttpResponseStatus.OK.code()) {
-                context.put("knotContext", ctx);
-                context.next();
-              } else {
-                context.fail(ctx.getClientResponse().getStatusCode());
-              }
-            },
-            error -> {
-              LOGGER.error("Error happened while communicating with {} engine", error,
-                  configuration.splitterAddress());
-              context.fail(error);
-            }
-        );
+        .doOnError(error -> LOGGER.error("Error happened while communicating with {} engine",
+            error, configuration.splitterAddress()))
+        .flatMap(ctx -> {
+          if (ctx.getClientResponse().getStatusCode() == HttpResponseStatus.OK.code()) {
+            return Observable.just(ctx);
+          }
+          context.fail(ctx.getClientResponse().getStatusCode());
+          return Observable.empty();
+        });
   }
 
   private void traceMessage(KnotContext ctx) {
@@ -0,0 +1,134 @@
+/*
+ * Copyright (C) 2016 Cognifide Limited
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.knotx.server;
+
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.regex.Pattern;
+
+/**
+ * Finds the first of the configured path regular expressions matching a request path. The
+ * expressions are compiled once and indexed by their literal prefixes, so only the expressions
+ * whose prefix starts the path are evaluated. Results are remembered for the most recent paths.
+ *
+ * @param <T> value assigned to a path expression
+ */
+class PathIndex<T> {
+
+  static final long DEFAULT_CACHE_SIZE = 10_000L;
+
+  private static final String METACHARACTERS = "\\^$.|?*+()[]{}";
+
+  private static final String QUANTIFIERS = "?*+{";
+
+  private final List<Pattern> patterns = new ArrayList<>();
+
+  private final List<T> values = new ArrayList<>();
+
+  private final Node root = new Node();
+
+  private final Cache<String, Optional<T>> matches;
+
+  /**
+   * @param mapping path regular expressions with their values, in the order they are matched
+   * @param cacheSize maximum number of paths whose match is remembered
+   */
+  PathIndex(Map<String, T> mapping, long cacheSize) {
+    mapping.forEach((regex, value) -> {
+      root.insert(literalPrefix(regex), patterns.size());
+      patterns.add(Pattern.compile(regex));
+      values.add(value);
+    });
+    matches = CacheBuilder.newBuilder().maximumSize(cacheSize).build();
+  }
+
+  /**
+   * @return value of the first expression, in the configured order, matching the whole path
+   */
+  Optional<T> find(String path) {
+    Optional<T> match = matches.getIfPresent(path);
+    if (match == null) {
+      match = lookup(path);
+      matches.put(path, match);
+    }
+    return match;
+  }
+
+  private Optional<T> lookup(String path) {
+    BitSet candidates = root.candidates(path);
+    for (int i = candidates.nextSetBit(0); i >= 0; i = candidates.nextSetBit(i + 1)) {
+      if (patterns.get(i).matcher(path).matches()) {
+        return Optional.of(values.get(i));
+      }
+    }
+    return Optional.empty();
+  }
+
+  /**
+   * @return the part every path matching the expression starts with, empty when it can not be
+   * told without evaluating the expression
+   */
+  static String literalPrefix(String regex) {
+    if (regex.indexOf('|') >= 0) {
+      return "";
+    }
+    StringBuilder prefix = new StringBuilder();
+    for (char c : regex.toCharArray()) {
+      if (METACHARACTERS.indexOf(c) >= 0) {
+        if (QUANTIFIERS.indexOf(c) >= 0 && prefix.length() > 0) {
+          prefix.setLength(prefix.length() - 1);
+        }
+        break;
+      }
+      prefix.append(c);
+    }
+    return prefix.toString();
+  }
+
+  private static class Node {
+
+    private final Map<Character, Node> children = new HashMap<>();
+
+    private final BitSet expressions = new BitSet();
+
+    void insert(String prefix, int expression) {
+      Node node = this;
+      for (char c : prefix.toCharArray()) {
+        node = node.children.computeIfAbsent(c, key -> new Node());
+      }
+      node.expressions.set(expression);
+    }
+
+    BitSet candidates(String path) {
+      BitSet candidates = (BitSet) expressions.clone();
+      Node node = this;
+      for (int i = 0; i < path.length(); i++) {
+        node = node.children.get(path.charAt(i));
+        if (node == null) {
+          break;
+        }
+        candidates.or(node.expressions);
+      }
+      return candidates;
+    }
+  }
+}
@@ -0,0 +1,186 @@
+/*
+ * Copyright (C) 2016 Cognifide Limited
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.knotx.server;
+
+import io.knotx.http.HttpDates;
+import io.knotx.repository.RepositoryStream;
+import io.netty.handler.codec.http.HttpHeaderNames;
+import io.netty.handler.codec.http.HttpResponseStatus;
+import io.vertx.core.http.HttpMethod;
+import io.vertx.core.logging.Logger;
+import io.vertx.core.logging.LoggerFactory;
+import io.vertx.rxjava.core.MultiMap;
+import io.vertx.rxjava.core.http.HttpServerRequest;
+import io.vertx.rxjava.core.http.HttpServerResponse;
+import io.vertx.rxjava.ext.web.RoutingContext;
+import java.util.Arrays;
+import java.util.Optional;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import org.apache.commons.lang3.StringUtils;
+
+/**
+ * Sends the local file of a repository response with {@code sendFile}, so the body is copied to
+ * the socket by the OS instead of passing through the heap. Answers conditional GETs ({@code
+ * If-None-Match}, {@code If-Modified-Since}) with {@code 304} and a single byte range ({@code
+ * Range}, {@code If-Range}) with {@code 206}. The validators and range headers describe the file
+ * being sent, so they are written regardless of the {@code allowedResponseHeaders}.
+ */
+final class RepositoryFileSender {
+
+  private static final Logger LOGGER = LoggerFactory.getLogger(RepositoryFileSender.class);
+
+  private static final Pattern BYTE_RANGE = Pattern.compile("^bytes=(\\d{0,18})-(\\d{0,18})$");
+
+  private static final String BYTES = "bytes";
+
+  private RepositoryFileSender() {
+    // util class
+  }
+
+  static void send(RoutingContext context, RepositoryStream stream) {
+    final HttpServerRequest request = context.request();
+    final HttpServerResponse response = context.response();
+    final MultiMap headers = stream.getResponse().getHeaders();
+    final String etag = headers.get(HttpHeaderNames.ETAG.toString());
+    final String lastModified = headers.get(HttpHeaderNames.LAST_MODIFIED.toString());
+    final long size = Long.parseLong(headers.get(HttpHeaderNames.CONTENT_LENGTH.toString()));
+    final boolean cacheable =
+        request.method() == HttpMethod.GET || request.method() == HttpMethod.HEAD;
+
+    response.headers().remove(HttpHeaderNames.CONTENT_LENGTH.toString());
+    Optional.ofNullable(etag)
+        .ifPresent(value -> response.putHeader(HttpHeaderNames.ETAG.toString(), value));
+    Optional.ofNullable(lastModified)
+        .ifPresent(value -> response.putHeader(HttpHeaderNames.LAST_MODIFIED.toString(), value));
+
+    if (cacheable && isNotModified(request, etag, lastModified)) {
+      response.setStatusCode(HttpResponseStatus.NOT_MODIFIED.code()).end();
+      return;
+    }
+
+    response.putHeader(HttpHeaderNames.ACCEPT_RANGES.toString(), BYTES);
+    Optional<Range> range = cacheable && isRangeValid(request, etag, lastModified)
+        ? Range.parse(request.getHeader(HttpHeaderNames.RANGE.toString()), size)
+        : Optional.empty();
+
+    if (range.isPresent() && !range.get().isSatisfiable(size)) {
+      response.putHeader(HttpHeaderNames.CONTENT_RANGE.toString(), BYTES + " */" + size)
+          .putHeader(HttpHeaderNames.CONTENT_LENGTH.toString(), "0")
+          .setStatusCode(HttpResponseStatus.REQUESTED_RANGE_NOT_SATISFIABLE.code())
+          .end();
+    } else if (range.isPresent()) {
+      response.putHeader(HttpHeaderNames.CONTENT_RANGE.toString(),
+          BYTES + " " + range.get().first + "-" + range.get().last + "/" + size)
+          .setStatusCode(HttpResponseStatus.PARTIAL_CONTENT.code());
+      sendFile(context, stream.getFile(), range.get().first, range.get().length());
+    } else {
+      response.setStatusCode(HttpResponseStatus.OK.code());
+      sendFile(context, stream.getFile(), 0, size);
+    }
+  }
+
+  private static void sendFile(RoutingContext context, String file, long offset, long length) {
+    final HttpServerResponse response = context.response();
+    response.putHeader(HttpHeaderNames.CONTENT_LENGTH.toString(), String.valueOf(length))
+        .sendFile(file, offset, length, result -> {
+          if (result.failed()) {
+            LOGGER.error("Unable to send file <{}>", result.cause(), file);
+            if (response.headWritten()) {
+              response.close();
+            } else {
+              context.fail(HttpResponseStatus.NOT_FOUND.code());
+            }
+          }
+        });
+  }
+
+  /**
+   * {@code If-None-Match} takes precedence over {@code If-Modified-Since}, see RFC 7232.
+   */
+  private static boolean isNotModified(HttpServerRequest request, String etag,
+      String lastModified) {
+    String ifNoneMatch = request.getHeader(HttpHeaderNames.IF_NONE_MATCH.toString());
+    if (ifNoneMatch != null) {
+      return etag != null && Arrays.stream(ifNoneMatch.split(","))
+          .map(String::trim)
+          .anyMatch(value -> "*".equals(value)
+              || StringUtils.removeStart(value, "W/").equals(StringUtils.removeStart(etag, "W/")));
+    }
+    Optional<Long> modified = HttpDates.parse(lastModified);
+    Optional<Long> ifModifiedSince = HttpDates
+        .parse(request.getHeader(HttpHeaderNames.IF_MODIFIED_SINCE.toString()));
+    return modified.isPresent() && ifModifiedSince.isPresent()
+        && modified.get() / 1000 <= ifModifiedSince.get() / 1000;
+  }
+
+  /**
+   * @return {@code false} when {@code If-Range} is sent and the file changed since, so the whole
+   * file is sent instead of the range
+   */
+  private static boolean isRangeValid(HttpServerRequest request, String etag,
+      String lastModified) {
+    String ifRange = request.getHeader(HttpHeaderNames.IF_RANGE.toString());
+    return ifRange == null || ifRange.equals(etag) || ifRange.equals(lastModified);
+  }
+
+  /**
+   * Single byte range of a {@code Range} header. Multiple ranges and invalid headers are ignored,
+   * so the whole file is sent.
+   */
+  private static final class Range {
+
+    private final long first;
+
+    private final long last;
+
+    private Range(long first, long last) {
+      this.first = first;
+      this.last = last;
+    }
+
+    static Optional<Range> parse(String header, long size) {
+      Matcher matcher = header == null ? null : BYTE_RANGE.matcher(header.trim());
+      if (matcher == null || !matcher.matches()) {
+        return Optional.empty();
+      }
+      String first = matcher.group(1);
+      String last = matcher.group(2);
+      if (first.isEmpty() && last.isEmpty()) {
+        return Optional.empty();
+      } else if (first.isEmpty()) {
+        long suffixLength = Long.parseLong(last);
+        return Optional.of(suffixLength == 0
+            ? new Range(size, size)
+            : new Range(Math.max(0, size - suffixLength), size - 1));
+      }
+      long firstByte = Long.parseLong(first);
+      long lastByte = last.isEmpty() ? size - 1 : Long.parseLong(last);
+      if (lastByte < firstByte && !last.isEmpty()) {
+        return Optional.empty();
+      }
+      return Optional.of(new Range(firstByte, Math.min(lastByte, size - 1)));
+    }
+
+    boolean isSatisfiable(long size) {
+      return first < size;
+    }
+
+    long length() {
+      return last - first + 1;
+    }
+  }
+}
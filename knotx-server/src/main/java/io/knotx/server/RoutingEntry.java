@@ -22,11 +22,16 @@ public class RoutingEntry {
   private String path;
   private String address;
   private Map<String, RoutingEntry> onTransition;
+  private long timeout;
+  private Boolean streaming;
 
-  public RoutingEntry(String path, String address, Map<String, RoutingEntry> onTransition) {
+  public RoutingEntry(String path, String address, Map<String, RoutingEntry> onTransition,
+      long timeout, Boolean streaming) {
     this.path = path;
     this.address = address;
     this.onTransition = onTransition;
+    this.timeout = timeout;
+    this.streaming = streaming;
   }
 
   public String path() {
@@ -40,4 +45,20 @@ public class RoutingEntry {
   public Map<String, RoutingEntry> onTransition() {
     return onTransition;
   }
+
+  /**
+   * @return time budget in milliseconds of requests matching this entry, {@code 0} when the
+   * server {@code requestTimeout} applies
+   */
+  public long timeout() {
+    return timeout;
+  }
+
+  /**
+   * @return whether responses of requests matching this entry are streamed, {@code null} when
+   * the server {@code responseStreaming} applies
+   */
+  public Boolean streaming() {
+    return streaming;
+  }
 }
@@ -38,13 +38,10 @@ public class SupportedMethodsAndPathsHandler implements Handler<RoutingContext>
 
   @Override
   public void handle(RoutingContext context) {
-    boolean shouldRejectMethod = configuration.getEngineRouting().keySet().stream()
-        .noneMatch(supportedMethod -> supportedMethod == context.request().method());
+    boolean shouldRejectMethod = !configuration.getEngineRouting()
+        .containsKey(context.request().method());
 
-    boolean shouldRejectPath = configuration.getEngineRouting().values().stream().noneMatch(
-        routingEntries -> routingEntries.stream()
-            .anyMatch(item -> context.request().path().matches(item.path()))
-    );
+    boolean shouldRejectPath = !configuration.isRoutedPath(context.request().path());
 
     if (shouldRejectMethod) {
       LOGGER.warn("Requested method {} is not supported based on configuration",
@@ -19,6 +19,7 @@ import static org.hamcrest.CoreMatchers.equalTo;
 import static org.hamcrest.MatcherAssert.assertThat;
 
 import io.knotx.junit.util.FileReader;
+import io.vertx.core.json.JsonArray;
 import io.vertx.core.json.JsonObject;
 import org.junit.Before;
 import org.junit.Test;
@@ -53,5 +54,15 @@ public class KnotxServerConfigurationRepositoriesTest {
     assertThat(serverConfig.repositoryForPath("/service/simple.html").isPresent(), equalTo(false));
   }
 
+  @Test
+  public void whenRepositoryPathsOverlap_expectFirstConfiguredRepository() throws Exception {
+    config.put("repositories", new JsonArray()
+        .add(new JsonObject().put("path", "/content/.*").put("address", "knotx.repository.http"))
+        .add(new JsonObject().put("path", "/content/local/.*")
+            .put("address", "knotx.repository.filesystem")));
+    KnotxServerConfiguration serverConfig = new KnotxServerConfiguration(config);
 
+    assertThat(serverConfig.repositoryForPath("/content/local/simple.html").get().address(),
+        equalTo("knotx.repository.http"));
+  }
 }
@@ -142,4 +142,41 @@ public class KnotxServerConfigurationRoutingTest {
         engineRouting.get(HttpMethod.POST).get(SECOND_IDX).onTransition().get("go-c").onTransition()
             .isEmpty(), equalTo(true));
   }
+
+  @Test
+  public void whenPathMatchesSeveralRoutings_expectFirstRoutingOfMethod() throws Exception {
+    KnotxServerConfiguration configuration = new KnotxServerConfiguration(
+        new JsonObject(FileReader.readText("test-config-server.json")));
+
+    assertThat(configuration.routeForPath(HttpMethod.GET, "/content/local/simple.html").get()
+        .address(), equalTo("A-engine"));
+    assertThat(configuration.routeForPath(HttpMethod.POST, "/content/simple.html").get()
+        .address(), equalTo("B-engine"));
+    assertThat(configuration.routeForPath(HttpMethod.PUT, "/content/simple.html").isPresent(),
+        equalTo(false));
+  }
+
+  @Test
+  public void requestTimeout_whenRouteHasTimeout_expectRouteBudgetOverServerDefault()
+      throws Exception {
+    KnotxServerConfiguration configuration = new KnotxServerConfiguration(
+        new JsonObject(FileReader.readText("test-config-server.json")));
+
+    assertThat(configuration.requestTimeout(engineRouting.get(HttpMethod.GET).get(FIRST_IDX)),
+        equalTo(5000L));
+    assertThat(configuration.requestTimeout(engineRouting.get(HttpMethod.GET).get(SECOND_IDX)),
+        equalTo(1000L));
+  }
+
+  @Test
+  public void responseStreaming_whenRouteDisablesStreaming_expectRouteSettingOverServerDefault()
+      throws Exception {
+    KnotxServerConfiguration configuration = new KnotxServerConfiguration(
+        new JsonObject(FileReader.readText("test-config-server.json")));
+
+    assertThat(configuration.responseStreaming(engineRouting.get(HttpMethod.GET).get(FIRST_IDX)),
+        equalTo(true));
+    assertThat(configuration.responseStreaming(engineRouting.get(HttpMethod.GET).get(SECOND_IDX)),
+        equalTo(false));
+  }
 }
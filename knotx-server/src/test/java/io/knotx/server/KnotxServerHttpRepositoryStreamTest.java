@@ -0,0 +1,147 @@
+/*
+ * Copyright (C) 2016 Cognifide Limited
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.knotx.server;
+
+import io.knotx.junit.rule.KnotxConfiguration;
+import io.knotx.junit.rule.Logback;
+import io.knotx.junit.rule.TestVertxDeployer;
+import io.netty.handler.codec.http.HttpResponseStatus;
+import io.vertx.core.Future;
+import io.vertx.core.http.HttpClient;
+import io.vertx.core.http.HttpServer;
+import io.vertx.core.http.HttpServerRequest;
+import io.vertx.ext.unit.Async;
+import io.vertx.ext.unit.TestContext;
+import io.vertx.ext.unit.junit.RunTestOnContext;
+import io.vertx.ext.unit.junit.VertxUnitRunner;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.RuleChain;
+import org.junit.runner.RunWith;
+
+/**
+ * Content of not processed paths pumped from the Http Repository Connector, which has a pool of
+ * one connection, so a leaked repository connection makes the next request hang.
+ */
+@RunWith(VertxUnitRunner.class)
+public class KnotxServerHttpRepositoryStreamTest {
+
+  private static final int KNOTX_SERVER_PORT = 8092;
+  private static final int REPOSITORY_PORT = 3071;
+  private static final String KNOTX_SERVER_ADDRESS = "localhost";
+  private static final String PAGE = "/content/remote/page.html";
+  private static final String PAGE_BODY = "remote page";
+
+  private RunTestOnContext vertx = new RunTestOnContext();
+
+  private TestVertxDeployer knotx = new TestVertxDeployer(vertx);
+
+  @Rule
+  public RuleChain chain = RuleChain.outerRule(new Logback()).around(vertx).around(knotx);
+
+  private Future<Void> repositoryResponseClosed = Future.future();
+
+  @Test
+  @KnotxConfiguration("test-server-http-repository.json")
+  public void whenRequestingRemotePathTwice_expectBodyStreamedWithPooledConnection(
+      TestContext context) {
+    Async async = context.async();
+    startRepository(context, () -> expectPage(context, () -> expectPage(context, async::complete)));
+  }
+
+  @Test
+  @KnotxConfiguration("test-server-http-repository.json")
+  public void whenRemotePathIsMissing_expectNotFoundAndRepositoryConnectionReleased(
+      TestContext context) {
+    Async async = context.async();
+    HttpClient client = vertx.vertx().createHttpClient();
+    startRepository(context, () ->
+        client.getNow(KNOTX_SERVER_PORT, KNOTX_SERVER_ADDRESS, "/content/remote/missing.html",
+            resp -> {
+              context.assertEquals(resp.statusCode(), HttpResponseStatus.NOT_FOUND.code());
+              client.close();
+              expectPage(context, async::complete);
+            }));
+  }
+
+  @Test
+  @KnotxConfiguration("test-server-http-repository.json")
+  public void whenClientAbortsStreamedRemotePath_expectRepositoryResponseClosed(
+      TestContext context) {
+    Async async = context.async();
+    HttpClient client = vertx.vertx().createHttpClient();
+    startRepository(context, () ->
+        client.getNow(KNOTX_SERVER_PORT, KNOTX_SERVER_ADDRESS, "/content/remote/endless.html",
+            resp -> {
+              context.assertEquals(resp.statusCode(), HttpResponseStatus.OK.code());
+              resp.handler(chunk -> client.close());
+            }));
+    repositoryResponseClosed.setHandler(closed -> expectPage(context, async::complete));
+  }
+
+  @Test
+  @KnotxConfiguration("test-server-http-repository.json")
+  public void whenRepositoryDoesNotRespondBeforeDeadline_expectGatewayTimeoutAndConnectionClosed(
+      TestContext context) {
+    Async async = context.async();
+    HttpClient client = vertx.vertx().createHttpClient();
+    startRepository(context, () ->
+        client.getNow(KNOTX_SERVER_PORT, KNOTX_SERVER_ADDRESS, "/content/remote/slow/page.html",
+            resp -> {
+              context.assertEquals(resp.statusCode(), HttpResponseStatus.GATEWAY_TIMEOUT.code());
+              client.close();
+            }));
+    repositoryResponseClosed.setHandler(closed -> expectPage(context, async::complete));
+  }
+
+  private void startRepository(TestContext context, Runnable onListening) {
+    HttpServer repository = vertx.vertx().createHttpServer()
+        .requestHandler(this::repositoryResponse);
+    repository.listen(REPOSITORY_PORT, context.asyncAssertSuccess(server -> onListening.run()));
+  }
+
+  private void repositoryResponse(HttpServerRequest request) {
+    request.response().closeHandler(closed -> {
+      if (!repositoryResponseClosed.isComplete()) {
+        repositoryResponseClosed.complete();
+      }
+    });
+    switch (request.path()) {
+      case PAGE:
+        request.response().end(PAGE_BODY);
+        break;
+      case "/content/remote/missing.html":
+        request.response().setStatusCode(HttpResponseStatus.NOT_FOUND.code()).end("not found");
+        break;
+      case "/content/remote/endless.html":
+        request.response().setChunked(true).write("first chunk of a body that never ends");
+        break;
+      default:
+        // no response
+        break;
+    }
+  }
+
+  private void expectPage(TestContext context, Runnable then) {
+    HttpClient client = vertx.vertx().createHttpClient();
+    client.getNow(KNOTX_SERVER_PORT, KNOTX_SERVER_ADDRESS, PAGE, resp -> resp.bodyHandler(body -> {
+      context.assertEquals(resp.statusCode(), HttpResponseStatus.OK.code());
+      context.assertEquals(body.toString(), PAGE_BODY);
+      client.close();
+      then.run();
+    }));
+  }
+}
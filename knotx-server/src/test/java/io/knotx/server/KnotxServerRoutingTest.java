@@ -16,11 +16,14 @@
 package io.knotx.server;
 
 
+import io.knotx.dataobjects.Fragment;
 import io.knotx.dataobjects.KnotContext;
 import io.knotx.junit.rule.KnotxConfiguration;
 import io.knotx.junit.rule.Logback;
 import io.knotx.junit.rule.TestVertxDeployer;
+import io.knotx.proxy.KnotProxy;
 import io.netty.handler.codec.http.HttpResponseStatus;
+import io.vertx.core.Future;
 import io.vertx.core.buffer.Buffer;
 import io.vertx.core.http.HttpMethod;
 import io.vertx.ext.unit.Async;
@@ -32,6 +35,10 @@ import io.vertx.rxjava.core.Vertx;
 import io.vertx.rxjava.core.http.HttpClient;
 import io.vertx.rxjava.core.http.HttpClientRequest;
 import io.vertx.rxjava.core.http.HttpClientResponse;
+import io.vertx.serviceproxy.ProxyHelper;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.stream.Collectors;
 import org.junit.Rule;
 import org.junit.Test;
 import org.junit.rules.RuleChain;
@@ -176,6 +183,108 @@ public class KnotxServerRoutingTest {
     });
   }
 
+  @Test
+  @KnotxConfiguration("test-server.json")
+  public void whenRequestingNotProcessedPath_expectFileStreamedWithoutKnots(TestContext context) {
+    Async async = context.async();
+    HttpClient client = Vertx.newInstance(vertx.vertx()).createHttpClient();
+
+    client.getNow(KNOTX_SERVER_PORT, KNOTX_SERVER_ADDRESS, "/content/static/data.json",
+        resp -> resp.bodyHandler(body -> {
+          context.assertEquals(resp.statusCode(), HttpResponseStatus.OK.code());
+          context.assertEquals(resp.getHeader("Content-Length"), String.valueOf(body.length()));
+          context.assertEquals(body.toJsonObject().getString("message"), "streamed");
+          client.close();
+          async.complete();
+        }));
+  }
+
+  @Test
+  @KnotxConfiguration("test-server.json")
+  public void whenRequestingNotProcessedPathWithItsETag_expectNotModified(TestContext context) {
+    Async async = context.async();
+    HttpClient client = Vertx.newInstance(vertx.vertx()).createHttpClient();
+
+    client.getNow(KNOTX_SERVER_PORT, KNOTX_SERVER_ADDRESS, "/content/static/data.json",
+        resp -> {
+          String etag = resp.getHeader("ETag");
+          context.assertNotNull(etag);
+          context.assertNotNull(resp.getHeader("Last-Modified"));
+          client.get(KNOTX_SERVER_PORT, KNOTX_SERVER_ADDRESS, "/content/static/data.json",
+              notModified -> notModified.bodyHandler(body -> {
+                context.assertEquals(notModified.statusCode(),
+                    HttpResponseStatus.NOT_MODIFIED.code());
+                context.assertEquals(body.length(), 0);
+                client.close();
+                async.complete();
+              }))
+              .putHeader("If-None-Match", etag)
+              .end();
+        });
+  }
+
+  @Test
+  @KnotxConfiguration("test-server.json")
+  public void whenRequestingRangeOfNotProcessedPath_expectPartialContent(TestContext context) {
+    Async async = context.async();
+    HttpClient client = Vertx.newInstance(vertx.vertx()).createHttpClient();
+
+    client.get(KNOTX_SERVER_PORT, KNOTX_SERVER_ADDRESS, "/content/static/data.json",
+        resp -> resp.bodyHandler(body -> {
+          context.assertEquals(resp.statusCode(), HttpResponseStatus.PARTIAL_CONTENT.code());
+          context.assertEquals(resp.getHeader("Content-Range").replaceAll("/.*", ""),
+              "bytes 0-9");
+          context.assertEquals(body.length(), 10);
+          context.assertEquals(body.toString(), "{\n  \"messa");
+          client.close();
+          async.complete();
+        }))
+        .putHeader("Range", "bytes=0-9")
+        .end();
+  }
+
+  @Test
+  @KnotxConfiguration("test-server.json")
+  public void whenRequestingStreamedPath_expectLeadingRawFragmentsSentBeforeKnotsFinish(
+      TestContext context) {
+    Async async = context.async();
+    Future<Void> firstChunk = Future.future();
+
+    MockKnotProxy.register(vertx.vertx(), "test-splitter", knotContext -> knotContext
+        .setFragments(Arrays.asList(Fragment.raw("<header>"),
+            Fragment.snippet(Collections.singletonList("s"),
+                "<script data-knotx-knots=\"s\"></script>"),
+            Fragment.raw("<footer>"))));
+    ProxyHelper.registerService(KnotProxy.class, vertx.vertx(),
+        (knotContext, result) -> firstChunk.setHandler(sent -> {
+          knotContext.getFragments().get(0).content("<main>");
+          result.handle(Future.succeededFuture(knotContext));
+        }), "S-engine");
+    MockKnotProxy.register(vertx.vertx(), "test-assembler", knotContext -> knotContext
+        .getClientResponse().setBody(Buffer.buffer(knotContext.getFragments().stream()
+            .map(Fragment::content)
+            .collect(Collectors.joining()))));
+
+    HttpClient client = Vertx.newInstance(vertx.vertx()).createHttpClient();
+    client.getNow(KNOTX_SERVER_PORT, KNOTX_SERVER_ADDRESS, "/content/stream/page.html", resp -> {
+      context.assertEquals(resp.statusCode(), HttpResponseStatus.OK.code());
+      context.assertEquals(resp.getHeader("Transfer-Encoding"), "chunked");
+      io.vertx.rxjava.core.buffer.Buffer body = io.vertx.rxjava.core.buffer.Buffer.buffer();
+      resp.handler(chunk -> {
+        body.appendBuffer(chunk);
+        if (!firstChunk.isComplete()) {
+          context.assertEquals(body.toString(), "<header>");
+          firstChunk.complete();
+        }
+      });
+      resp.endHandler(end -> {
+        context.assertEquals(body.toString(), "<header><main><footer>");
+        client.close();
+        async.complete();
+      });
+    });
+  }
+
   private void testPostRequest(String url, Action1<HttpClientResponse> expectedResponse) {
     HttpClient client = Vertx.newInstance(vertx.vertx()).createHttpClient();
     String testBody = "a=b";
@@ -0,0 +1,101 @@
+/*
+ * Copyright (C) 2016 Cognifide Limited
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.knotx.server;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+/**
+ * Compares the per-request regular expression scan of routing entries with {@link PathIndex} for
+ * 500 routes. Run the main method from the IDE or {@code org.openjdk.jmh.Main} with the module
+ * test classpath.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5)
+@Measurement(iterations = 10)
+@Fork(1)
+public class PathIndexBenchmark {
+
+  private static final int ROUTES = 500;
+
+  @Param({"first", "last", "none"})
+  private String requested;
+
+  private final Map<String, String> routes = new LinkedHashMap<>();
+
+  private PathIndex<String> cached;
+
+  private PathIndex<String> uncached;
+
+  private String path;
+
+  @Setup
+  public void setUp() {
+    for (int i = 0; i < ROUTES; i++) {
+      routes.put("/section" + i + "/.*\\.html", "knotx.knot." + i);
+    }
+    cached = new PathIndex<>(routes, PathIndex.DEFAULT_CACHE_SIZE);
+    uncached = new PathIndex<>(routes, 0);
+    if ("first".equals(requested)) {
+      path = "/section0/page.html";
+    } else if ("last".equals(requested)) {
+      path = "/section" + (ROUTES - 1) + "/page.html";
+    } else {
+      path = "/unknown/page.html";
+    }
+  }
+
+  @Benchmark
+  public Optional<String> regexScan() {
+    return routes.entrySet().stream()
+        .filter(route -> path.matches(route.getKey()))
+        .findFirst().map(Map.Entry::getValue);
+  }
+
+  @Benchmark
+  public Optional<String> index() {
+    return uncached.find(path);
+  }
+
+  @Benchmark
+  public Optional<String> cachedIndex() {
+    return cached.find(path);
+  }
+
+  public static void main(String[] args) throws RunnerException {
+    new Runner(new OptionsBuilder()
+        .include(PathIndexBenchmark.class.getSimpleName())
+        .build()).run();
+  }
+}
@@ -0,0 +1,68 @@
+/*
+ * Copyright (C) 2016 Cognifide Limited
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.knotx.server;
+
+import static org.hamcrest.CoreMatchers.equalTo;
+import static org.hamcrest.MatcherAssert.assertThat;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Optional;
+import org.junit.Test;
+
+public class PathIndexTest {
+
+  @Test
+  public void literalPrefix_whenExpressionStartsWithLiterals_expectLiteralPart() {
+    assertThat(PathIndex.literalPrefix("/content/.*"), equalTo("/content/"));
+    assertThat(PathIndex.literalPrefix("/content/simple.html"), equalTo("/content/simple"));
+    assertThat(PathIndex.literalPrefix("/contents?/.*"), equalTo("/content"));
+    assertThat(PathIndex.literalPrefix("/content/a{2}"), equalTo("/content/"));
+  }
+
+  @Test
+  public void literalPrefix_whenExpressionHasAlternatives_expectEmptyPrefix() {
+    assertThat(PathIndex.literalPrefix("/content/.*|/service/.*"), equalTo(""));
+    assertThat(PathIndex.literalPrefix("(/a|/b)/.*"), equalTo(""));
+  }
+
+  @Test
+  public void find_whenSeveralExpressionsMatch_expectFirstConfigured() {
+    PathIndex<String> index = index("/content/.*", "first", "/content/local/.*", "second",
+        ".*\\.html", "third");
+
+    assertThat(index.find("/content/local/simple.html"), equalTo(Optional.of("first")));
+    assertThat(index.find("/other/simple.html"), equalTo(Optional.of("third")));
+    assertThat(index.find("/other/simple.json"), equalTo(Optional.empty()));
+  }
+
+  @Test
+  public void find_whenPrefixMatchesButExpressionDoesNot_expectEmpty() {
+    PathIndex<String> index = index("/content/[a-z]+\\.html", "first");
+
+    assertThat(index.find("/content/simple.html"), equalTo(Optional.of("first")));
+    assertThat(index.find("/content/simple2.html"), equalTo(Optional.empty()));
+    assertThat(index.find("/content/simple2.html"), equalTo(Optional.empty()));
+  }
+
+  private static PathIndex<String> index(String... mapping) {
+    Map<String, String> expressions = new LinkedHashMap<>();
+    for (int i = 0; i < mapping.length; i += 2) {
+      expressions.put(mapping[i], mapping[i + 1]);
+    }
+    return new PathIndex<>(expressions, PathIndex.DEFAULT_CACHE_SIZE);
+  }
+}
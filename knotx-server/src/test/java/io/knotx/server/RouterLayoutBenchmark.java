@@ -0,0 +1,142 @@
+/*
+ * Copyright (C) 2016 Cognifide Limited
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.knotx.server;
+
+import io.vertx.core.MultiMap;
+import io.vertx.core.Vertx;
+import io.vertx.core.http.HttpMethod;
+import io.vertx.core.http.HttpServerRequest;
+import io.vertx.ext.web.Router;
+import io.vertx.ext.web.RoutingContext;
+import java.lang.reflect.Proxy;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+/**
+ * Measures how long the router takes to reach the last stage of a route with four path regex
+ * routes registered per routing entry, compared to one pipeline route per method matching the
+ * entry with {@link PathIndex}. Stages do no work, so only routing is measured. Run the main
+ * method from the IDE or {@code org.openjdk.jmh.Main} with the module test classpath.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5)
+@Measurement(iterations = 10)
+@Fork(1)
+public class RouterLayoutBenchmark {
+
+  private static final int STAGES = 4;
+
+  @Param({"10", "80"})
+  private int routes;
+
+  private Vertx vertx;
+
+  private Router routePerStage;
+
+  private Router pipeline;
+
+  private HttpServerRequest request;
+
+  private Blackhole blackhole;
+
+  @Setup
+  public void setUp(Blackhole blackhole) {
+    this.blackhole = blackhole;
+    vertx = Vertx.vertx();
+    routePerStage = Router.router(vertx);
+    pipeline = Router.router(vertx);
+
+    Map<String, String> entries = new LinkedHashMap<>();
+    for (int i = 0; i < routes; i++) {
+      String path = "/section" + i + "/.*";
+      entries.put(path, "knotx.knot." + i);
+      for (int stage = 1; stage <= STAGES; stage++) {
+        routePerStage.route().method(HttpMethod.GET).pathRegex(path)
+            .handler(stage < STAGES ? RoutingContext::next : this::lastStage);
+      }
+    }
+    PathIndex<String> index = new PathIndex<>(entries, PathIndex.DEFAULT_CACHE_SIZE);
+    pipeline.route().method(HttpMethod.GET).handler(
+        context -> index.find(context.request().path()).ifPresent(blackhole::consume));
+
+    request = request("/section" + (routes - 1) + "/page.html");
+  }
+
+  @TearDown
+  public void tearDown() {
+    vertx.close();
+  }
+
+  @Benchmark
+  public void routePerStage() {
+    routePerStage.accept(request);
+  }
+
+  @Benchmark
+  public void pipeline() {
+    pipeline.accept(request);
+  }
+
+  private void lastStage(RoutingContext context) {
+    blackhole.consume(context);
+  }
+
+  private static HttpServerRequest request(String path) {
+    MultiMap empty = MultiMap.caseInsensitiveMultiMap();
+    return (HttpServerRequest) Proxy.newProxyInstance(HttpServerRequest.class.getClassLoader(),
+        new Class<?>[]{HttpServerRequest.class}, (proxy, method, args) -> {
+          switch (method.getName()) {
+            case "path":
+            case "uri":
+            case "absoluteURI":
+              return path;
+            case "method":
+              return HttpMethod.GET;
+            case "headers":
+            case "params":
+            case "formAttributes":
+              return empty;
+            default:
+              return method.getReturnType() == boolean.class ? Boolean.FALSE : null;
+          }
+        });
+  }
+
+  public static void main(String[] args) throws RunnerException {
+    new Runner(new OptionsBuilder()
+        .include(RouterLayoutBenchmark.class.getSimpleName())
+        .build()).run();
+  }
+}